@@ -0,0 +1,41 @@
+package benchmarks;
+
+import algo.FloydWarshallAlgorithm;
+import models.Graph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Floyd-Warshall on its own because of the cubic running time and the
+ * quadratic distance matrices, which limit it to a few hundred nodes.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AllPairsBenchmark {
+
+    @Param({"100", "200", "400"})
+    public int nodes;
+
+    @Param({"4", "16"})
+    public int degree;
+
+    private Graph graph;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        graph = BenchmarkNetworks.randomDag(nodes, degree);
+        graph.getAdjacency();
+    }
+
+    @Benchmark
+    public Integer floydWarshall(){
+        FloydWarshallAlgorithm alg = new FloydWarshallAlgorithm(graph);
+        alg.run();
+        return alg.getDestinationDistance();
+    }
+}
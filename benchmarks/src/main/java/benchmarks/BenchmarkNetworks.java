@@ -0,0 +1,60 @@
+package benchmarks;
+
+import models.Edge;
+import models.Graph;
+import models.Node;
+
+import java.awt.*;
+import java.util.Random;
+
+/*
+ * Seeded random networks for the benchmarks.
+ * - Node 1 is the source and reaches every other node through a random spanning tree
+ * - The remaining arcs point from a lower to a higher node, so the network is acyclic
+ *   and every algorithm of the algo package accepts it, Topological Ordering included
+ * - The last node is the destination
+ * The same size, degree and seed always produce the same network.
+ */
+public class BenchmarkNetworks {
+
+    public static final long SEED = 20240601L;
+    public static final int MAX_WEIGHT = 100;
+
+    public static Graph randomDag(int nodeCount, int averageDegree){
+        return randomDag(nodeCount, averageDegree, SEED);
+    }
+
+    public static Graph randomDag(int nodeCount, int averageDegree, long seed){
+        if (nodeCount < 2)
+            throw new IllegalArgumentException("A benchmark network needs at least 2 nodes");
+        Random random = new Random(seed);
+        Graph graph = new Graph();
+
+        int columns = (int) Math.ceil(Math.sqrt(nodeCount));
+        for (int i = 0; i < nodeCount; i++){
+            graph.addNode(new Point(100 + 150 * (i % columns), 100 + 150 * (i / columns)));
+        }
+
+        for (int i = 1; i < nodeCount; i++){
+            addEdge(graph, random.nextInt(i), i, random);
+        }
+        long edgeCount = Math.min((long) nodeCount * averageDegree, (long) nodeCount * (nodeCount - 1) / 2);
+        for (long attempts = 0; graph.getEdges().size() < edgeCount && attempts < 4 * edgeCount; attempts++){
+            int one = random.nextInt(nodeCount);
+            int two = random.nextInt(nodeCount);
+            if (one != two)
+                addEdge(graph, Math.min(one, two), Math.max(one, two), random);
+        }
+
+        graph.setDestination(graph.getNode(nodeCount - 1));
+        return graph;
+    }
+
+    private static void addEdge(Graph graph, int one, int two, Random random){
+        Node from = graph.getNode(one);
+        Node to = graph.getNode(two);
+        Edge edge = new Edge(from, to);
+        edge.setWeight(1 + random.nextInt(MAX_WEIGHT));
+        graph.addEdge(edge);
+    }
+}
@@ -0,0 +1,60 @@
+package benchmarks;
+
+import algo.ContractionHierarchy;
+import algo.DijkstraAlgorithm;
+import generator.NetworkGenerator;
+import models.Graph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Repeated random s-t queries on a 300 x 300 grid: the contraction hierarchy
+ * (index built once in the setup) against a plain Dijkstra per query.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContractionHierarchyBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    private Graph graph;
+    private ContractionHierarchy.Query query;
+    private int[] sources;
+    private int[] destinations;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        graph = new NetworkGenerator(BenchmarkNetworks.SEED)
+                .generate(NetworkGenerator.Family.GRID, 300, 300);
+        query = new ContractionHierarchy(graph.getAdjacency()).newQuery();
+        Random random = new Random(BenchmarkNetworks.SEED);
+        int n = graph.getNodes().size();
+        sources = new int[QUERIES];
+        destinations = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++){
+            sources[i] = random.nextInt(n);
+            destinations[i] = random.nextInt(n);
+        }
+    }
+
+    @Benchmark
+    public int contractionHierarchy(){
+        int i = next++ & (QUERIES - 1);
+        return query.run(sources[i], destinations[i]);
+    }
+
+    @Benchmark
+    public int dijkstra(){
+        int i = next++ & (QUERIES - 1);
+        DijkstraAlgorithm alg = new DijkstraAlgorithm(graph.getAdjacency(), sources[i], destinations[i]);
+        alg.run();
+        return alg.getDistance(destinations[i]);
+    }
+}
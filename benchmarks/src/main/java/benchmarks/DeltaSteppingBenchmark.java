@@ -0,0 +1,51 @@
+package benchmarks;
+
+import algo.DeltaSteppingAlgorithm;
+import algo.DijkstraAlgorithm;
+import generator.NetworkGenerator;
+import models.Graph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Full single-source shortest paths on a 300 x 300 grid and an R-MAT network:
+ * delta-stepping on the common ForkJoinPool against sequential Dijkstra.
+ * Run with -Djava.util.concurrent.ForkJoinPool.common.parallelism to vary the threads.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeltaSteppingBenchmark {
+
+    @Param({"GRID", "RMAT"})
+    public NetworkGenerator.Family family;
+
+    private Graph graph;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        NetworkGenerator generator = new NetworkGenerator(BenchmarkNetworks.SEED).setWeightRange(1, 1000);
+        graph = family == NetworkGenerator.Family.GRID
+                ? generator.generate(family, 300, 300)
+                : generator.generate(family, 17, 8);
+        graph.getAdjacency();
+    }
+
+    @Benchmark
+    public int deltaStepping(){
+        DeltaSteppingAlgorithm alg = new DeltaSteppingAlgorithm(graph.getAdjacency(), 0, 0);
+        alg.run();
+        return alg.getSettledCount();
+    }
+
+    @Benchmark
+    public int dijkstra(){
+        DijkstraAlgorithm alg = new DijkstraAlgorithm(graph.getAdjacency(), 0, 0);
+        alg.run();
+        return alg.getSettledCount();
+    }
+}
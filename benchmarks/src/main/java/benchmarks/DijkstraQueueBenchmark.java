@@ -0,0 +1,45 @@
+package benchmarks;
+
+import algo.DijkstraAlgorithm;
+import generator.NetworkGenerator;
+import models.Graph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Dijkstra with each of its distance queues on a 300 x 300 grid, for small and
+ * large maximum weights C. AUTO shows which queue the algorithm would pick.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DijkstraQueueBenchmark {
+
+    @Param({"AUTO", "HEAP", "DIAL", "RADIX"})
+    public DijkstraAlgorithm.QueueType queue;
+
+    @Param({"100", "10000"})
+    public int maxWeight;
+
+    private Graph graph;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        graph = new NetworkGenerator(BenchmarkNetworks.SEED)
+                .setWeightRange(1, maxWeight)
+                .generate(NetworkGenerator.Family.GRID, 300, 300);
+        graph.getAdjacency();
+    }
+
+    @Benchmark
+    public Integer dijkstra(){
+        DijkstraAlgorithm alg = new DijkstraAlgorithm(graph);
+        alg.setQueueType(queue);
+        alg.run();
+        return alg.getDestinationDistance();
+    }
+}
@@ -0,0 +1,85 @@
+package benchmarks;
+
+import algo.AugmentingPathAlgorithm;
+import algo.CapacityScalingAlgorithm;
+import algo.DijkstraAlgorithm;
+import algo.PreFlowPushAlgorithm;
+import generator.NetworkGenerator;
+import models.Graph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Shortest path and maximum flow on the structured families of the NetworkGenerator,
+ * sized to roughly the given number of nodes. Grids and layered networks have long
+ * paths, R-MAT skewed degrees, and AK is built to be hard for the max-flow algorithms.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeneratedNetworkBenchmark {
+
+    @Param({"GRID", "RMAT", "WASHINGTON", "AK"})
+    public NetworkGenerator.Family family;
+
+    @Param({"1024", "4096"})
+    public int nodes;
+
+    private Graph graph;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        NetworkGenerator generator = new NetworkGenerator(BenchmarkNetworks.SEED)
+                .setWeightRange(1, BenchmarkNetworks.MAX_WEIGHT);
+        int side = (int) Math.sqrt(nodes);
+        switch (family){
+            case GRID:
+                graph = generator.grid(side, side);
+                break;
+            case RMAT:
+                graph = generator.rmat(31 - Integer.numberOfLeadingZeros(nodes), 8);
+                break;
+            case WASHINGTON:
+                graph = generator.washington(side, side, 4);
+                break;
+            case AK:
+                graph = generator.ak(nodes / 3);
+                break;
+            default:
+                graph = generator.generate(family, nodes, 4 * nodes);
+        }
+        graph.getAdjacency();
+    }
+
+    @Benchmark
+    public Integer dijkstra(){
+        DijkstraAlgorithm alg = new DijkstraAlgorithm(graph);
+        alg.run();
+        return alg.getDestinationDistance();
+    }
+
+    @Benchmark
+    public int augmentingPath(){
+        AugmentingPathAlgorithm alg = new AugmentingPathAlgorithm(graph);
+        alg.run();
+        return alg.getMaxFlow();
+    }
+
+    @Benchmark
+    public int capacityScaling(){
+        CapacityScalingAlgorithm alg = new CapacityScalingAlgorithm(graph);
+        alg.run();
+        return alg.getMaxFlow();
+    }
+
+    @Benchmark
+    public int preFlowPush(){
+        PreFlowPushAlgorithm alg = new PreFlowPushAlgorithm(graph);
+        alg.run();
+        return alg.getMaxFlow();
+    }
+}
@@ -0,0 +1,57 @@
+package benchmarks;
+
+import algo.AugmentingPathAlgorithm;
+import algo.CapacityScalingAlgorithm;
+import algo.PreFlowPushAlgorithm;
+import models.Graph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Maximum flow from the source to the destination, edge weights are the capacities.
+ * Every run builds its own residual network, which is included in the measurement.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MaxFlowBenchmark {
+
+    @Param({"1000", "10000"})
+    public int nodes;
+
+    @Param({"4", "16"})
+    public int degree;
+
+    private Graph graph;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        graph = BenchmarkNetworks.randomDag(nodes, degree);
+        graph.getAdjacency();
+    }
+
+    @Benchmark
+    public int augmentingPath(){
+        AugmentingPathAlgorithm alg = new AugmentingPathAlgorithm(graph);
+        alg.run();
+        return alg.getMaxFlow();
+    }
+
+    @Benchmark
+    public int capacityScaling(){
+        CapacityScalingAlgorithm alg = new CapacityScalingAlgorithm(graph);
+        alg.run();
+        return alg.getMaxFlow();
+    }
+
+    @Benchmark
+    public int preFlowPush(){
+        PreFlowPushAlgorithm alg = new PreFlowPushAlgorithm(graph);
+        alg.run();
+        return alg.getMaxFlow();
+    }
+}
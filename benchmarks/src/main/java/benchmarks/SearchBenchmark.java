@@ -0,0 +1,51 @@
+package benchmarks;
+
+import algo.BreadthFirstSearchAlgorithm;
+import algo.DepthFirstSearchAlgorithm;
+import models.Graph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Breadth-First and Depth-First Search from the source node.
+ * Each invocation builds the algorithm like the GUI does, so the per-run
+ * setup (arrays, traversal lists) is part of the measurement.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int nodes;
+
+    @Param({"4", "16"})
+    public int degree;
+
+    private Graph graph;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        graph = BenchmarkNetworks.randomDag(nodes, degree);
+        graph.getAdjacency();
+    }
+
+    @Benchmark
+    public List<?> breadthFirstSearch(){
+        BreadthFirstSearchAlgorithm alg = new BreadthFirstSearchAlgorithm(graph);
+        alg.run();
+        return alg.getDestinationPath();
+    }
+
+    @Benchmark
+    public List<?> depthFirstSearch(){
+        DepthFirstSearchAlgorithm alg = new DepthFirstSearchAlgorithm(graph);
+        alg.run();
+        return alg.getDestinationPath();
+    }
+}
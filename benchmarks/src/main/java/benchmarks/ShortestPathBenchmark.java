@@ -0,0 +1,58 @@
+package benchmarks;
+
+import algo.BellmanFordAlgorithm;
+import algo.DijkstraAlgorithm;
+import algo.TopologicalOrderingAlgorithm;
+import models.Graph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Single source shortest path algorithms from the source to the destination.
+ * The networks are acyclic with arcs from lower to higher nodes, so Bellman-Ford
+ * settles after its second pass and can run on the same sizes as Dijkstra.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShortestPathBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int nodes;
+
+    @Param({"4", "16"})
+    public int degree;
+
+    private Graph graph;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        graph = BenchmarkNetworks.randomDag(nodes, degree);
+        graph.getAdjacency();
+    }
+
+    @Benchmark
+    public Integer dijkstra(){
+        DijkstraAlgorithm alg = new DijkstraAlgorithm(graph);
+        alg.run();
+        return alg.getDestinationDistance();
+    }
+
+    @Benchmark
+    public Integer bellmanFord(){
+        BellmanFordAlgorithm alg = new BellmanFordAlgorithm(graph);
+        alg.run();
+        return alg.getDestinationDistance();
+    }
+
+    @Benchmark
+    public Integer topologicalOrdering(){
+        TopologicalOrderingAlgorithm alg = new TopologicalOrderingAlgorithm(graph);
+        alg.run();
+        return alg.getDestinationDistance();
+    }
+}
@@ -0,0 +1,249 @@
+package algo;
+
+import models.Adjacency;
+import models.Graph;
+import models.Node;
+
+import java.util.*;
+
+/*
+ * A* search from the source to the destination, guided by the straight line
+ * distance of the node coordinates:
+ * - h(v) = floor(scale * |v - destination|), scale in distance units per pixel
+ * - Without a configured scale the largest one no arc undercuts is used,
+ *   min over arcs (u,v) of weight / |u - v|
+ * - Before searching, every arc is checked for weight + h(v) - h(u) >= 0. This
+ *   consistent heuristic never overestimates, so the first time the destination
+ *   is settled its distance is final. If an arc violates it, the search falls back
+ *   to plain Dijkstra (h = 0).
+ * Keys are distance + h, which never decrease, so a RadixHeap serves as queue
+ * (the 4-ary heap when a weight is negative). Only the destination's distance
+ * and path are final, getSettledCount() tells how many nodes were settled.
+ */
+public class AStarAlgorithm {
+
+    public static final double AUTO_SCALE = Double.NaN;
+
+    private boolean safe = false;
+    private String message = null;
+    private RunMonitor monitor = RunMonitor.NONE;
+
+    private static final int PUSHES = 0, POPS = 1, RELAXATIONS = 2, DECREASE_KEYS = 3;
+    private final OperationCounters counters = new OperationCounters("A*", "heap pushes", "heap pops",
+            "relaxations", "decrease keys");
+
+    private Graph graph;
+    private Adjacency adjacency;
+    private int source;
+    private int destination;
+
+    private double scale = AUTO_SCALE;
+    private boolean heuristicUsed;
+
+    private int[] predecessors;
+    private int[] distances;
+    private int[] heuristic;
+    private boolean[] visited;
+    private int settled;
+
+    public AStarAlgorithm(Graph graph){
+        this.graph = graph;
+        safe = evaluate();
+    }
+
+    private boolean evaluate(){
+        if(graph.getSource()==null){
+            message = "Source must be present in the graph";
+            return false;
+        }
+
+        if(graph.getDestination()==null){
+            message = "Destination must be present in the graph";
+            return false;
+        }
+
+        if(graph.hasUnreachableNodes()){
+            message = "Graph contains unreachable nodes";
+            return false;
+        }
+
+        return true;
+    }
+
+    /*
+     * Distance units per pixel of the coordinates, AUTO_SCALE derives it from the arcs.
+     */
+    public void setScale(double scale){
+        this.scale = scale;
+    }
+
+    /*
+     * The configured scale, after run() the one that was used (0 after a fallback).
+     */
+    public double getScale(){
+        return scale;
+    }
+
+    /*
+     * False when the heuristic was not admissible and plain Dijkstra ran instead.
+     */
+    public boolean isHeuristicUsed(){
+        return heuristicUsed;
+    }
+
+    /*
+     * Lets another thread follow the progress of run() and cancel it.
+     */
+    public void setMonitor(RunMonitor monitor){
+        this.monitor = monitor;
+    }
+
+    public void run() throws IllegalStateException {
+        if(!safe) {
+            throw new IllegalStateException(message);
+        }
+
+        adjacency = graph.getAdjacency();
+        source = graph.getSource().getIndex();
+        destination = graph.getDestination().getIndex();
+        int n = adjacency.getNodeCount();
+        predecessors = new int[n];
+        distances = new int[n];
+        visited = new boolean[n];
+        Arrays.fill(predecessors, -1);
+        Arrays.fill(distances, Integer.MAX_VALUE);
+
+        boolean negative = setUpHeuristic();
+        DistanceQueue unvisited = negative ? new IndexedHeap(n) : new RadixHeap(n);
+
+        distances[source] = 0;
+        unvisited.insert(source, heuristic[source]);
+        settled = 0;
+        while (!unvisited.isEmpty()){
+            int current = unvisited.poll();
+            visited[current] = true;
+            if (OperationCounters.ENABLED)
+                counters.increment(POPS);
+            if ((++settled & 1023) == 0)
+                monitor.progress(settled, n);
+            if (current == destination)
+                break;
+
+            for (int arc = adjacency.begin(current); arc < adjacency.end(current); arc++){
+                int adjacent = adjacency.getTarget(arc);
+                if (visited[adjacent])
+                    continue;
+                if (OperationCounters.ENABLED)
+                    counters.increment(RELAXATIONS);
+
+                int newDistance = distances[current] + adjacency.getWeight(arc);
+                if (newDistance < distances[adjacent]){
+                    distances[adjacent] = newDistance;
+                    predecessors[adjacent] = current;
+                    int key = newDistance + heuristic[adjacent];
+                    if (unvisited.contains(adjacent)){
+                        unvisited.decreaseKey(adjacent, key);
+                        if (OperationCounters.ENABLED)
+                            counters.increment(DECREASE_KEYS);
+                    } else {
+                        unvisited.insert(adjacent, key);
+                        if (OperationCounters.ENABLED)
+                            counters.increment(PUSHES);
+                    }
+                }
+            }
+        }
+
+        if (OperationCounters.ENABLED)
+            counters.publish();
+        graph.setSolved(true);
+    }
+
+    /*
+     * Fills heuristic[] and checks that it is consistent on every arc, otherwise
+     * zeroes it. Returns true if a weight is negative.
+     */
+    private boolean setUpHeuristic(){
+        int n = adjacency.getNodeCount();
+        heuristic = new int[n];
+        boolean negative = false;
+        double lowest = Double.POSITIVE_INFINITY;
+        for (int u = 0; u < n; u++){
+            for (int arc = adjacency.begin(u); arc < adjacency.end(u); arc++){
+                int weight = adjacency.getWeight(arc);
+                negative |= weight < 0;
+                double length = length(u, adjacency.getTarget(arc));
+                if (length > 0)
+                    lowest = Math.min(lowest, weight / length);
+            }
+        }
+        if (Double.isNaN(scale))
+            scale = lowest == Double.POSITIVE_INFINITY ? 0 : Math.max(0, lowest);
+
+        heuristicUsed = scale > 0 && !negative;
+        if (heuristicUsed){
+            for (int v = 0; v < n; v++){
+                heuristic[v] = (int) Math.min(Integer.MAX_VALUE / 2, Math.floor(scale * length(v, destination)));
+            }
+            for (int u = 0; u < n && heuristicUsed; u++){
+                for (int arc = adjacency.begin(u); arc < adjacency.end(u); arc++){
+                    if ((long) adjacency.getWeight(arc) + heuristic[adjacency.getTarget(arc)] < heuristic[u]){
+                        heuristicUsed = false;
+                        break;
+                    }
+                }
+            }
+        }
+        if (!heuristicUsed){
+            Arrays.fill(heuristic, 0);
+            scale = 0;
+        }
+        return negative;
+    }
+
+    private double length(int u, int v){
+        Node one = adjacency.getNode(u);
+        Node two = adjacency.getNode(v);
+        return Math.hypot(one.getX() - two.getX(), one.getY() - two.getY());
+    }
+
+    /*
+     * Work counted during run(), all zero unless OperationCounters.ENABLED.
+     */
+    public OperationCounters getCounters(){
+        return counters;
+    }
+
+    /*
+     * Nodes settled by the last run, the destination included.
+     */
+    public int getSettledCount(){
+        return settled;
+    }
+
+    public Integer getDestinationDistance(){
+        return distances[destination];
+    }
+
+    public List<Node> getDestinationPath() {
+        List<Node> path = new ArrayList<>();
+        int current = destination;
+        path.add(graph.getNode(current));
+        while (current != source && predecessors[current] != -1){
+            current = predecessors[current];
+            path.add(graph.getNode(current));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    public String getDestinationPathAsString(){
+        StringBuilder path = new StringBuilder();
+        for (Node node : getDestinationPath()){
+            if (path.length() > 0)
+                path.append("->");
+            path.append(node);
+        }
+        return path.toString();
+    }
+}
@@ -0,0 +1,84 @@
+package algo;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * Collects the operation counters of finished runs:
+ * - the counters of the last run
+ * - totals per algorithm and counter since start (or the last reset)
+ * The instance is registered with the platform MBean server when it is first used,
+ * so jconsole/VisualVM show it next to the JVM's own beans.
+ */
+public class AlgorithmMetrics implements AlgorithmMetricsMXBean {
+
+    public static final String OBJECT_NAME = "graphalgorithms:type=AlgorithmMetrics";
+
+    private static AlgorithmMetrics instance;
+
+    private long runs;
+    private String lastAlgorithm;
+    private Map<String, Long> lastRun = Collections.emptyMap();
+    private final Map<String, Long> totals = new LinkedHashMap<>();
+
+    private AlgorithmMetrics(){
+    }
+
+    public static synchronized AlgorithmMetrics getInstance(){
+        if (instance == null){
+            instance = new AlgorithmMetrics();
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(instance, new ObjectName(OBJECT_NAME));
+            } catch (JMException | SecurityException e) {
+                // metrics stay readable in-process
+            }
+        }
+        return instance;
+    }
+
+    synchronized void record(OperationCounters counters){
+        runs++;
+        lastAlgorithm = counters.getAlgorithm();
+        lastRun = counters.asMap();
+        for (Map.Entry<String, Long> counter : lastRun.entrySet()){
+            totals.merge(lastAlgorithm + ": " + counter.getKey(), counter.getValue(), Long::sum);
+        }
+    }
+
+    @Override
+    public boolean isCountingEnabled(){
+        return OperationCounters.ENABLED;
+    }
+
+    @Override
+    public synchronized long getRuns(){
+        return runs;
+    }
+
+    @Override
+    public synchronized String getLastAlgorithm(){
+        return lastAlgorithm;
+    }
+
+    @Override
+    public synchronized Map<String, Long> getLastRunCounters(){
+        return new LinkedHashMap<>(lastRun);
+    }
+
+    @Override
+    public synchronized Map<String, Long> getTotalCounters(){
+        return new LinkedHashMap<>(totals);
+    }
+
+    @Override
+    public synchronized void reset(){
+        runs = 0;
+        lastAlgorithm = null;
+        lastRun = Collections.emptyMap();
+        totals.clear();
+    }
+}
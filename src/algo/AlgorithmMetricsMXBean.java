@@ -0,0 +1,23 @@
+package algo;
+
+import java.util.Map;
+
+/*
+ * JMX view of the operation counters, registered as
+ * "graphalgorithms:type=AlgorithmMetrics" once the first counted run finishes.
+ * Counter keys are "<algorithm>: <counter>", e.g. "Dijkstra's: heap pops".
+ */
+public interface AlgorithmMetricsMXBean {
+
+    boolean isCountingEnabled();
+
+    long getRuns();
+
+    String getLastAlgorithm();
+
+    Map<String, Long> getLastRunCounters();
+
+    Map<String, Long> getTotalCounters();
+
+    void reset();
+}
@@ -2,34 +2,45 @@ package algo;
 
 import models.Edge;
 import models.Graph;
-import models.Node;
+import models.Topology;
 
 import java.util.*;
 public class AugmentingPathAlgorithm {
 
     private boolean safe = false;
     private String message = null;
+    private RunMonitor monitor = RunMonitor.NONE;
 
-    private Graph graph;
+    private static final int AUGMENTATIONS = 0, SEARCHES = 1, ARC_SCANS = 2;
+    private final OperationCounters counters = new OperationCounters("Augmenting-Path", "augmentations", "BFS searches", "BFS arc scans");
 
-    private List<Node> labeled;
+    private Graph graph;
+    private Topology topology;
+    private int source;
+    private int destination;
+    private ResidualNetwork network;
 
-    private List<Node> marked;
-    private Map<Node, Node> predecessors;
+    private int[] predecessorArcs;
+    private int[] marked;
 
     private int MaxFlow;
 
     public AugmentingPathAlgorithm(Graph graph){
         this.graph = graph;
-        predecessors = new HashMap<>();
-        labeled = new ArrayList<>();
-        marked = new ArrayList<>();
-        for (Edge edge: graph.getEdges()){
-            edge.setResidual(edge.getWeight());
-        }
         safe = evaluate();
     }
 
+    /*
+     * Runs on a bare CSR topology (e.g. an OffHeapGraph) without Node/Edge objects,
+     * source and destination are node indices.
+     */
+    public AugmentingPathAlgorithm(Topology topology, int source, int destination){
+        this.topology = topology;
+        this.source = source;
+        this.destination = destination;
+        safe = evaluateTopology();
+    }
+
     private boolean evaluate(){
         if(graph.getSource()==null){
             message = "Source must be present in the graph";
@@ -41,111 +52,123 @@ public class AugmentingPathAlgorithm {
             return false;
         }
 
-        for(Node node : graph.getNodes()){
-            if(!graph.isNodeReachable(node)){
-                message = "Graph contains unreachable nodes";
-                return false;
-            }
+        if(graph.hasUnreachableNodes()){
+            message = "Graph contains unreachable nodes";
+            return false;
         }
 
         return true;
     }
 
-    private List<Edge> getNeighbors(Node node) {
-        List<Edge> neighbors = new ArrayList<>();
+    private boolean evaluateTopology(){
+        if(source < 0 || source >= topology.getNodeCount()){
+            message = "Source must be present in the graph";
+            return false;
+        }
 
-        for(Edge edge : graph.getEdges()){
-            if(edge.getNodeOne()==node)
-                neighbors.add(edge);
+        if(destination < 0 || destination >= topology.getNodeCount() || destination == source){
+            message = "Destination must be present in the graph";
+            return false;
         }
 
-        return neighbors;
+        return true;
     }
-    private Node getAdjacent(Edge edge, Node node) {
-        if(edge.getNodeOne()!=node && edge.getNodeTwo()!=node)
-            return null;
 
-        return node==edge.getNodeTwo()?edge.getNodeOne():edge.getNodeTwo();
+
+    /*
+     * Lets another thread follow the progress of run() and cancel it.
+     */
+    public void setMonitor(RunMonitor monitor){
+        this.monitor = monitor;
     }
 
     public void run() throws IllegalStateException {
         if (!safe) {
             throw new IllegalStateException(message);
         }
-        Node destination = graph.getDestination();
-        labeled.add(destination);
-
-        while(labeled.contains(destination)){
-            labeled.clear();
-            predecessors.clear();
-            marked.clear();
-            Node source = graph.getSource();
-            marked.add(source);
-            while (!marked.isEmpty() && !labeled.contains(destination)){
-                Node selectedNode = marked.get(0);
-                marked.remove(selectedNode);
-                for (Edge neighbor : getNeighbors(selectedNode)) {
-                    if(neighbor.getResidual() > 0){
-                        Node adjacent = getAdjacent(neighbor, selectedNode);
-                        if (!labeled.contains(adjacent)){
-                            labeled.add(adjacent);
-                            predecessors.put(adjacent,selectedNode);
-                            marked.add(adjacent);
-                        }
-                    }
-                }
-            }
-            if (labeled.contains(destination)){
-                AugmentPath(predecessors);
-            }
+        if (graph != null){
+            source = graph.getSource().getIndex();
+            destination = graph.getDestination().getIndex();
         }
-        graph.setSolved(true);
+        network = graph != null ? new ResidualNetwork(graph) : new ResidualNetwork(topology);
+        int n = network.getNodeCount();
+        predecessorArcs = new int[n];
+        marked = new int[n];
+
+        long sourceCapacity = 0;
+        for (int arc = network.begin(source); arc < network.end(source); arc++)
+            sourceCapacity += network.getResidual(arc);
+
+        while (label(source, destination)){
+            AugmentPath(source, destination);
+            monitor.progress(MaxFlow, sourceCapacity);
+        }
+        if (OperationCounters.ENABLED)
+            counters.publish();
+        if (graph != null)
+            graph.setSolved(true);
     }
-    public int getMaxFlow(){return MaxFlow;}
-    public void AugmentPath(Map<Node, Node> predecessors){
-        List<Node> path = new ArrayList<>();
-        List<Edge> edgesInPath = new ArrayList<>();
-        Node end = graph.getDestination();
-        path.add(end);
-        while (end!=graph.getSource()){
-            Node start = end;
-            end = predecessors.get(start);
-            for (Edge edge: getNeighbors(end)){
-                if (edge.getNodeTwo().equals(start)){
-                    edgesInPath.add(edge);
+
+    /*
+     * Work counted during run(), all zero unless OperationCounters.ENABLED.
+     */
+    public OperationCounters getCounters(){
+        return counters;
+    }
+
+    /*
+     * Labeling:
+     * - Breadth first search from the source over arcs with positive residual capacity
+     * - predecessorArcs keeps the arc each labeled node was reached through (-1 if unlabeled)
+     */
+    private boolean label(int source, int destination){
+        Arrays.fill(predecessorArcs, -1);
+        if (OperationCounters.ENABLED)
+            counters.increment(SEARCHES);
+        int head = 0;
+        int tail = 0;
+        marked[tail++] = source;
+        while (head < tail && predecessorArcs[destination] == -1){
+            int u = marked[head++];
+            if (OperationCounters.ENABLED)
+                counters.add(ARC_SCANS, network.end(u) - network.begin(u));
+            for (int arc = network.begin(u); arc < network.end(u); arc++) {
+                int adjacent = network.getHead(arc);
+                if(network.getResidual(arc) > 0 && adjacent != source && predecessorArcs[adjacent] == -1){
+                    predecessorArcs[adjacent] = arc;
+                    marked[tail++] = adjacent;
                 }
             }
-            path.add(end);
         }
-        int delta = getMinEdgeResidual(edgesInPath);
+        return predecessorArcs[destination] != -1;
+    }
+    public int getMaxFlow(){return MaxFlow;}
 
-        for (Edge graphEdge: graph.getEdges()){
-            if (edgesInPath.contains(graphEdge)){
-                graphEdge.setResidual(graphEdge.getResidual() - delta);
-            }
+    public int getFlow(Edge edge){ return network.getFlow(edge);}
+    private void AugmentPath(int source, int destination){
+        int delta = Integer.MAX_VALUE;
+        for (int node = destination; node != source; node = network.getTail(predecessorArcs[node])){
+            delta = Math.min(delta, network.getResidual(predecessorArcs[node]));
+        }
+        for (int node = destination; node != source; node = network.getTail(predecessorArcs[node])){
+            network.push(predecessorArcs[node], delta);
         }
-        Collections.reverse(path);
         MaxFlow += delta;
+        if (OperationCounters.ENABLED)
+            counters.increment(AUGMENTATIONS);
 
     }
-    public int getMinEdgeResidual(List<Edge> edges){
-        int minValue = Integer.MAX_VALUE;
-        for (Edge edge: edges){
-            if (edge.getResidual() < minValue){
-                minValue = edge.getResidual();
-            }
-        }
-        return minValue;
-    }
     public String getResidualCapacitiesAsString(List<Edge> edges){
         String residualCapacities = "";
-        edges.sort(Comparator.comparing(Edge::toString));
-        for(Edge edge: edges){
+        List<Edge> sorted = new ArrayList<>(edges);
+        sorted.sort(Comparator.comparing(Edge::toString));
+        for(Edge edge: sorted){
+            int residual = network.getResidual(edge);
             String edgeCapacity = edge.toString() + " :  (";
-            edgeCapacity += edge.getResidual() + "/" + edge.getWeight() + ")";
-            if (edge.getResidual() == 0){
+            edgeCapacity += residual + "/" + edge.getWeight() + ")";
+            if (residual == 0){
                 edgeCapacity += "   - Full";
-            }else if (!(edge.getResidual() == edge.getWeight()) && edge.getResidual() > 0){
+            }else if (!(residual == edge.getWeight()) && residual > 0){
                 edgeCapacity += "   - Partially used";
             } else {
                 edgeCapacity += "   - Not used";
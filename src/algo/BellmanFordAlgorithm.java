@@ -1,6 +1,6 @@
 package algo;
 
-import models.Edge;
+import models.Adjacency;
 import models.Graph;
 import models.Node;
 
@@ -10,10 +10,14 @@ public class BellmanFordAlgorithm {
 
     private boolean safe = false;
     private String message = null;
+    private RunMonitor monitor = RunMonitor.NONE;
+
+    private static final int PASSES = 0, RELAXATIONS = 1, UPDATES = 2;
+    private final OperationCounters counters = new OperationCounters("Bellman-Ford", "passes", "relaxations", "distance updates");
 
     private Graph graph;
-    private Map<Node, Node> predecessors;
-    private Map<Node, Integer> distances;
+    private int[] predecessors;
+    private int[] distances;
 
     private  int maxValue;
 
@@ -21,13 +25,13 @@ public class BellmanFordAlgorithm {
 
     public BellmanFordAlgorithm(Graph graph){
         this.graph = graph;
-        predecessors = new HashMap<>();
-        distances = new HashMap<>();
+        int n = graph.getNodes().size();
+        predecessors = new int[n];
+        distances = new int[n];
         this.maxValue = 50000;
 
-        for(Node node : graph.getNodes()){
-            distances.put(node, maxValue);
-        }
+        Arrays.fill(predecessors, -1);
+        Arrays.fill(distances, maxValue);
 
         safe = evaluate();
     }
@@ -43,22 +47,28 @@ public class BellmanFordAlgorithm {
             return false;
         }
 
-        for(Node node : graph.getNodes()){
-            if(!graph.isNodeReachable(node)){
-                message = "Graph contains unreachable nodes";
-                return false;
-            }
+        if(graph.hasUnreachableNodes()){
+            message = "Graph contains unreachable nodes";
+            return false;
         }
 
         return true;
     }
 
+    /*
+     * Lets another thread follow the progress of run() and cancel it.
+     */
+    public void setMonitor(RunMonitor monitor){
+        this.monitor = monitor;
+    }
+
     public void run() throws IllegalStateException {
         if(!safe) {
             throw new IllegalStateException(message);
         }
-        Node source = graph.getSource();
-        distances.put(source, 0);
+        Adjacency adjacency = graph.getAdjacency();
+        int source = graph.getSource().getIndex();
+        distances[source] = 0;
 
         boolean done = false;
         int loopCounter = 0;
@@ -66,17 +76,28 @@ public class BellmanFordAlgorithm {
         while(!done && (loopCounter < graph.getNodes().size())){
 
             done = true;
-
-            for(Edge edge: graph.getEdges()){
-
-                if(distances.get(edge.getNodeTwo()) > distances.get(edge.getNodeOne()) + edge.getWeight()){
-                    distances.put(edge.getNodeTwo(),distances.get(edge.getNodeOne()) + edge.getWeight());
-                    predecessors.put(edge.getNodeTwo(),edge.getNodeOne());
-                    done = false;
+            monitor.progress(loopCounter, graph.getNodes().size());
+            if (OperationCounters.ENABLED)
+                counters.increment(PASSES);
+
+            for(int one = 0; one < adjacency.getNodeCount(); one++){
+                for(int arc = adjacency.begin(one); arc < adjacency.end(one); arc++){
+                    int two = adjacency.getTarget(arc);
+                    if (OperationCounters.ENABLED)
+                        counters.increment(RELAXATIONS);
+                    if(distances[two] > distances[one] + adjacency.getWeight(arc)){
+                        distances[two] = distances[one] + adjacency.getWeight(arc);
+                        predecessors[two] = one;
+                        done = false;
+                        if (OperationCounters.ENABLED)
+                            counters.increment(UPDATES);
+                    }
                 }
             }
             loopCounter++;
         }
+        if (OperationCounters.ENABLED)
+            counters.publish();
         if(isNegativeCycleDetected()){
             //JOptionPane.showMessageDialog( null, "Negative Cycle Detected!");
             String warn = "Negative Cycle Detected!";
@@ -87,18 +108,29 @@ public class BellmanFordAlgorithm {
             graph.setSolved(true);
         }
     }
+    /*
+     * Work counted during run(), all zero unless OperationCounters.ENABLED.
+     */
+    public OperationCounters getCounters(){
+        return counters;
+    }
+
     public boolean isNegativeCycleDetected(){
         boolean flag = false;
-        for(Edge edge: graph.getEdges()){
-            if(distances.get(edge.getNodeOne())  != maxValue &&
-                    (distances.get(edge.getNodeTwo()) > distances.get(edge.getNodeOne()) + edge.getWeight())){
-                flag = true;
+        Adjacency adjacency = graph.getAdjacency();
+        for(int one = 0; one < adjacency.getNodeCount(); one++){
+            for(int arc = adjacency.begin(one); arc < adjacency.end(one); arc++){
+                int two = adjacency.getTarget(arc);
+                if(distances[one]  != maxValue &&
+                        (distances[two] > distances[one] + adjacency.getWeight(arc))){
+                    flag = true;
+                }
             }
         }
         return flag;
     }
     public Integer getDestinationDistance(){
-        return distances.get(graph.getDestination());
+        return distances[graph.getDestination().getIndex()];
     }
 
     public List<Node> getDestinationPath() {
@@ -118,11 +150,12 @@ public class BellmanFordAlgorithm {
     public List<Node> getPath(Node node){
         List<Node> path = new ArrayList<>();
 
-        Node current = node;
-        path.add(current);
-        while (current!=graph.getSource()){
-            current = predecessors.get(current);
-            path.add(current);
+        int source = graph.getSource().getIndex();
+        int current = node.getIndex();
+        path.add(node);
+        while (current!=source && predecessors[current]!=-1){
+            current = predecessors[current];
+            path.add(graph.getNode(current));
         }
 
         Collections.reverse(path);
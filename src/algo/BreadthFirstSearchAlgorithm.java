@@ -1,8 +1,8 @@
 package algo;
 
-import models.Edge;
 import models.Graph;
 import models.Node;
+import models.Topology;
 
 import java.util.*;
 
@@ -10,10 +10,16 @@ public class BreadthFirstSearchAlgorithm {
 
     private boolean safe = false;
     private String message = null;
+    private RunMonitor monitor = RunMonitor.NONE;
 
     private Graph graph;
-    private Map<Node, Node> predecessors;
-    private List<Node> marked;
+    private Topology topology;
+    private int source;
+    private int discoveredCount;
+
+    private int[] predecessors;
+    private int[] marked;
+    private boolean[] discovered;
 
     private List<Node> traversedPath;
 
@@ -21,75 +27,108 @@ public class BreadthFirstSearchAlgorithm {
 
     public BreadthFirstSearchAlgorithm(Graph graph){
         this.graph = graph;
-        marked = new ArrayList<>();
-        predecessors = new HashMap<>();
+        init(graph.getNodes().size());
         traversedPath =  new ArrayList<>();
         traversedPathDistinct = new ArrayList<>();
 
         safe = evaluate();
     }
 
+    /*
+     * Runs on a bare CSR topology (e.g. an OffHeapGraph) without Node objects.
+     * The traversed paths are not recorded, the search tree is read back through getPredecessor(int).
+     */
+    public BreadthFirstSearchAlgorithm(Topology topology, int source){
+        this.topology = topology;
+        this.source = source;
+        init(topology.getNodeCount());
+
+        if(source < 0 || source >= topology.getNodeCount()){
+            message = "Source must be present in the graph";
+        } else {
+            safe = true;
+        }
+    }
+
+    private void init(int n){
+        marked = new int[n];
+        predecessors = new int[n];
+        discovered = new boolean[n];
+
+        Arrays.fill(predecessors, -1);
+    }
+
     private boolean evaluate(){
         if(graph.getSource()==null){
             message = "Source must be present in the graph";
             return false;
         }
 
-        for(Node node : graph.getNodes()){
-            if(!graph.isNodeReachable(node)){
-                message = "Graph contains unreachable nodes";
-                return false;
-            }
+        if(graph.hasUnreachableNodes()){
+            message = "Graph contains unreachable nodes";
+            return false;
         }
 
         return true;
     }
 
-    private Node getAdjacent(Edge edge, Node node) {
-        if(edge.getNodeOne()!=node)
-            return null;
-
-        return node==edge.getNodeTwo()?edge.getNodeOne():edge.getNodeTwo();
-    }
-
-    private List<Edge> getNeighbors(Node node) {
-        List<Edge> neighbors = new ArrayList<>();
-
-        for(Edge edge : graph.getEdges()){
-            if(edge.getNodeOne()==node)
-                neighbors.add(edge);
-        }
-
-        return neighbors;
+    /*
+     * Lets another thread follow the progress of run() and cancel it.
+     */
+    public void setMonitor(RunMonitor monitor){
+        this.monitor = monitor;
     }
 
     public void run() throws IllegalStateException {
         if(!safe) {
             throw new IllegalStateException(message);
         }
-        //marked = new PriorityQueue<>(graph.getNodes().size(), new NodeComparator());
-        marked = new ArrayList<>();
-        Node source = graph.getSource();
-        marked.add(source);
-        traversedPathDistinct.add(source);
-
-        while (!marked.isEmpty()){
-
-            Node selectedNode = marked.get(0);
-
-            for (Edge neighbor : getNeighbors(selectedNode)) {
-                Node adjacent = getAdjacent(neighbor, selectedNode);
-                if (adjacent != null && !marked.contains(adjacent) && !traversedPath.contains(adjacent)){
-                    marked.add(adjacent);
-                    predecessors.put(adjacent, selectedNode);
-                    traversedPath.add(selectedNode);
-                    traversedPath.add(adjacent);
-                    traversedPathDistinct.add(adjacent);
+        if (graph != null){
+            topology = graph.getAdjacency();
+            source = graph.getSource().getIndex();
+        }
+        int head = 0;
+        int tail = 0;
+        marked[tail++] = source;
+        discovered[source] = true;
+        if (graph != null)
+            traversedPathDistinct.add(graph.getNode(source));
+
+        while (head < tail){
+
+            int selectedNode = marked[head++];
+            if ((head & 1023) == 0)
+                monitor.progress(head, topology.getNodeCount());
+
+            for (int arc = topology.begin(selectedNode); arc < topology.end(selectedNode); arc++) {
+                int adjacent = topology.getTarget(arc);
+                if (!discovered[adjacent]){
+                    discovered[adjacent] = true;
+                    marked[tail++] = adjacent;
+                    predecessors[adjacent] = selectedNode;
+                    if (graph != null){
+                        traversedPath.add(graph.getNode(selectedNode));
+                        traversedPath.add(graph.getNode(adjacent));
+                        traversedPathDistinct.add(graph.getNode(adjacent));
+                    }
                 }
             }
-            marked.remove(selectedNode);
         }
-        graph.setSolved(true);
+        discoveredCount = tail;
+        if (graph != null)
+            graph.setSolved(true);
+    }
+
+    public int getPredecessor(int node){
+        return predecessors[node];
+    }
+
+    public boolean isDiscovered(int node){
+        return discovered[node];
+    }
+
+    public int getDiscoveredCount(){
+        return discoveredCount;
     }
 
     public List<Node> getDestinationPath() {
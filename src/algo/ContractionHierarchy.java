@@ -0,0 +1,722 @@
+package algo;
+
+import models.Graph;
+import models.Topology;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+/*
+ * Contraction hierarchy index of a network with non-negative weights.
+ * - Nodes are contracted in rounds, cheapest edge difference first: the shortcuts
+ *   a contraction adds minus the arcs it removes, plus the neighbours already
+ *   contracted so the order spreads over the network
+ * - A round contracts an independent set of nodes whose priority is lower than
+ *   that of all their neighbours. Priorities and witness searches are computed in
+ *   parallel on the common ForkJoinPool, the shortcuts are inserted afterwards
+ * - A shortcut u->w replaces u->v->w when a bounded witness search from u,
+ *   around v, finds nothing shorter. It remembers both arcs, so paths unpack
+ *   back to arcs of the topology
+ * - When the remaining nodes get dense they are kept as an uncontracted core
+ * Queries are bidirectional Dijkstra searches that only go upwards in the
+ * contraction order (and anywhere inside the core), see Query. The index of a
+ * Graph is built once per version of the graph, of() returns the cached one
+ * until the graph is edited.
+ */
+public class ContractionHierarchy {
+
+    private static final int WITNESS_SCAN_LIMIT = 1000;
+    private static final int PRIORITY_SCAN_LIMIT = 250;
+    private static final int SIMULATION_BOUND = 1000;
+    private static final int CORE_DEGREE = 16;
+    private static final Map<Graph, ContractionHierarchy> CACHE = new WeakHashMap<>();
+
+    // queries handed back after use; a reused query only resets the nodes it touched
+    private final ConcurrentLinkedQueue<Query> idleQueries = new ConcurrentLinkedQueue<>();
+
+    private final Topology topology;
+    private final long version;
+    private final int n;
+
+    // arcs of the hierarchy, the topology's arcs first and shortcuts after them
+    private int arcCount;
+    private int[] tails, heads, weights, firsts, seconds;
+    private int[] rank;
+    private boolean[] core;
+
+    // upward arcs u->w by u, and arcs w->u from higher ranked w by u
+    private int[] upBegin, upArcs;
+    private int[] downBegin, downArcs;
+
+    // only used while contracting
+    private IntList[] outArcs, inArcs;
+    private boolean[] contracted;
+    private boolean[] inRound;
+    private ThreadLocal<WitnessSearch> witness;
+
+    public ContractionHierarchy(Topology topology){
+        this(topology, -1, RunMonitor.NONE);
+    }
+
+    private ContractionHierarchy(Topology topology, long version, RunMonitor monitor){
+        this.topology = topology;
+        this.version = version;
+        n = topology.getNodeCount();
+        contract(monitor);
+        buildSearchGraph();
+    }
+
+    /*
+     * The index of the graph's current version, built (and cached) if there is none.
+     */
+    public static ContractionHierarchy of(Graph graph, RunMonitor monitor){
+        synchronized (CACHE){
+            ContractionHierarchy cached = CACHE.get(graph);
+            if (cached != null && cached.version == graph.getVersion())
+                return cached;
+            ContractionHierarchy built = new ContractionHierarchy(graph.getAdjacency(), graph.getVersion(), monitor);
+            CACHE.put(graph, built);
+            return built;
+        }
+    }
+
+    /*
+     * True when of() would return without building.
+     */
+    public static boolean isCached(Graph graph){
+        synchronized (CACHE){
+            ContractionHierarchy cached = CACHE.get(graph);
+            return cached != null && cached.version == graph.getVersion();
+        }
+    }
+
+    public Topology getTopology(){
+        return topology;
+    }
+
+    public int getNodeCount(){
+        return n;
+    }
+
+    public int getShortcutCount(){
+        int count = 0;
+        for (int arc = 0; arc < arcCount; arc++){
+            if (seconds[arc] >= 0)
+                count++;
+        }
+        return count;
+    }
+
+    /*
+     * Nodes left uncontracted because the rest of the network became too dense.
+     */
+    public int getCoreSize(){
+        int count = 0;
+        for (boolean inCore : core){
+            if (inCore)
+                count++;
+        }
+        return count;
+    }
+
+    /*
+     * Position of the node in the contraction order, 0 was contracted first.
+     */
+    public int getRank(int node){
+        return rank[node];
+    }
+
+    public Query newQuery(){
+        return new Query();
+    }
+
+    /*
+     * An idle query of this index, or a new one if all are in use. Hand it
+     * back with releaseQuery() once its results have been read.
+     */
+    public Query borrowQuery(){
+        Query query = idleQueries.poll();
+        return query != null ? query : new Query();
+    }
+
+    public void releaseQuery(Query query){
+        idleQueries.offer(query);
+    }
+
+    private void contract(RunMonitor monitor){
+        int m = topology.getEdgeCount();
+        int capacity = Math.max(16, m + m / 2);
+        tails = new int[capacity];
+        heads = new int[capacity];
+        weights = new int[capacity];
+        firsts = new int[capacity];
+        seconds = new int[capacity];
+        outArcs = new IntList[n];
+        inArcs = new IntList[n];
+        for (int v = 0; v < n; v++){
+            outArcs[v] = new IntList();
+            inArcs[v] = new IntList();
+        }
+        for (int u = 0; u < n; u++){
+            for (int arc = topology.begin(u); arc < topology.end(u); arc++){
+                if (topology.getWeight(arc) < 0)
+                    throw new IllegalStateException("Contraction hierarchies need non-negative weights");
+                int v = topology.getTarget(arc);
+                if (v != u)
+                    addArc(u, v, topology.getWeight(arc), arc, -1);
+            }
+        }
+
+        rank = new int[n];
+        core = new boolean[n];
+        contracted = new boolean[n];
+        inRound = new boolean[n];
+        witness = ThreadLocal.withInitial(WitnessSearch::new);
+        int[] priority = new int[n];
+        int[] deleted = new int[n];
+        boolean[] dirty = new boolean[n];
+        boolean[] selected = new boolean[n];
+        Arrays.fill(dirty, true);
+        int[] remaining = IntStream.range(0, n).toArray();
+        int remainingCount = n;
+        int nextRank = 0;
+
+        while (remainingCount > 0){
+            monitor.checkCancelled();
+            monitor.progress(n - remainingCount, n);
+            int[] nodes = remaining;
+            if (isDenseCore(nodes, remainingCount)){
+                for (int i = 0; i < remainingCount; i++){
+                    core[nodes[i]] = true;
+                    rank[nodes[i]] = nextRank++;
+                }
+                break;
+            }
+            IntStream.range(0, remainingCount).parallel().forEach(i -> {
+                int v = nodes[i];
+                if (dirty[v]){
+                    priority[v] = edgeDifference(v) + deleted[v];
+                    dirty[v] = false;
+                }
+            });
+            IntStream.range(0, remainingCount).parallel().forEach(i -> {
+                int v = nodes[i];
+                selected[v] = isLocalMinimum(v, priority);
+            });
+
+            int roundSize = 0;
+            int[] round = new int[remainingCount];
+            for (int i = 0; i < remainingCount; i++){
+                if (selected[nodes[i]]){
+                    round[roundSize++] = nodes[i];
+                    inRound[nodes[i]] = true;
+                }
+            }
+            int[] set = Arrays.copyOf(round, roundSize);
+            int[][] shortcuts = new int[roundSize][];
+            IntStream.range(0, roundSize).parallel().forEach(i -> shortcuts[i] = shortcuts(set[i], true));
+
+            for (int i = 0; i < roundSize; i++){
+                int v = set[i];
+                int[] found = shortcuts[i];
+                for (int s = 1; s < found[0]; s += 5)
+                    addShortcut(found[s], found[s + 1], found[s + 2], found[s + 3], found[s + 4]);
+                contracted[v] = true;
+                inRound[v] = false;
+                selected[v] = false;
+                rank[v] = nextRank++;
+                markNeighbours(outArcs[v], heads, deleted, dirty);
+                markNeighbours(inArcs[v], tails, deleted, dirty);
+            }
+
+            for (int i = 0; i < roundSize; i++){
+                prune(outArcs[set[i]], heads);
+                prune(inArcs[set[i]], tails);
+            }
+
+            int kept = 0;
+            int[] next = new int[remainingCount - roundSize];
+            for (int i = 0; i < remainingCount; i++){
+                if (!contracted[nodes[i]])
+                    next[kept++] = nodes[i];
+            }
+            remaining = next;
+            remainingCount = kept;
+        }
+
+        outArcs = null;
+        inArcs = null;
+        contracted = null;
+        inRound = null;
+        witness = null;
+    }
+
+    /*
+     * Networks without a hierarchy (random graphs, for instance) fill up with
+     * shortcuts towards the end. Once the remaining nodes average more than
+     * CORE_DEGREE arcs they are left uncontracted as a core that queries search
+     * with plain bidirectional Dijkstra.
+     */
+    private boolean isDenseCore(int[] nodes, int count){
+        long arcs = 0;
+        for (int i = 0; i < count; i++)
+            arcs += outArcs[nodes[i]].size;
+        return arcs > (long) CORE_DEGREE * count;
+    }
+
+    /*
+     * Drops the arcs of contracted nodes from the lists of the neighbours, the
+     * searches of later rounds would only skip them.
+     */
+    private void prune(IntList arcs, int[] ends){
+        for (int i = 0; i < arcs.size; i++){
+            int x = ends[arcs.values[i]];
+            if (!contracted[x]){
+                removeContracted(outArcs[x], heads);
+                removeContracted(inArcs[x], tails);
+            }
+        }
+    }
+
+    private void removeContracted(IntList arcs, int[] ends){
+        int kept = 0;
+        for (int i = 0; i < arcs.size; i++){
+            if (!contracted[ends[arcs.values[i]]])
+                arcs.values[kept++] = arcs.values[i];
+        }
+        arcs.size = kept;
+    }
+
+    private void markNeighbours(IntList arcs, int[] ends, int[] deleted, boolean[] dirty){
+        for (int i = 0; i < arcs.size; i++){
+            int x = ends[arcs.values[i]];
+            if (!contracted[x]){
+                deleted[x]++;
+                dirty[x] = true;
+            }
+        }
+    }
+
+    /*
+     * Lower priority than every uncontracted neighbour, ties broken by a hash of the index.
+     */
+    private boolean isLocalMinimum(int v, int[] priority){
+        IntList out = outArcs[v];
+        for (int i = 0; i < out.size; i++){
+            int x = heads[out.values[i]];
+            if (!contracted[x] && before(x, v, priority))
+                return false;
+        }
+        IntList in = inArcs[v];
+        for (int i = 0; i < in.size; i++){
+            int x = tails[in.values[i]];
+            if (!contracted[x] && before(x, v, priority))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean before(int x, int v, int[] priority){
+        if (priority[x] != priority[v])
+            return priority[x] < priority[v];
+        int hx = Integer.rotateLeft(x * 0x9E3779B9, 16);
+        int hv = Integer.rotateLeft(v * 0x9E3779B9, 16);
+        return hx != hv ? hx < hv : x < v;
+    }
+
+    /*
+     * Shortcuts minus removed arcs. The lists only hold arcs between uncontracted
+     * nodes; hubs whose in x out degree exceeds SIMULATION_BOUND are not simulated,
+     * every pair counts as a shortcut, they end up last (or in the core) anyway.
+     */
+    private int edgeDifference(int v){
+        int removed = inArcs[v].size + outArcs[v].size;
+        long pairs = (long) inArcs[v].size * outArcs[v].size;
+        if (pairs > SIMULATION_BOUND)
+            return (int) Math.min(Integer.MAX_VALUE / 2, pairs) - removed;
+        return shortcuts(v, false)[0] - removed;
+    }
+
+    /*
+     * Shortcuts needed to contract v. With collect the result is {length, (tail,
+     * head, weight, first arc, second arc)...}, without it only {count}.
+     * Witness paths avoid v and every node contracted in the same round.
+     */
+    private int[] shortcuts(int v, boolean collect){
+        WitnessSearch search = witness.get();
+        IntList found = collect ? new IntList() : null;
+        int count = 0;
+        IntList in = inArcs[v];
+        IntList out = outArcs[v];
+        for (int i = 0; i < in.size; i++){
+            int first = in.values[i];
+            int u = tails[first];
+            if (contracted[u])
+                continue;
+
+            long limit = -1;
+            for (int j = 0; j < out.size; j++){
+                int w = heads[out.values[j]];
+                if (w != u && !contracted[w])
+                    limit = Math.max(limit, (long) weights[first] + weights[out.values[j]]);
+            }
+            if (limit < 0)
+                continue;
+
+            search.run(u, v, limit, out, collect ? WITNESS_SCAN_LIMIT : PRIORITY_SCAN_LIMIT);
+            for (int j = 0; j < out.size; j++){
+                int second = out.values[j];
+                int w = heads[second];
+                if (w == u || contracted[w])
+                    continue;
+                long via = (long) weights[first] + weights[second];
+                if (search.distance(w) > via){
+                    count++;
+                    if (collect){
+                        found.add(u);
+                        found.add(w);
+                        found.add((int) Math.min(Integer.MAX_VALUE, via));
+                        found.add(first);
+                        found.add(second);
+                    }
+                }
+            }
+            search.reset();
+        }
+        if (!collect)
+            return new int[]{ count };
+        int[] result = new int[found.size + 1];
+        result[0] = result.length;
+        System.arraycopy(found.values, 0, result, 1, found.size);
+        return result;
+    }
+
+    /*
+     * Adds u->w, or lowers the weight of an existing u->w arc and turns it into
+     * the shortcut. Both ends are uncontracted, so no earlier shortcut unpacks
+     * through that arc.
+     */
+    private void addShortcut(int u, int w, int weight, int first, int second){
+        IntList out = outArcs[u];
+        for (int i = 0; i < out.size; i++){
+            int arc = out.values[i];
+            if (heads[arc] == w){
+                if (weights[arc] > weight){
+                    weights[arc] = weight;
+                    firsts[arc] = first;
+                    seconds[arc] = second;
+                }
+                return;
+            }
+        }
+        addArc(u, w, weight, first, second);
+    }
+
+    private void addArc(int u, int w, int weight, int first, int second){
+        if (arcCount == tails.length){
+            int capacity = tails.length * 2;
+            tails = Arrays.copyOf(tails, capacity);
+            heads = Arrays.copyOf(heads, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            firsts = Arrays.copyOf(firsts, capacity);
+            seconds = Arrays.copyOf(seconds, capacity);
+        }
+        tails[arcCount] = u;
+        heads[arcCount] = w;
+        weights[arcCount] = weight;
+        firsts[arcCount] = first;
+        seconds[arcCount] = second;
+        outArcs[u].add(arcCount);
+        inArcs[w].add(arcCount);
+        arcCount++;
+    }
+
+    private void buildSearchGraph(){
+        upBegin = new int[n + 1];
+        downBegin = new int[n + 1];
+        for (int arc = 0; arc < arcCount; arc++){
+            if (isUpwards(arc))
+                upBegin[tails[arc] + 1]++;
+            if (isDownwards(arc))
+                downBegin[heads[arc] + 1]++;
+        }
+        for (int v = 0; v < n; v++){
+            upBegin[v + 1] += upBegin[v];
+            downBegin[v + 1] += downBegin[v];
+        }
+        upArcs = new int[upBegin[n]];
+        downArcs = new int[downBegin[n]];
+        int[] upNext = Arrays.copyOf(upBegin, n);
+        int[] downNext = Arrays.copyOf(downBegin, n);
+        for (int arc = 0; arc < arcCount; arc++){
+            if (isUpwards(arc))
+                upArcs[upNext[tails[arc]]++] = arc;
+            if (isDownwards(arc))
+                downArcs[downNext[heads[arc]]++] = arc;
+        }
+    }
+
+    /*
+     * Arcs inside the core are searched in both directions.
+     */
+    private boolean isUpwards(int arc){
+        return rank[tails[arc]] < rank[heads[arc]] || core[tails[arc]] && core[heads[arc]];
+    }
+
+    private boolean isDownwards(int arc){
+        return rank[tails[arc]] > rank[heads[arc]] || core[tails[arc]] && core[heads[arc]];
+    }
+
+    /*
+     * Appends the topology arcs a hierarchy arc stands for, in path order.
+     */
+    private void unpack(int arc, IntList path){
+        IntList stack = new IntList();
+        stack.add(arc);
+        while (stack.size > 0){
+            int current = stack.values[--stack.size];
+            if (seconds[current] < 0){
+                path.add(firsts[current]);
+            } else {
+                stack.add(seconds[current]);
+                stack.add(firsts[current]);
+            }
+        }
+    }
+
+    /*
+     * Shortest path queries on the index. A query object keeps its arrays between
+     * runs and only resets the nodes it touched, so repeated queries cost the
+     * size of the searched up-cones, not of the network. Not thread-safe, use one
+     * query per thread.
+     */
+    public class Query {
+        private final int[] forward = new int[n];
+        private final int[] backward = new int[n];
+        private final int[] forwardArc = new int[n];
+        private final int[] backwardArc = new int[n];
+        private final IndexedHeap forwardQueue = new IndexedHeap(n);
+        private final IndexedHeap backwardQueue = new IndexedHeap(n);
+        private final IntList touched = new IntList();
+
+        private int source = -1;
+        private int destination = -1;
+        private int distance = Integer.MAX_VALUE;
+        private int meeting = -1;
+        private int settled;
+
+        private Query(){
+            Arrays.fill(forward, Integer.MAX_VALUE);
+            Arrays.fill(backward, Integer.MAX_VALUE);
+        }
+
+        /*
+         * Distance from source to destination, Integer.MAX_VALUE if unreachable.
+         * Each side stops once its smallest key reaches the best meeting found.
+         */
+        public int run(int source, int destination){
+            reset();
+            this.source = source;
+            this.destination = destination;
+            distance = Integer.MAX_VALUE;
+            meeting = -1;
+            settled = 0;
+
+            touch(source);
+            touch(destination);
+            forward[source] = 0;
+            backward[destination] = 0;
+            forwardArc[source] = -1;
+            backwardArc[destination] = -1;
+            forwardQueue.insert(source, 0);
+            backwardQueue.insert(destination, 0);
+
+            boolean forwardDone = false, backwardDone = false;
+            while (!forwardDone || !backwardDone){
+                if (!forwardDone)
+                    forwardDone = step(forwardQueue, forward, backward, forwardArc, upBegin, upArcs, heads);
+                if (!backwardDone)
+                    backwardDone = step(backwardQueue, backward, forward, backwardArc, downBegin, downArcs, tails);
+            }
+            return distance;
+        }
+
+        /*
+         * Settles one node of a side, returns true when that side is finished.
+         */
+        private boolean step(IndexedHeap queue, int[] own, int[] other, int[] arcs,
+                             int[] begin, int[] list, int[] ends){
+            if (queue.isEmpty())
+                return true;
+            int u = queue.poll();
+            if (own[u] >= distance)
+                return true;
+            settled++;
+            if (other[u] != Integer.MAX_VALUE && own[u] + other[u] < distance){
+                distance = own[u] + other[u];
+                meeting = u;
+            }
+            for (int i = begin[u]; i < begin[u + 1]; i++){
+                int arc = list[i];
+                int x = ends[arc];
+                int candidate = own[u] + weights[arc];
+                if (candidate < own[x]){
+                    if (own[x] == Integer.MAX_VALUE && other[x] == Integer.MAX_VALUE)
+                        touch(x);
+                    own[x] = candidate;
+                    arcs[x] = arc;
+                    if (queue.contains(x))
+                        queue.decreaseKey(x, candidate);
+                    else
+                        queue.insert(x, candidate);
+                }
+            }
+            return false;
+        }
+
+        private void touch(int node){
+            touched.add(node);
+        }
+
+        private void reset(){
+            for (int i = 0; i < touched.size; i++){
+                int v = touched.values[i];
+                forward[v] = Integer.MAX_VALUE;
+                backward[v] = Integer.MAX_VALUE;
+            }
+            touched.size = 0;
+            forwardQueue.clear();
+            backwardQueue.clear();
+        }
+
+        public int getDistance(){
+            return distance;
+        }
+
+        /*
+         * Nodes settled by both sides of the last run.
+         */
+        public int getSettledCount(){
+            return settled;
+        }
+
+        /*
+         * Arcs of the topology on the shortest path, source first; empty when
+         * source and destination coincide or are not connected.
+         */
+        public int[] getPathArcs(){
+            IntList path = new IntList();
+            if (meeting < 0)
+                return new int[0];
+            IntList upwards = new IntList();
+            for (int v = meeting; forwardArc[v] >= 0; v = tails[forwardArc[v]])
+                upwards.add(forwardArc[v]);
+            for (int i = upwards.size - 1; i >= 0; i--)
+                unpack(upwards.values[i], path);
+            for (int v = meeting; backwardArc[v] >= 0; v = heads[backwardArc[v]])
+                unpack(backwardArc[v], path);
+            return Arrays.copyOf(path.values, path.size);
+        }
+
+        /*
+         * Nodes on the shortest path from source to destination, both included.
+         */
+        public int[] getPathNodes(){
+            if (meeting < 0)
+                return new int[0];
+            int[] arcs = getPathArcs();
+            int[] nodes = new int[arcs.length + 1];
+            nodes[0] = source;
+            for (int i = 0; i < arcs.length; i++)
+                nodes[i + 1] = topology.getTarget(arcs[i]);
+            return nodes;
+        }
+    }
+
+    /*
+     * Local Dijkstra for witnesses, one per worker thread. It stops at the given
+     * distance or after scanning a budget of arcs (hubs make a few settled nodes
+     * expensive), a witness it misses only costs an unneeded shortcut.
+     */
+    private class WitnessSearch {
+        private final long[] distances = new long[n];
+        private final int[] targets = new int[n];
+        private final IndexedHeap queue = new IndexedHeap(n);
+        private final IntList touched = new IntList();
+        private int stamp;
+
+        WitnessSearch(){
+            Arrays.fill(distances, Long.MAX_VALUE);
+        }
+
+        /*
+         * Distances from source up to limit, without passing avoid. Stops early
+         * once the heads of all arcs in the list are settled.
+         */
+        void run(int source, int avoid, long limit, IntList arcs, int budget){
+            stamp++;
+            int open = 0;
+            for (int i = 0; i < arcs.size; i++){
+                int w = heads[arcs.values[i]];
+                if (targets[w] != stamp && w != source && !contracted[w]){
+                    targets[w] = stamp;
+                    open++;
+                }
+            }
+            distances[source] = 0;
+            touched.add(source);
+            queue.insert(source, 0);
+            int scanned = 0;
+            while (!queue.isEmpty() && scanned < budget){
+                int u = queue.poll();
+                if (distances[u] > limit)
+                    break;
+                if (targets[u] == stamp && --open == 0)
+                    break;
+                IntList out = outArcs[u];
+                for (int i = 0; i < out.size && scanned++ < budget; i++){
+                    int arc = out.values[i];
+                    int x = heads[arc];
+                    if (x == avoid || contracted[x] || inRound[x])
+                        continue;
+                    long candidate = distances[u] + weights[arc];
+                    if (candidate < distances[x] && candidate <= limit){
+                        if (distances[x] == Long.MAX_VALUE)
+                            touched.add(x);
+                        distances[x] = candidate;
+                        int key = (int) Math.min(Integer.MAX_VALUE, candidate);
+                        if (queue.contains(x))
+                            queue.decreaseKey(x, key);
+                        else
+                            queue.insert(x, key);
+                    }
+                }
+            }
+        }
+
+        long distance(int node){
+            return distances[node];
+        }
+
+        void reset(){
+            for (int i = 0; i < touched.size; i++)
+                distances[touched.values[i]] = Long.MAX_VALUE;
+            touched.size = 0;
+            queue.clear();
+        }
+    }
+
+    private static final class IntList {
+        int[] values = new int[8];
+        int size;
+
+        void add(int value){
+            if (size == values.length)
+                values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+    }
+}
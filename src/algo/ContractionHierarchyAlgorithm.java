@@ -0,0 +1,159 @@
+package algo;
+
+import models.Adjacency;
+import models.Edge;
+import models.Graph;
+import models.Node;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Shortest path from the source to the destination on the contraction hierarchy
+ * of the graph. The first run after an edit builds the index (see
+ * ContractionHierarchy.of), later runs on the same version only query it: the
+ * network checks are skipped and a query of the index is borrowed, so a run
+ * costs the nodes the query reaches rather than the size of the network.
+ */
+public class ContractionHierarchyAlgorithm {
+
+    private boolean safe = false;
+    private String message = null;
+    private RunMonitor monitor = RunMonitor.NONE;
+
+    private Graph graph;
+    private Adjacency adjacency;
+    private ContractionHierarchy hierarchy;
+    private boolean built;
+    private int distance;
+    private int settled;
+    private int[] pathArcs;
+    private int[] pathNodes;
+    private double preprocessingTime;
+
+    public ContractionHierarchyAlgorithm(Graph graph){
+        this.graph = graph;
+        safe = evaluate();
+    }
+
+    private boolean evaluate(){
+        if(graph.getSource()==null){
+            message = "Source must be present in the graph";
+            return false;
+        }
+
+        if(graph.getDestination()==null){
+            message = "Destination must be present in the graph";
+            return false;
+        }
+
+        // the cached index was built for this version, which passed the checks below
+        if(ContractionHierarchy.isCached(graph))
+            return true;
+
+        if(graph.hasUnreachableNodes()){
+            message = "Graph contains unreachable nodes";
+            return false;
+        }
+
+        for (Edge edge : graph.getEdges()){
+            if (edge.getWeight() < 0){
+                message = "Contraction hierarchies need non-negative weights";
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /*
+     * Lets another thread follow the preprocessing and cancel it.
+     */
+    public void setMonitor(RunMonitor monitor){
+        this.monitor = monitor;
+    }
+
+    public void run() throws IllegalStateException {
+        if(!safe) {
+            throw new IllegalStateException(message);
+        }
+
+        adjacency = graph.getAdjacency();
+        built = !ContractionHierarchy.isCached(graph);
+        long start = System.nanoTime();
+        hierarchy = ContractionHierarchy.of(graph, monitor);
+        preprocessingTime = built ? (System.nanoTime() - start) / 1e6 : 0;
+
+        ContractionHierarchy.Query query = hierarchy.borrowQuery();
+        try {
+            distance = query.run(graph.getSource().getIndex(), graph.getDestination().getIndex());
+            settled = query.getSettledCount();
+            pathArcs = query.getPathArcs();
+            pathNodes = query.getPathNodes();
+        } finally {
+            hierarchy.releaseQuery(query);
+        }
+        graph.setSolved(true);
+    }
+
+    /*
+     * True if this run built the index, false if it reused the cached one.
+     */
+    public boolean isIndexBuilt(){
+        return built;
+    }
+
+    /*
+     * Milliseconds spent building the index, 0 when it was cached.
+     */
+    public double getPreprocessingTime(){
+        return preprocessingTime;
+    }
+
+    public int getShortcutCount(){
+        return hierarchy.getShortcutCount();
+    }
+
+    /*
+     * Nodes settled by the upward searches of both sides.
+     */
+    public int getSettledCount(){
+        return settled;
+    }
+
+    public Integer getDestinationDistance(){
+        return distance;
+    }
+
+    /*
+     * Edges of the graph on the shortest path, shortcuts unpacked.
+     */
+    public List<Edge> getDestinationEdges(){
+        List<Edge> edges = new ArrayList<>();
+        for (int arc : pathArcs)
+            edges.add(adjacency.getEdge(arc));
+        return edges;
+    }
+
+    public List<Node> getDestinationPath(){
+        List<Node> path = new ArrayList<>();
+        int[] nodes = pathNodes;
+        if (nodes.length == 0){
+            path.add(graph.getDestination());
+            return path;
+        }
+        for (int node : nodes)
+            path.add(adjacency.getNode(node));
+        return path;
+    }
+
+    public String getDestinationPathAsString(){
+        StringBuilder path = new StringBuilder();
+        for (Node node : getDestinationPath()){
+            if (path.length() > 0)
+                path.append("->");
+            path.append(node);
+        }
+        return path.toString();
+    }
+}
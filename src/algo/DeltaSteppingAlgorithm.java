@@ -0,0 +1,432 @@
+package algo;
+
+import models.Edge;
+import models.Graph;
+import models.Node;
+import models.Topology;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/*
+ * Delta-stepping (Meyer & Sanders) single-source shortest paths, relaxing in
+ * parallel on the common ForkJoinPool. Tentative distances fall into buckets
+ * of width delta; bucket i is settled before bucket i + 1.
+ * - Light arcs (weight <= delta) can land in the current bucket, so they are
+ *   relaxed in phases until the bucket stays empty
+ * - Heavy arcs can only reach later buckets and are relaxed once per bucket,
+ *   from every node it settled
+ * Each node's label packs distance and predecessor into one long, lowered with
+ * compareAndSet when the distance strictly improves. Distances are exactly
+ * Dijkstra's; on ties the predecessor may be another node of equal distance.
+ */
+public class DeltaSteppingAlgorithm {
+
+    public static final int AUTO_DELTA = 0;
+
+    private static final VarHandle LABELS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final long UNREACHED = ((long) Integer.MAX_VALUE << 32) | 0xffffffffL;
+
+    /*
+     * Frontiers are cut into chunks of this many nodes, the unit of parallel work;
+     * the requests of a chunk are merged back in chunk order.
+     */
+    private static final int CHUNK = 256;
+
+    /*
+     * Automatic delta: the weight below which about LIGHT_PER_NODE arcs of an
+     * average node fall, from a sample of at most WEIGHT_SAMPLE arcs. For weights
+     * uniform in [0, C] this is Meyer & Sanders' delta = C / degree.
+     */
+    private static final double LIGHT_PER_NODE = 1.0;
+    private static final int WEIGHT_SAMPLE = 4096;
+
+    private boolean safe = false;
+    private String message = null;
+    private RunMonitor monitor = RunMonitor.NONE;
+
+    private static final int RELAXATIONS = 0, IMPROVEMENTS = 1, BUCKETS = 2, PHASES = 3;
+    private final OperationCounters counters = new OperationCounters("Delta-Stepping", "relaxations",
+            "improvements", "buckets", "light phases");
+
+    private Graph graph;
+    private Topology topology;
+    private int source;
+    private int destination;
+
+    private int delta = AUTO_DELTA;
+    private int usedDelta;
+
+    // arcs of each node reordered light first: [first[u], lightEnd[u]) light, [lightEnd[u], first[u + 1]) heavy
+    private int[] first;
+    private int[] lightEnd;
+    private int[] heads;
+    private int[] weights;
+
+    private long[] labels;
+    private int settled;
+
+    public DeltaSteppingAlgorithm(Graph graph){
+        this.graph = graph;
+        safe = evaluate();
+    }
+
+    /*
+     * Runs on a bare CSR topology, results are read back by node index.
+     */
+    public DeltaSteppingAlgorithm(Topology topology, int source, int destination){
+        this.topology = topology;
+        this.source = source;
+        this.destination = destination;
+        safe = evaluateTopology();
+    }
+
+    private boolean evaluate(){
+        if(graph.getSource()==null){
+            message = "Source must be present in the graph";
+            return false;
+        }
+
+        if(graph.getDestination()==null){
+            message = "Destination must be present in the graph";
+            return false;
+        }
+
+        if(graph.hasUnreachableNodes()){
+            message = "Graph contains unreachable nodes";
+            return false;
+        }
+
+        for (Edge edge : graph.getEdges()){
+            if (edge.getWeight() < 0){
+                message = "Delta-stepping needs non-negative weights";
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean evaluateTopology(){
+        if(source < 0 || source >= topology.getNodeCount()){
+            message = "Source must be present in the graph";
+            return false;
+        }
+
+        if(destination < 0 || destination >= topology.getNodeCount()){
+            message = "Destination must be present in the graph";
+            return false;
+        }
+
+        for (int arc = 0; arc < topology.getEdgeCount(); arc++){
+            if (topology.getWeight(arc) < 0){
+                message = "Delta-stepping needs non-negative weights";
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /*
+     * Bucket width, AUTO_DELTA (the default) derives it from the weights.
+     */
+    public void setDelta(int delta){
+        this.delta = delta;
+    }
+
+    /*
+     * Lets another thread follow the settled nodes and cancel the run.
+     */
+    public void setMonitor(RunMonitor monitor){
+        this.monitor = monitor;
+    }
+
+    public void run() throws IllegalStateException {
+        if(!safe) {
+            throw new IllegalStateException(message);
+        }
+
+        if(graph != null) {
+            topology = graph.getAdjacency();
+            source = graph.getSource().getIndex();
+            destination = graph.getDestination().getIndex();
+        }
+        int n = topology.getNodeCount();
+
+        usedDelta = delta > 0 ? delta : autoDelta();
+        splitArcs();
+
+        labels = new long[n];
+        Arrays.fill(labels, UNREACHED);
+        labels[source] = 0xffffffffL;
+
+        // cyclic buckets: live distances lie within [i * delta, i * delta + maxWeight]
+        int maxWeight = 0;
+        for (int arc = 0; arc < weights.length; arc++)
+            maxWeight = Math.max(maxWeight, weights[arc]);
+        int slots = maxWeight / usedDelta + 2;
+        IntList[] buckets = new IntList[slots];
+        for (int b = 0; b < slots; b++)
+            buckets[b] = new IntList();
+        buckets[0].add(source);
+
+        int[] stamp = new int[n];
+        int stampValue = 0;
+        long[] settledIn = new long[n];
+        Arrays.fill(settledIn, -1);
+        List<IntList> requests = new ArrayList<>();
+        IntList frontier = new IntList();
+        IntList bucketSettled = new IntList();
+        settled = 0;
+
+        long bucket = 0;
+        int emptySlots = 0;
+        while (emptySlots < slots){
+            IntList slot = buckets[(int) (bucket % slots)];
+            if (slot.size == 0){
+                emptySlots++;
+                bucket++;
+                continue;
+            }
+            emptySlots = 0;
+            monitor.progress(settled, n);
+            if (OperationCounters.ENABLED)
+                counters.increment(BUCKETS);
+
+            // live entries of this bucket, duplicates and stale entries dropped
+            stampValue++;
+            frontier.clear();
+            for (int i = 0; i < slot.size; i++){
+                int node = slot.values[i];
+                if (stamp[node] != stampValue && distance(node) / usedDelta == bucket){
+                    stamp[node] = stampValue;
+                    frontier.add(node);
+                }
+            }
+            slot.clear();
+
+            bucketSettled.clear();
+            while (frontier.size > 0){
+                if (OperationCounters.ENABLED)
+                    counters.increment(PHASES);
+                for (int i = 0; i < frontier.size; i++){
+                    int node = frontier.values[i];
+                    if (settledIn[node] != bucket){
+                        settledIn[node] = bucket;
+                        bucketSettled.add(node);
+                    }
+                }
+                relaxAll(frontier, true, requests);
+
+                // improved nodes still in this bucket form the next phase
+                stampValue++;
+                frontier.clear();
+                for (IntList chunk : requests){
+                    for (int i = 0; i < chunk.size; i++){
+                        int node = chunk.values[i];
+                        long target = distance(node) / usedDelta;
+                        if (target == bucket){
+                            if (stamp[node] != stampValue){
+                                stamp[node] = stampValue;
+                                frontier.add(node);
+                            }
+                        } else {
+                            buckets[(int) (target % slots)].add(node);
+                        }
+                    }
+                }
+            }
+
+            relaxAll(bucketSettled, false, requests);
+            for (IntList chunk : requests){
+                for (int i = 0; i < chunk.size; i++){
+                    int node = chunk.values[i];
+                    buckets[(int) (distance(node) / usedDelta % slots)].add(node);
+                }
+            }
+            settled += bucketSettled.size;
+            bucket++;
+        }
+
+        if (OperationCounters.ENABLED)
+            counters.publish();
+        if (graph != null)
+            graph.setSolved(true);
+    }
+
+    /*
+     * Relaxes the light or the heavy arcs of the given nodes, chunks in
+     * parallel. requests gets one list per chunk with the nodes improved.
+     */
+    private void relaxAll(IntList nodes, boolean light, List<IntList> requests){
+        int chunks = (nodes.size + CHUNK - 1) / CHUNK;
+        while (requests.size() < chunks)
+            requests.add(new IntList());
+        for (int c = 0; c < requests.size(); c++)
+            requests.get(c).clear();
+        long[] relaxed = new long[chunks];
+        long[] improved = new long[chunks];
+
+        IntStream range = IntStream.range(0, chunks);
+        (chunks > 1 ? range.parallel() : range).forEach(c -> {
+            IntList out = requests.get(c);
+            int end = Math.min(nodes.size, (c + 1) * CHUNK);
+            for (int i = c * CHUNK; i < end; i++){
+                int u = nodes.values[i];
+                long du = distance(u);
+                int from = light ? first[u] : lightEnd[u];
+                int to = light ? lightEnd[u] : first[u + 1];
+                for (int arc = from; arc < to; arc++){
+                    if (OperationCounters.ENABLED)
+                        relaxed[c]++;
+                    long candidate = du + weights[arc];
+                    if (candidate < Integer.MAX_VALUE && lower(heads[arc], (int) candidate, u)){
+                        if (OperationCounters.ENABLED)
+                            improved[c]++;
+                        out.add(heads[arc]);
+                    }
+                }
+            }
+        });
+        monitor.checkCancelled();
+
+        if (OperationCounters.ENABLED){
+            for (int c = 0; c < chunks; c++){
+                counters.add(RELAXATIONS, relaxed[c]);
+                counters.add(IMPROVEMENTS, improved[c]);
+            }
+        }
+    }
+
+    /*
+     * Atomic min-update of the label of node, true if distance strictly dropped.
+     */
+    private boolean lower(int node, int distance, int predecessor){
+        long current = (long) LABELS.getVolatile(labels, node);
+        while (distance < (int) (current >>> 32)){
+            long label = (long) distance << 32 | (predecessor & 0xffffffffL);
+            if (LABELS.compareAndSet(labels, node, current, label))
+                return true;
+            current = (long) LABELS.getVolatile(labels, node);
+        }
+        return false;
+    }
+
+    private long distance(int node){
+        return (int) ((long) LABELS.getVolatile(labels, node) >>> 32);
+    }
+
+    private int autoDelta(){
+        int m = topology.getEdgeCount();
+        int n = topology.getNodeCount();
+        if (m == 0)
+            return 1;
+        int sampleSize = Math.min(m, WEIGHT_SAMPLE);
+        int[] sample = new int[sampleSize];
+        for (int i = 0; i < sampleSize; i++)
+            sample[i] = topology.getWeight((int) ((long) i * m / sampleSize));
+        Arrays.sort(sample);
+        double lightShare = Math.min(1.0, LIGHT_PER_NODE * n / m);
+        int index = (int) Math.min(sampleSize - 1, Math.floor(lightShare * sampleSize));
+        return Math.max(1, sample[index]);
+    }
+
+    /*
+     * Copies the arcs into per-node runs with the light ones first.
+     */
+    private void splitArcs(){
+        int n = topology.getNodeCount();
+        first = new int[n + 1];
+        lightEnd = new int[n];
+        heads = new int[topology.getEdgeCount()];
+        weights = new int[topology.getEdgeCount()];
+        for (int u = 0; u < n; u++)
+            first[u + 1] = first[u] + topology.end(u) - topology.begin(u);
+        IntStream.range(0, n).parallel().forEach(u -> {
+            int light = first[u], heavy = first[u + 1];
+            for (int arc = topology.begin(u); arc < topology.end(u); arc++){
+                int weight = topology.getWeight(arc);
+                int slot = weight <= usedDelta ? light++ : --heavy;
+                heads[slot] = topology.getTarget(arc);
+                weights[slot] = weight;
+            }
+            lightEnd[u] = light;
+        });
+    }
+
+    /*
+     * Growable int array; the lists are reused across buckets.
+     */
+    private static final class IntList {
+        int[] values = new int[16];
+        int size;
+
+        void add(int value){
+            if (size == values.length)
+                values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        void clear(){
+            size = 0;
+        }
+    }
+
+    /*
+     * Bucket width of the last run.
+     */
+    public int getDelta(){
+        return usedDelta;
+    }
+
+    /*
+     * Work counted during run(), all zero unless OperationCounters.ENABLED.
+     */
+    public OperationCounters getCounters(){
+        return counters;
+    }
+
+    /*
+     * Nodes reached from the source, each settled with its bucket.
+     */
+    public int getSettledCount(){
+        return settled;
+    }
+
+    public int getDistance(int node){
+        return (int) (labels[node] >>> 32);
+    }
+
+    public int getPredecessor(int node){
+        return (int) labels[node];
+    }
+
+    public Integer getDestinationDistance(){
+        return getDistance(destination);
+    }
+
+    public List<Node> getDestinationPath() {
+        List<Node> path = new ArrayList<>();
+        int current = destination;
+        path.add(graph.getNode(current));
+        while (current != source && getPredecessor(current) != -1){
+            current = getPredecessor(current);
+            path.add(graph.getNode(current));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    public String getDestinationPathAsString(){
+        StringBuilder path = new StringBuilder();
+        for (Node node : getDestinationPath()){
+            if (path.length() > 0)
+                path.append("->");
+            path.append(node);
+        }
+        return path.toString();
+    }
+}
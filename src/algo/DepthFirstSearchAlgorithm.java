@@ -1,21 +1,23 @@
 package algo;
 
-import models.Edge;
+import models.Adjacency;
 import models.Graph;
 import models.Node;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 public class DepthFirstSearchAlgorithm {
     private boolean safe = false;
     private String message = null;
+    private RunMonitor monitor = RunMonitor.NONE;
 
     private Graph graph;
-    private Map<Node, Node> predecessors;
-    private List<Node> marked;
+    private int[] predecessors;
+    private int[] marked;
+    private int[] nextArc;
+    private boolean[] discovered;
 
     private List<Node> traversedPath;
 
@@ -23,11 +25,16 @@ public class DepthFirstSearchAlgorithm {
 
     public DepthFirstSearchAlgorithm(Graph graph){
         this.graph = graph;
-        marked = new ArrayList<>();
-        predecessors = new HashMap<>();
+        int n = graph.getNodes().size();
+        marked = new int[n];
+        nextArc = new int[n];
+        predecessors = new int[n];
+        discovered = new boolean[n];
         traversedPath =  new ArrayList<>();
         traversedPathDistinct = new ArrayList<>();
 
+        Arrays.fill(predecessors, -1);
+
         safe = evaluate();
     }
 
@@ -37,73 +44,75 @@ public class DepthFirstSearchAlgorithm {
             return false;
         }
 
-        for(Node node : graph.getNodes()){
-            if(!graph.isNodeReachable(node)){
-                message = "Graph contains unreachable nodes";
-                return false;
-            }
+        if(graph.hasUnreachableNodes()){
+            message = "Graph contains unreachable nodes";
+            return false;
         }
 
         return true;
     }
 
-    private Node getAdjacent(Edge edge, Node node) {
-        if(edge.getNodeOne()!=node)
-            return null;
-
-        return node==edge.getNodeTwo()?edge.getNodeOne():edge.getNodeTwo();
-    }
-
-    private List<Edge> getNeighbors(Node node) {
-        List<Edge> neighbors = new ArrayList<>();
-
-        for(Edge edge : graph.getEdges()){
-            if(edge.getNodeOne()==node)
-                neighbors.add(edge);
-        }
-
-        return neighbors;
+    /*
+     * Lets another thread follow the progress of run() and cancel it.
+     */
+    public void setMonitor(RunMonitor monitor){
+        this.monitor = monitor;
     }
 
     public void run() throws IllegalStateException {
         if(!safe) {
             throw new IllegalStateException(message);
         }
-        marked = new ArrayList<>();
-        Node source = graph.getSource();
-        marked.add(source);
-        traversedPathDistinct.add(source);
-
-        while (!marked.isEmpty()){
-
-            Node selectedNode = marked.get(marked.size()-1);
-
-            for (Edge neighbor : getNeighbors(selectedNode)) {
-                Node adjacent = getAdjacent(neighbor, selectedNode);
-                if (adjacent != null && !marked.contains(adjacent) && !traversedPath.contains(adjacent)){
-                    marked.add(adjacent);
-                    predecessors.put(adjacent, selectedNode);
-                    traversedPath.add(selectedNode);
-                    traversedPath.add(adjacent);
-                    traversedPathDistinct.add(adjacent);
-                    break;
-                }
-            }if (!isNodeAdmissible(selectedNode)){
-                marked.remove(selectedNode);
+        Adjacency adjacency = graph.getAdjacency();
+        for (int node = 0; node < adjacency.getNodeCount(); node++)
+            nextArc[node] = adjacency.begin(node);
+
+        int source = graph.getSource().getIndex();
+        int top = 0;
+        marked[top++] = source;
+        discovered[source] = true;
+        traversedPathDistinct.add(adjacency.getNode(source));
+
+        while (top > 0){
+
+            int selectedNode = marked[top-1];
+
+            if (!isNodeAdmissible(adjacency, selectedNode)){
+                top--;
+                continue;
             }
+            int adjacent = adjacency.getTarget(nextArc[selectedNode]++);
+            if ((traversedPathDistinct.size() & 1023) == 0)
+                monitor.progress(traversedPathDistinct.size(), adjacency.getNodeCount());
+            discovered[adjacent] = true;
+            marked[top++] = adjacent;
+            predecessors[adjacent] = selectedNode;
+            traversedPath.add(adjacency.getNode(selectedNode));
+            traversedPath.add(adjacency.getNode(adjacent));
+            traversedPathDistinct.add(adjacency.getNode(adjacent));
         }
         graph.setSolved(true);
     }
 
+    /*
+     * Advances the arc cursor of the node past discovered neighbours,
+     * so every arc is inspected once over the whole search.
+     */
+    private boolean isNodeAdmissible(Adjacency adjacency, int node){
+        while (nextArc[node] < adjacency.end(node) && discovered[adjacency.getTarget(nextArc[node])])
+            nextArc[node]++;
+        return nextArc[node] < adjacency.end(node);
+    }
+
     public boolean isNodeAdmissible(Node node){
-        boolean flag = false;
-        for (Edge neighbor: getNeighbors(node)){
-            Node adjacent = getAdjacent(neighbor, node);
-            if (adjacent != null && !traversedPathDistinct.contains(adjacent)){
-                flag = true;
+        Adjacency adjacency = graph.getAdjacency();
+        int u = node.getIndex();
+        for (int arc = adjacency.begin(u); arc < adjacency.end(u); arc++){
+            if (!discovered[adjacency.getTarget(arc)]){
+                return true;
             }
         }
-        return flag;
+        return false;
     }
     public List<Node> getDestinationPath() {
         return traversedPath;
@@ -0,0 +1,94 @@
+package algo;
+
+import java.util.Arrays;
+
+/*
+ * Dial's bucket queue for non-negative integer keys not above maxWeight.
+ * - current is the last polled key, starting at 0
+ * - Queued keys always lie in [current, current + maxWeight], so maxWeight + 1
+ *   buckets used as a ring are enough: the key k lives in bucket k % (maxWeight + 1)
+ * - Buckets are doubly linked lists threaded through per-node next/prev arrays,
+ *   insert, decreaseKey and removal are O(1)
+ * - poll() advances the cursor over empty buckets, O(m + n * maxWeight) for a whole run
+ */
+public class DialQueue implements DistanceQueue {
+
+    private static final int NONE = -1;
+
+    private final int[] heads;
+    private final int[] next;
+    private final int[] previous;
+    private final int[] keys;
+    private final boolean[] queued;
+    private int size;
+    private int current;
+
+    public DialQueue(int capacity, int maxWeight){
+        heads = new int[maxWeight + 1];
+        next = new int[capacity];
+        previous = new int[capacity];
+        keys = new int[capacity];
+        queued = new boolean[capacity];
+        Arrays.fill(heads, NONE);
+    }
+
+    @Override
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(int node){
+        return queued[node];
+    }
+
+    @Override
+    public void insert(int node, int key){
+        keys[node] = key;
+        queued[node] = true;
+        link(node);
+        size++;
+    }
+
+    @Override
+    public void decreaseKey(int node, int key){
+        if (key >= keys[node])
+            return;
+        unlink(node);
+        keys[node] = key;
+        link(node);
+    }
+
+    @Override
+    public int poll(){
+        int bucket = current % heads.length;
+        while (heads[bucket] == NONE){
+            current++;
+            bucket = bucket + 1 == heads.length ? 0 : bucket + 1;
+        }
+        int node = heads[bucket];
+        unlink(node);
+        queued[node] = false;
+        size--;
+        return node;
+    }
+
+    private void link(int node){
+        int bucket = keys[node] % heads.length;
+        int head = heads[bucket];
+        next[node] = head;
+        previous[node] = NONE;
+        if (head != NONE)
+            previous[head] = node;
+        heads[bucket] = node;
+    }
+
+    private void unlink(int node){
+        if (previous[node] != NONE)
+            next[previous[node]] = next[node];
+        else
+            heads[keys[node] % heads.length] = next[node];
+        if (next[node] != NONE)
+            previous[next[node]] = previous[node];
+    }
+}
@@ -1,42 +1,90 @@
 package algo;
 
-import models.Edge;
 import models.Graph;
 import models.Node;
+import models.ReverseTopology;
+import models.Topology;
 
 import java.util.*;
 
 public class DijkstraAlgorithm {
     private boolean safe = false;
     private String message = null;
+    private RunMonitor monitor = RunMonitor.NONE;
 
-    private Graph graph;
-    private Map<Node, Node> predecessors;
-    private Map<Node, Integer> distances;
-
-    private PriorityQueue<Node> unvisited;
-    private HashSet<Node> visited;
+    private static final int PUSHES = 0, POPS = 1, RELAXATIONS = 2, DECREASE_KEYS = 3;
+    private final OperationCounters counters = new OperationCounters("Dijkstra's", "heap pushes", "heap pops",
+            "relaxations", "decrease keys");
 
-    public class NodeComparator implements Comparator<Node>  {
-        @Override
-        public int compare(Node node1, Node node2) {
-            return distances.get(node1) - distances.get(node2);
-        }
-    };
+    private Graph graph;
+    private Topology topology;
+    private int source;
+    private int destination;
+
+    private int[] predecessors;
+    private int[] distances;
+
+    /*
+     * Queue of the tentative distances:
+     * - HEAP: indexed 4-ary heap, works with any weights
+     * - DIAL: Dial's buckets, for non-negative weights up to DIAL_MAX_WEIGHT
+     * - RADIX: radix heap, for any non-negative weights
+     * AUTO picks DIAL or RADIX from the maximum weight C, and HEAP when a weight is negative.
+     */
+    public enum QueueType { AUTO, HEAP, DIAL, RADIX }
+
+    private static final int DIAL_MAX_WEIGHT = 1024;
+
+    private QueueType queueType = QueueType.AUTO;
+    private int maxWeight = -1;
+    private DistanceQueue unvisited;
+    private boolean[] visited;
+    private int settled;
+
+    /*
+     * Bidirectional mode: a second search runs backward from the destination over
+     * the incoming arcs, alternating with the forward one, until a node is settled
+     * by both. meetingDistance is the shortest source -> destination distance seen
+     * through a node labeled by both searches, meetingNode that node.
+     */
+    private boolean bidirectional;
+    private Topology reverse;
+    private DistanceQueue backwardUnvisited;
+    private int[] backwardDistances;
+    private int[] successors;
+    private boolean[] backwardVisited;
+    private int meetingDistance;
+    private int meetingNode;
 
     public DijkstraAlgorithm(Graph graph){
         this.graph = graph;
-        predecessors = new HashMap<>();
-        distances = new HashMap<>();
-
-        for(Node node : graph.getNodes()){
-            distances.put(node, Integer.MAX_VALUE);
-        }
-        visited = new HashSet<>();
+        init(graph.getNodes().size());
 
         safe = evaluate();
     }
 
+    /*
+     * Runs on a bare CSR topology (e.g. an OffHeapGraph) without Node objects.
+     * Results are read back by node index through getDistance(int) and getPredecessor(int).
+     */
+    public DijkstraAlgorithm(Topology topology, int source, int destination){
+        this.topology = topology;
+        this.source = source;
+        this.destination = destination;
+        init(topology.getNodeCount());
+
+        safe = evaluateTopology();
+    }
+
+    private void init(int n){
+        predecessors = new int[n];
+        distances = new int[n];
+
+        Arrays.fill(predecessors, -1);
+        Arrays.fill(distances, Integer.MAX_VALUE);
+        visited = new boolean[n];
+    }
+
     private boolean evaluate(){
         if(graph.getSource()==null){
             message = "Source must be present in the graph";
@@ -48,98 +96,284 @@ public class DijkstraAlgorithm {
             return false;
         }
 
-        for(Node node : graph.getNodes()){
-            if(!graph.isNodeReachable(node)){
-                message = "Graph contains unreachable nodes";
-                return false;
-            }
+        if(graph.hasUnreachableNodes()){
+            message = "Graph contains unreachable nodes";
+            return false;
         }
 
         return true;
     }
 
+    private boolean evaluateTopology(){
+        if(source < 0 || source >= topology.getNodeCount()){
+            message = "Source must be present in the graph";
+            return false;
+        }
+
+        if(destination < 0 || destination >= topology.getNodeCount()){
+            message = "Destination must be present in the graph";
+            return false;
+        }
+
+        return true;
+    }
+
+    /*
+     * Lets another thread follow the progress of run() and cancel it.
+     */
+    public void setMonitor(RunMonitor monitor){
+        this.monitor = monitor;
+    }
+
     public void run() throws IllegalStateException {
         if(!safe) {
             throw new IllegalStateException(message);
         }
 
-        unvisited = new PriorityQueue<>(graph.getNodes().size(), new NodeComparator());
+        if(graph != null) {
+            topology = graph.getAdjacency();
+            source = graph.getSource().getIndex();
+            destination = graph.getDestination().getIndex();
+        }
 
-        Node source = graph.getSource();
-        distances.put(source, 0);
-        visited.add(source);
+        unvisited = createQueue();
 
-        for (Edge neighbor : getNeighbors(source)){
-            Node adjacent = getAdjacent(neighbor, source);
-            if(adjacent==null)
-                continue;
+        distances[source] = 0;
+        visited[source] = true;
+        settled = 1;
 
-            distances.put(adjacent, neighbor.getWeight());
-            predecessors.put(adjacent, source);
-            unvisited.add(adjacent);
+        if (bidirectional) {
+            runBidirectional();
+        } else {
+            updateDistance(source);
+            while (!unvisited.isEmpty()){
+                settle(unvisited.poll());
+            }
         }
 
-        while (!unvisited.isEmpty()){
-            Node current = unvisited.poll();
+        if (OperationCounters.ENABLED)
+            counters.publish();
+        if(graph != null)
+            graph.setSolved(true);
+        
+    }
+
+    private void settle(int current){
+        if (OperationCounters.ENABLED)
+            counters.increment(POPS);
+
+        updateDistance(current);
 
-            updateDistance(current);
+        visited[current] = true;
+        if ((++settled & 1023) == 0)
+            monitor.progress(settled, topology.getNodeCount());
+    }
 
-            unvisited.remove(current);
-            visited.add(current);
+    /*
+     * Alternates one forward and one backward step. Once a node is settled in both
+     * directions no shorter path can meet anywhere else, the shortest path is the
+     * one through meetingNode. Its backward half is copied into predecessors and
+     * distances, so the destination path reads as in a forward run.
+     */
+    private void runBidirectional(){
+        int n = topology.getNodeCount();
+        reverse = graph != null ? graph.getReverseAdjacency() : new ReverseTopology(topology);
+        backwardUnvisited = createQueue();
+        backwardDistances = new int[n];
+        successors = new int[n];
+        backwardVisited = new boolean[n];
+        Arrays.fill(backwardDistances, Integer.MAX_VALUE);
+        Arrays.fill(successors, -1);
+        meetingDistance = Integer.MAX_VALUE;
+        meetingNode = -1;
+
+        // both searches start settled at the same node, they meet there at distance 0
+        if (source == destination){
+            backwardDistances[destination] = 0;
+            meetingDistance = 0;
+            meetingNode = source;
+            return;
         }
 
-        for(Node node : graph.getNodes()) {
-            node.setPath(getPath(node));
+        backwardDistances[destination] = 0;
+        backwardVisited[destination] = true;
+        settled++;
+        updateDistance(source);
+        updateBackwardDistance(destination);
+
+        while (!unvisited.isEmpty() && !backwardUnvisited.isEmpty()){
+            int current = unvisited.poll();
+            settle(current);
+            if (backwardVisited[current])
+                break;
+
+            current = backwardUnvisited.poll();
+            if (OperationCounters.ENABLED)
+                counters.increment(POPS);
+            updateBackwardDistance(current);
+            backwardVisited[current] = true;
+            if ((++settled & 1023) == 0)
+                monitor.progress(settled, n);
+            if (visited[current])
+                break;
         }
 
-        graph.setSolved(true);
-        
+        if (meetingNode < 0)
+            return;
+        for (int node = meetingNode; node != destination; node = successors[node]){
+            int next = successors[node];
+            predecessors[next] = node;
+            distances[next] = distances[node] + backwardDistances[node] - backwardDistances[next];
+        }
     }
 
-    private void updateDistance(Node node){
-        int distance = distances.get(node);
+    private void updateBackwardDistance(int node){
+        int distance = backwardDistances[node];
 
-        for (Edge neighbor : getNeighbors(node)){
-            Node adjacent = getAdjacent(neighbor, node);
-            if(visited.contains(adjacent))
+        for (int arc = reverse.begin(node); arc < reverse.end(node); arc++){
+            int adjacent = reverse.getTarget(arc);
+            if(backwardVisited[adjacent])
                 continue;
+            if (OperationCounters.ENABLED)
+                counters.increment(RELAXATIONS);
+
+            int new_dist = distance + reverse.getWeight(arc);
+            if(new_dist < backwardDistances[adjacent]) {
+                backwardDistances[adjacent] = new_dist;
+                successors[adjacent] = node;
+                if (backwardUnvisited.contains(adjacent)) {
+                    backwardUnvisited.decreaseKey(adjacent, new_dist);
+                    if (OperationCounters.ENABLED)
+                        counters.increment(DECREASE_KEYS);
+                } else {
+                    backwardUnvisited.insert(adjacent, new_dist);
+                    if (OperationCounters.ENABLED)
+                        counters.increment(PUSHES);
+                }
+                if (distances[adjacent] != Integer.MAX_VALUE)
+                    meet(adjacent);
+            }
+        }
+    }
 
-            int current_dist = distances.get(adjacent);
-            int new_dist = distance + neighbor.getWeight();
+    private void meet(int node){
+        long distance = (long) distances[node] + backwardDistances[node];
+        if (distance < meetingDistance){
+            meetingDistance = (int) distance;
+            meetingNode = node;
+        }
+    }
 
-            if(new_dist < current_dist) {
-                distances.put(adjacent, new_dist);
-                predecessors.put(adjacent, node);
-                unvisited.add(adjacent);
+    /*
+     * Searches from both ends in run(): settles far fewer nodes for one source and
+     * destination, but only the destination's distance and path are final then.
+     */
+    public void setBidirectional(boolean bidirectional){
+        this.bidirectional = bidirectional;
+    }
+
+    public boolean isBidirectional(){
+        return bidirectional;
+    }
+
+    /*
+     * Nodes settled by the last run, in both directions for a bidirectional run.
+     */
+    public int getSettledCount(){
+        return settled;
+    }
+
+    public void setQueueType(QueueType queueType){
+        this.queueType = queueType;
+    }
+
+    /*
+     * The requested queue, after run() the one that was actually used.
+     */
+    public QueueType getQueueType(){
+        return queueType;
+    }
+
+    private DistanceQueue createQueue(){
+        int n = topology.getNodeCount();
+        if (maxWeight < 0) {
+            int minWeight = 0;
+            maxWeight = 0;
+            for (int arc = topology.begin(0); n > 0 && arc < topology.end(n - 1); arc++){
+                minWeight = Math.min(minWeight, topology.getWeight(arc));
+                maxWeight = Math.max(maxWeight, topology.getWeight(arc));
             }
+            if (minWeight < 0)
+                queueType = QueueType.HEAP;
+            else if (queueType == QueueType.AUTO)
+                queueType = maxWeight <= DIAL_MAX_WEIGHT ? QueueType.DIAL : QueueType.RADIX;
+        }
+
+        switch (queueType){
+            case DIAL: return new DialQueue(n, maxWeight);
+            case RADIX: return new RadixHeap(n);
+            default: return new IndexedHeap(n);
         }
     }
 
-    private Node getAdjacent(Edge edge, Node node) {
-        if(edge.getNodeOne()!=node && edge.getNodeTwo()!=node)
-            return null;
+    /*
+     * Work counted during run(), all zero unless OperationCounters.ENABLED.
+     */
+    public OperationCounters getCounters(){
+        return counters;
+    }
 
-        return node==edge.getNodeTwo()?edge.getNodeOne():edge.getNodeTwo();
+    public void setNodePaths(){
+        for(Node node : graph.getNodes()) {
+            node.setPath(getPath(node));
+        }
     }
 
-    private List<Edge> getNeighbors(Node node) {
-        List<Edge> neighbors = new ArrayList<>();
+    private void updateDistance(int node){
+        int distance = distances[node];
 
-        for(Edge edge : graph.getEdges()){
-            //if(edge.getNodeOne()==node ||edge.getNodeTwo()==node)
-            if(edge.getNodeOne()==node)
-                neighbors.add(edge);
-        }
+        for (int arc = topology.begin(node); arc < topology.end(node); arc++){
+            int adjacent = topology.getTarget(arc);
+            if(visited[adjacent])
+                continue;
+            if (OperationCounters.ENABLED)
+                counters.increment(RELAXATIONS);
 
-        return neighbors;
+            int current_dist = distances[adjacent];
+            int new_dist = distance + topology.getWeight(arc);
+
+            if(new_dist < current_dist) {
+                distances[adjacent] = new_dist;
+                predecessors[adjacent] = node;
+                if (unvisited.contains(adjacent)) {
+                    unvisited.decreaseKey(adjacent, new_dist);
+                    if (OperationCounters.ENABLED)
+                        counters.increment(DECREASE_KEYS);
+                } else {
+                    unvisited.insert(adjacent, new_dist);
+                    if (OperationCounters.ENABLED)
+                        counters.increment(PUSHES);
+                }
+                if (bidirectional && backwardDistances[adjacent] != Integer.MAX_VALUE)
+                    meet(adjacent);
+            }
+        }
     }
 
     public Integer getDestinationDistance(){
-        return distances.get(graph.getDestination());
+        return distances[destination];
     }
 
     public Integer getDistance(Node node){
-        return distances.get(node);
+        return distances[node.getIndex()];
+    }
+
+    public int getDistance(int node){
+        return distances[node];
+    }
+
+    public int getPredecessor(int node){
+        return predecessors[node];
     }
 
     public List<Node> getDestinationPath() {
@@ -159,11 +393,11 @@ public class DijkstraAlgorithm {
     public List<Node> getPath(Node node){
         List<Node> path = new ArrayList<>();
 
-        Node current = node;
-        path.add(current);
-        while (current!=graph.getSource()){
-            current = predecessors.get(current);
-            path.add(current);
+        int current = node.getIndex();
+        path.add(node);
+        while (current!=source && predecessors[current]!=-1){
+            current = predecessors[current];
+            path.add(graph.getNode(current));
         }
 
         Collections.reverse(path);
@@ -0,0 +1,20 @@
+package algo;
+
+/*
+ * Priority queue of node indices keyed by tentative distance, as Dijkstra uses it:
+ * every node is queued at most once and keys only ever decrease while queued.
+ * Implemented by IndexedHeap for any weights and by the monotone bucket queues
+ * DialQueue and RadixHeap for non-negative integer weights.
+ */
+public interface DistanceQueue {
+
+    boolean isEmpty();
+
+    boolean contains(int node);
+
+    void insert(int node, int key);
+
+    void decreaseKey(int node, int key);
+
+    int poll();
+}
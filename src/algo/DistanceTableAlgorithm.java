@@ -0,0 +1,396 @@
+package algo;
+
+import models.Adjacency;
+import models.Graph;
+import models.Node;
+import models.Topology;
+
+import javax.swing.table.DefaultTableModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Shortest distances from a set of sources to a set of targets, one row per
+ * source and one column per target. Each row is a Dijkstra search from its
+ * source that stops as soon as every target is settled; the rows run in
+ * parallel on a ForkJoinPool. For |S|·|T| much smaller than n² this is far
+ * cheaper than FloydWarshallAlgorithm, which computes all n² distances.
+ * - UNREACHABLE where a target cannot be reached from the source
+ * - setPaths(true) also keeps the node sequence of every cell
+ */
+public class DistanceTableAlgorithm {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private boolean safe = false;
+    private String message = null;
+    private RunMonitor monitor = RunMonitor.NONE;
+
+    private Graph graph;
+    private Topology topology;
+    private int[] sources;
+    private int[] targets;
+
+    private boolean paths;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    private boolean[] isTarget;
+    private int distinctTargets;
+    private int[][] distances;
+    private int[][][] pathNodes;
+    private final AtomicInteger settled = new AtomicInteger();
+    private final AtomicInteger rowsDone = new AtomicInteger();
+
+    // scratch of the rows in progress, borrowed by a row and handed back when it is done
+    private final ConcurrentLinkedQueue<Search> searches = new ConcurrentLinkedQueue<>();
+
+    public DistanceTableAlgorithm(Graph graph, List<Node> sources, List<Node> targets){
+        this.graph = graph;
+        this.sources = indices(sources);
+        this.targets = indices(targets);
+        safe = evaluate();
+    }
+
+    /*
+     * Runs on a bare CSR topology, sources and targets given by node index.
+     */
+    public DistanceTableAlgorithm(Topology topology, int[] sources, int[] targets){
+        this.topology = topology;
+        this.sources = sources;
+        this.targets = targets;
+        safe = evaluate();
+    }
+
+    /*
+     * Nodes named by "all" or a comma separated list of node ids.
+     */
+    public static List<Node> selectNodes(Graph graph, String ids){
+        if (ids.trim().equalsIgnoreCase("all"))
+            return new ArrayList<>(graph.getNodes());
+        List<Node> nodes = new ArrayList<>();
+        for (String id : ids.split(",")){
+            if (id.trim().isEmpty())
+                continue;
+            int value = Integer.parseInt(id.trim());
+            Node found = null;
+            for (Node node : graph.getNodes()){
+                if (node.getId() == value)
+                    found = node;
+            }
+            if (found == null)
+                throw new IllegalArgumentException("There is no node with id " + value);
+            nodes.add(found);
+        }
+        return nodes;
+    }
+
+    private static int[] indices(List<Node> nodes){
+        int[] indices = new int[nodes.size()];
+        for (int i = 0; i < indices.length; i++)
+            indices[i] = nodes.get(i).getIndex();
+        return indices;
+    }
+
+    private boolean evaluate(){
+        if (sources.length == 0){
+            message = "At least one source node is needed";
+            return false;
+        }
+
+        if (targets.length == 0){
+            message = "At least one target node is needed";
+            return false;
+        }
+
+        Topology checked = graph != null ? graph.getAdjacency() : topology;
+        int n = checked.getNodeCount();
+        for (int node : sources){
+            if (node < 0 || node >= n){
+                message = "Source node " + node + " is not in the graph";
+                return false;
+            }
+        }
+        for (int node : targets){
+            if (node < 0 || node >= n){
+                message = "Target node " + node + " is not in the graph";
+                return false;
+            }
+        }
+
+        for (int arc = 0; arc < checked.getEdgeCount(); arc++){
+            if (checked.getWeight(arc) < 0){
+                message = "Distance tables need non-negative weights";
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /*
+     * Keeps the path of every cell, off by default: the table then only costs |S|·|T| ints.
+     */
+    public void setPaths(boolean paths){
+        this.paths = paths;
+    }
+
+    /*
+     * Pool running the rows, the common pool by default.
+     */
+    public void setPool(ForkJoinPool pool){
+        this.pool = pool;
+    }
+
+    /*
+     * Lets another thread follow the rows done and cancel the run.
+     */
+    public void setMonitor(RunMonitor monitor){
+        this.monitor = monitor;
+    }
+
+    public void run() throws IllegalStateException {
+        if(!safe) {
+            throw new IllegalStateException(message);
+        }
+
+        if (graph != null)
+            topology = graph.getAdjacency();
+        int n = topology.getNodeCount();
+
+        isTarget = new boolean[n];
+        distinctTargets = 0;
+        for (int target : targets){
+            if (!isTarget[target]){
+                isTarget[target] = true;
+                distinctTargets++;
+            }
+        }
+
+        distances = new int[sources.length][];
+        pathNodes = paths ? new int[sources.length][][] : null;
+        settled.set(0);
+        rowsDone.set(0);
+        try {
+            pool.invoke(new Rows(0, sources.length));
+        } finally {
+            searches.clear();
+        }
+
+        if (graph != null)
+            graph.setSolved(true);
+    }
+
+    /*
+     * Splits the source range in halves down to single rows.
+     */
+    private class Rows extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        Rows(int from, int to){
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute(){
+            if (to - from == 1){
+                Search search = searches.poll();
+                if (search == null)
+                    search = new Search();
+                search.row(from);
+                // a row that failed may leave its scratch dirty, only clean ones go back
+                searches.offer(search);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Rows(from, middle), new Rows(middle, to));
+        }
+    }
+
+    /*
+     * Scratch of one row at a time, reset through the list of touched nodes
+     * so a row costs the nodes it reaches rather than n. A run allocates at
+     * most one per row running concurrently and drops them all at the end.
+     */
+    private class Search {
+        private final int[] distance;
+        private final int[] predecessor;
+        private final boolean[] visited;
+        private final int[] touched;
+        private final IndexedHeap unvisited;
+        private int touchedCount;
+
+        Search(){
+            int n = topology.getNodeCount();
+            distance = new int[n];
+            predecessor = new int[n];
+            visited = new boolean[n];
+            touched = new int[n];
+            unvisited = new IndexedHeap(n);
+            Arrays.fill(distance, UNREACHABLE);
+            Arrays.fill(predecessor, -1);
+        }
+
+        void row(int row){
+            monitor.checkCancelled();
+            int source = sources[row];
+            distance[source] = 0;
+            touched[touchedCount++] = source;
+            unvisited.insert(source, 0);
+
+            int remaining = distinctTargets;
+            int count = 0;
+            while (!unvisited.isEmpty()){
+                int current = unvisited.poll();
+                visited[current] = true;
+                count++;
+                if (isTarget[current] && --remaining == 0)
+                    break;
+
+                for (int arc = topology.begin(current); arc < topology.end(current); arc++){
+                    int adjacent = topology.getTarget(arc);
+                    if (visited[adjacent])
+                        continue;
+                    int newDistance = distance[current] + topology.getWeight(arc);
+                    if (newDistance < distance[adjacent]){
+                        if (distance[adjacent] == UNREACHABLE)
+                            touched[touchedCount++] = adjacent;
+                        distance[adjacent] = newDistance;
+                        predecessor[adjacent] = current;
+                        if (unvisited.contains(adjacent))
+                            unvisited.decreaseKey(adjacent, newDistance);
+                        else
+                            unvisited.insert(adjacent, newDistance);
+                    }
+                }
+            }
+
+            int[] rowDistances = new int[targets.length];
+            int[][] rowPaths = paths ? new int[targets.length][] : null;
+            for (int column = 0; column < targets.length; column++){
+                int target = targets[column];
+                rowDistances[column] = distance[target];
+                if (paths)
+                    rowPaths[column] = distance[target] == UNREACHABLE ? null : path(source, target);
+            }
+            distances[row] = rowDistances;
+            if (paths)
+                pathNodes[row] = rowPaths;
+
+            unvisited.clear();
+            for (int i = 0; i < touchedCount; i++){
+                int node = touched[i];
+                distance[node] = UNREACHABLE;
+                predecessor[node] = -1;
+                visited[node] = false;
+            }
+            touchedCount = 0;
+
+            settled.addAndGet(count);
+            int done = rowsDone.incrementAndGet();
+            synchronized (monitor){
+                monitor.progress(done, sources.length);
+            }
+        }
+
+        private int[] path(int source, int target){
+            int length = 1;
+            for (int node = target; node != source; node = predecessor[node])
+                length++;
+            int[] nodes = new int[length];
+            for (int node = target, i = length - 1; i >= 0; node = predecessor[node], i--)
+                nodes[i] = node;
+            return nodes;
+        }
+    }
+
+    public int getSourceCount(){
+        return sources.length;
+    }
+
+    public int getTargetCount(){
+        return targets.length;
+    }
+
+    /*
+     * Node index of the source of a row.
+     */
+    public int getSource(int row){
+        return sources[row];
+    }
+
+    /*
+     * Node index of the target of a column.
+     */
+    public int getTarget(int column){
+        return targets[column];
+    }
+
+    /*
+     * Nodes settled by all rows together; a full Floyd-Warshall table is n² cells.
+     */
+    public int getSettledCount(){
+        return settled.get();
+    }
+
+    /*
+     * Distance from sources[row] to targets[column], UNREACHABLE if there is no path.
+     */
+    public int getDistance(int row, int column){
+        return distances[row][column];
+    }
+
+    /*
+     * Node indices from sources[row] to targets[column], null if there is no
+     * path. Only kept with setPaths(true).
+     */
+    public int[] getPathNodes(int row, int column){
+        if (pathNodes == null)
+            throw new IllegalStateException("Paths were not requested");
+        return pathNodes[row][column];
+    }
+
+    public List<Node> getPath(int row, int column){
+        List<Node> path = new ArrayList<>();
+        int[] nodes = getPathNodes(row, column);
+        if (nodes != null){
+            Adjacency adjacency = graph.getAdjacency();
+            for (int node : nodes)
+                path.add(adjacency.getNode(node));
+        }
+        return path;
+    }
+
+    /*
+     * The table in the layout of FloydWarshallAlgorithm.getDistanceMatrix(): the
+     * first column names the source, one column per target, "INF" where unreachable.
+     */
+    public DefaultTableModel getDistanceMatrix(){
+        String[] columnNames = new String[targets.length + 1];
+        columnNames[0] = "Node Name";
+        for (int column = 0; column < targets.length; column++)
+            columnNames[column + 1] = name(targets[column]);
+
+        DefaultTableModel model = new DefaultTableModel(new Object[sources.length][targets.length + 1], columnNames);
+        for (int row = 0; row < sources.length; row++){
+            model.setValueAt(name(sources[row]), row, 0);
+            for (int column = 0; column < targets.length; column++){
+                int distance = distances[row][column];
+                model.setValueAt(distance == UNREACHABLE ? "INF" : distance, row, column + 1);
+            }
+        }
+        return model;
+    }
+
+    private String name(int node){
+        return graph != null ? graph.getAdjacency().getNode(node).toString() : String.valueOf(node);
+    }
+}
@@ -1,112 +1,96 @@
 package algo;
 
-import gui.MainWindow;
-import models.Edge;
+import models.Adjacency;
 import models.Graph;
 import models.Node;
 
-import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.util.*;
 public class FloydWarshallAlgorithm {
 
     private boolean safe = false;
     private String message = null;
+    private RunMonitor monitor = RunMonitor.NONE;
 
     private Graph graph;
 
-    private MainWindow mainWindow;
-    private Map<Node, Node> predecessors;
-    private Map<Node, Integer> distances;
+    private int[][] predecessors;
+    private int[][] distances;
     private DefaultTableModel loggedTableModel;
 
     private int maxValue;
 
 
     private boolean evaluate(){
-        for(Node node : graph.getNodes()){
-            if(!graph.isNodeReachable(node)){
-                message = "Graph contains unreachable nodes";
-                return false;
-            }
+        if(graph.hasUnreachableNodes()){
+            message = "Graph contains unreachable nodes";
+            return false;
         }
 
         return true;
     }
-    public FloydWarshallAlgorithm(Graph graph, MainWindow mainWindow){
+    public FloydWarshallAlgorithm(Graph graph){
         this.graph = graph;
-        predecessors = new HashMap<>();
-        distances = new HashMap<>();
         this.maxValue = 50000;
         initializeNodeDistances();
-        this.mainWindow = mainWindow;
 
         safe = evaluate();
     }
-    private List<Edge> getNeighbors(Node node) {
-        List<Edge> neighbors = new ArrayList<>();
-
-        for(Edge edge : graph.getEdges()){
-            if(edge.getNodeOne()==node)
-                neighbors.add(edge);
-        }
-
-        return neighbors;
-    }
-    private Node getAdjacent(Edge edge, Node node) {
-        if(edge.getNodeOne()!=node && edge.getNodeTwo()!=node)
-            return null;
-
-        return node==edge.getNodeTwo()?edge.getNodeOne():edge.getNodeTwo();
-    }
     public void initializeNodeDistances(){
-        for(Node startNode : graph.getNodes()){
-            distances = new HashMap<>();
-            predecessors = new HashMap<>();
-            for(Node endNode : graph.getNodes()){
-                if (startNode.toString().equals(endNode.toString())){
-                    distances.put(endNode, 0);
-                }else if (getNeighbors(startNode).isEmpty()){
-                    distances.put(endNode, maxValue);
-                }else{
-                    for(Edge neighbor : getNeighbors(startNode)) {
-                        Node adjacent = getAdjacent(neighbor, startNode);
-                        if (adjacent != null && adjacent.toString().equals(endNode.toString())){
-                            distances.put(endNode, neighbor.getWeight());
-                            predecessors.put(endNode,startNode);
-                        } else if (!distances.containsKey(endNode)){
-                            distances.put(endNode, maxValue);
-                        }
-                    }
-                }
+        Adjacency adjacency = graph.getAdjacency();
+        int n = adjacency.getNodeCount();
+        distances = new int[n][n];
+        predecessors = new int[n][n];
+        for(int u = 0; u < n; u++){
+            Arrays.fill(distances[u], maxValue);
+            Arrays.fill(predecessors[u], -1);
+            for(int arc = adjacency.begin(u); arc < adjacency.end(u); arc++) {
+                int adjacent = adjacency.getTarget(arc);
+                if (adjacent == u)
+                    continue;
+                distances[u][adjacent] = adjacency.getWeight(arc);
+                predecessors[u][adjacent] = u;
             }
-            startNode.setDistancesToAllNodes(distances);
-            startNode.setPredecessorFW(predecessors);
+            distances[u][u] = 0;
         }
     }
 
+    /*
+     * Lets another thread follow the progress of run() and cancel it.
+     */
+    public void setMonitor(RunMonitor monitor){
+        this.monitor = monitor;
+    }
+
     public void run() throws IllegalStateException {
         if (!safe) {
             throw new IllegalStateException(message);
         }
 
-        for (Node k: graph.getNodes()){
-            Map<Node, Integer> distanceK = k.getDistancesToAllNodes();
-            Map<Node, Node> predecessorK = k.getPredecessorFW();
-            for (Node i: graph.getNodes()){
-                Map<Node, Integer> distanceI = i.getDistancesToAllNodes();
-                Map<Node, Node> predecessorI = i.getPredecessorFW();
-                for (Node j: graph.getNodes()){
-                    if((distanceI.get(j) > distanceI.get(k) + distanceK.get(j)) && (distanceI.get(k) + distanceK.get(j) > Integer.MIN_VALUE)){
-                        distanceI.put(j,distanceI.get(k) + distanceK.get(j));
-                        predecessorI.put(j,predecessorK.get(j));
+        int n = distances.length;
+        for (int k = 0; k < n; k++){
+            monitor.progress(k, n);
+            int[] distanceK = distances[k];
+            int[] predecessorK = predecessors[k];
+            for (int i = 0; i < n; i++){
+                int[] distanceI = distances[i];
+                int[] predecessorI = predecessors[i];
+                int distanceIK = distanceI[k];
+                for (int j = 0; j < n; j++){
+                    if((distanceI[j] > distanceIK + distanceK[j]) && (distanceIK + distanceK[j] > Integer.MIN_VALUE)){
+                        distanceI[j] = distanceIK + distanceK[j];
+                        predecessorI[j] = predecessorK[j];
                     }
                 }
             }
         }
         graph.setSolved(true);
     }
-    public void getDistanceMatrix(){
+    /*
+     * Distance matrix with a row per node, "INF" where no path exists.
+     * Also kept for the log, see getLoggedTableModel().
+     */
+    public DefaultTableModel getDistanceMatrix(){
         String[] columnNames = new String[graph.getNodes().size()+1];
         columnNames[0] = "Node Name";
         int index = 1;
@@ -120,14 +104,14 @@ public class FloydWarshallAlgorithm {
         int rowIndex = 0;
         for (Node node : graph.getNodes()){
             int columnIndex = 1;
-            Map<Node, Integer> nodeDistances = node.getDistancesToAllNodes();
+            int[] nodeDistances = distances[node.getIndex()];
             model.setValueAt(node.toString(), rowIndex, 0);
             for (Node nodeKey: graph.getNodes()){
-                int distance = nodeDistances.get(nodeKey);
+                int distance = nodeDistances[nodeKey.getIndex()];
                 if (distance > 10000){
                         model.setValueAt("INF", rowIndex, columnIndex);
                 }else{
-                    model.setValueAt(nodeDistances.get(nodeKey), rowIndex, columnIndex);
+                    model.setValueAt(distance, rowIndex, columnIndex);
                 }
                 columnIndex++;
             }
@@ -135,21 +119,14 @@ public class FloydWarshallAlgorithm {
         }
 
         loggedTableModel = model;
-
-        JTable table = new JTable(model);
-
-        JScrollPane scrollPane = new JScrollPane(table);
-
-        // Create a JPanel to hold the table
-        JPanel panel = new JPanel();
-        panel.add(scrollPane);
-
-        // Show the matrix in a JOptionPane message dialog
-        JOptionPane.showMessageDialog(mainWindow, panel,
-                "Shortest Path Distances From Each Node", JOptionPane.PLAIN_MESSAGE);
+        return model;
     }
     public Integer getDestinationDistance(){
-        return distances.get(graph.getDestination());
+        return distances[graph.getSource().getIndex()][graph.getDestination().getIndex()];
+    }
+
+    public int getDistance(Node sourceNode, Node destinationNode){
+        return distances[sourceNode.getIndex()][destinationNode.getIndex()];
     }
 
     public List<Node> getDestinationPath() {
@@ -161,11 +138,12 @@ public class FloydWarshallAlgorithm {
     public List<Node> getPath(Node sourceNode, Node destinationNode){
         List<Node> path = new ArrayList<>();
 
-        Node current = destinationNode;
-        path.add(current);
-        while (current!=graph.getSource()){
-            current = sourceNode.getPredecessorFW().get(current);
-            path.add(current);
+        int[] predecessorSource = predecessors[sourceNode.getIndex()];
+        int current = destinationNode.getIndex();
+        path.add(destinationNode);
+        while (current!=sourceNode.getIndex() && predecessorSource[current]!=-1){
+            current = predecessorSource[current];
+            path.add(graph.getNode(current));
         }
 
         Collections.reverse(path);
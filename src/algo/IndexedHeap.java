@@ -0,0 +1,132 @@
+package algo;
+
+import java.util.Arrays;
+
+/*
+ * Indexed 4-ary min-heap over node indices 0..n-1 with int keys.
+ * - Every node is in the heap at most once, positions[] finds it in O(1)
+ * - decreaseKey() moves a node up in place instead of adding a second entry
+ * - A 4-ary heap is half as deep as a binary one and its children share a cache line
+ * Keys and nodes are kept in parallel int arrays, nothing is boxed.
+ */
+public class IndexedHeap implements DistanceQueue {
+
+    private static final int ARITY = 4;
+
+    private final int[] heap;
+    private final int[] keys;
+    private final int[] positions;
+    private int size;
+
+    public IndexedHeap(int capacity){
+        heap = new int[capacity];
+        keys = new int[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    @Override
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    public int size(){
+        return size;
+    }
+
+    @Override
+    public boolean contains(int node){
+        return positions[node] >= 0;
+    }
+
+    public int getKey(int node){
+        return keys[node];
+    }
+
+    @Override
+    public void insert(int node, int key){
+        keys[node] = key;
+        heap[size] = node;
+        positions[node] = size;
+        siftUp(size++);
+    }
+
+    /*
+     * Lowers the key of a node in the heap; a larger key is ignored.
+     */
+    @Override
+    public void decreaseKey(int node, int key){
+        if (key >= keys[node])
+            return;
+        keys[node] = key;
+        siftUp(positions[node]);
+    }
+
+    /*
+     * Empties the heap in O(size), so one heap can serve many small searches.
+     */
+    public void clear(){
+        for (int i = 0; i < size; i++)
+            positions[heap[i]] = -1;
+        size = 0;
+    }
+
+    /*
+     * Removes and returns the node with the smallest key.
+     */
+    @Override
+    public int poll(){
+        int min = heap[0];
+        positions[min] = -1;
+        int last = heap[--size];
+        if (size > 0){
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    private void siftUp(int i){
+        int node = heap[i];
+        int key = keys[node];
+        while (i > 0){
+            int parent = (i - 1) / ARITY;
+            int parentNode = heap[parent];
+            if (keys[parentNode] <= key)
+                break;
+            heap[i] = parentNode;
+            positions[parentNode] = i;
+            i = parent;
+        }
+        heap[i] = node;
+        positions[node] = i;
+    }
+
+    private void siftDown(int i){
+        int node = heap[i];
+        int key = keys[node];
+        while (true){
+            int first = i * ARITY + 1;
+            if (first >= size)
+                break;
+            int last = Math.min(first + ARITY, size);
+            int child = first;
+            int childKey = keys[heap[first]];
+            for (int c = first + 1; c < last; c++){
+                int cKey = keys[heap[c]];
+                if (cKey < childKey){
+                    child = c;
+                    childKey = cKey;
+                }
+            }
+            if (childKey >= key)
+                break;
+            heap[i] = heap[child];
+            positions[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = node;
+        positions[node] = i;
+    }
+}
@@ -0,0 +1,233 @@
+package algo;
+
+import models.Adjacency;
+import models.Edge;
+import models.Graph;
+import models.LandmarkTable;
+import models.Node;
+
+import java.util.*;
+
+/*
+ * ALT search: A* from the source to the destination with landmark lower bounds
+ * as heuristic (see LandmarkTable). The table of the graph's current version is
+ * reused, whether computed by an earlier run or loaded from a .gag file; it is
+ * built with LandmarkBuilder otherwise and kept on the graph.
+ * - The bounds are consistent, keys never decrease and a RadixHeap serves as queue
+ * - Nodes the table proves unable to reach the destination are never queued
+ * Only the destination's distance and path are final.
+ */
+public class LandmarkAStarAlgorithm {
+
+    public static final int DEFAULT_LANDMARKS = 8;
+
+    private boolean safe = false;
+    private String message = null;
+    private RunMonitor monitor = RunMonitor.NONE;
+
+    private static final int PUSHES = 0, POPS = 1, RELAXATIONS = 2, DECREASE_KEYS = 3;
+    private final OperationCounters counters = new OperationCounters("ALT", "heap pushes", "heap pops",
+            "relaxations", "decrease keys");
+
+    private Graph graph;
+    private Adjacency adjacency;
+    private int source;
+    private int destination;
+
+    private int landmarkCount = 0;
+    private LandmarkBuilder.Strategy strategy = LandmarkBuilder.Strategy.AVOID;
+    private LandmarkTable landmarks;
+    private boolean built;
+
+    private int[] predecessors;
+    private int[] distances;
+    private int[] heuristic;
+    private boolean[] visited;
+    private int settled;
+
+    public LandmarkAStarAlgorithm(Graph graph){
+        this.graph = graph;
+        safe = evaluate();
+    }
+
+    private boolean evaluate(){
+        if(graph.getSource()==null){
+            message = "Source must be present in the graph";
+            return false;
+        }
+
+        if(graph.getDestination()==null){
+            message = "Destination must be present in the graph";
+            return false;
+        }
+
+        if(graph.hasUnreachableNodes()){
+            message = "Graph contains unreachable nodes";
+            return false;
+        }
+
+        for (Edge edge : graph.getEdges()){
+            if (edge.getWeight() < 0){
+                message = "Landmarks need non-negative weights";
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /*
+     * Number of landmarks; a stored table with another count is rebuilt. By
+     * default any stored table is used, DEFAULT_LANDMARKS when one is built.
+     */
+    public void setLandmarkCount(int landmarkCount){
+        this.landmarkCount = landmarkCount;
+    }
+
+    public void setStrategy(LandmarkBuilder.Strategy strategy){
+        this.strategy = strategy;
+    }
+
+    /*
+     * Lets another thread follow the landmark preprocessing and cancel it.
+     */
+    public void setMonitor(RunMonitor monitor){
+        this.monitor = monitor;
+    }
+
+    public void run() throws IllegalStateException {
+        if(!safe) {
+            throw new IllegalStateException(message);
+        }
+
+        adjacency = graph.getAdjacency();
+        source = graph.getSource().getIndex();
+        destination = graph.getDestination().getIndex();
+        int n = adjacency.getNodeCount();
+
+        landmarks = graph.getLandmarks();
+        built = landmarks == null || landmarkCount > 0 && landmarks.getLandmarkCount() != Math.min(landmarkCount, n);
+        if (built){
+            LandmarkBuilder builder = new LandmarkBuilder(adjacency, graph.getReverseAdjacency());
+            builder.setStrategy(strategy);
+            builder.setMonitor(monitor);
+            landmarks = builder.build(landmarkCount > 0 ? landmarkCount : DEFAULT_LANDMARKS);
+            graph.setLandmarks(landmarks);
+        }
+
+        predecessors = new int[n];
+        distances = new int[n];
+        heuristic = new int[n];
+        visited = new boolean[n];
+        Arrays.fill(predecessors, -1);
+        Arrays.fill(distances, Integer.MAX_VALUE);
+        Arrays.fill(heuristic, -1);
+
+        DistanceQueue unvisited = new RadixHeap(n);
+        distances[source] = 0;
+        settled = 0;
+        if (bound(source) != LandmarkTable.UNREACHABLE)
+            unvisited.insert(source, heuristic[source]);
+        while (!unvisited.isEmpty()){
+            int current = unvisited.poll();
+            visited[current] = true;
+            if (OperationCounters.ENABLED)
+                counters.increment(POPS);
+            if ((++settled & 1023) == 0)
+                monitor.progress(settled, n);
+            if (current == destination)
+                break;
+
+            for (int arc = adjacency.begin(current); arc < adjacency.end(current); arc++){
+                int adjacent = adjacency.getTarget(arc);
+                if (visited[adjacent] || bound(adjacent) == LandmarkTable.UNREACHABLE)
+                    continue;
+                if (OperationCounters.ENABLED)
+                    counters.increment(RELAXATIONS);
+
+                int newDistance = distances[current] + adjacency.getWeight(arc);
+                if (newDistance < distances[adjacent]){
+                    distances[adjacent] = newDistance;
+                    predecessors[adjacent] = current;
+                    int key = newDistance + heuristic[adjacent];
+                    if (unvisited.contains(adjacent)){
+                        unvisited.decreaseKey(adjacent, key);
+                        if (OperationCounters.ENABLED)
+                            counters.increment(DECREASE_KEYS);
+                    } else {
+                        unvisited.insert(adjacent, key);
+                        if (OperationCounters.ENABLED)
+                            counters.increment(PUSHES);
+                    }
+                }
+            }
+        }
+
+        if (OperationCounters.ENABLED)
+            counters.publish();
+        graph.setSolved(true);
+    }
+
+    /*
+     * Lower bound of a node, computed the first time the search reaches it.
+     */
+    private int bound(int node){
+        if (heuristic[node] < 0)
+            heuristic[node] = landmarks.lowerBound(node, destination);
+        return heuristic[node];
+    }
+
+    /*
+     * True if this run computed the landmark table, false if it reused the graph's.
+     */
+    public boolean isLandmarksBuilt(){
+        return built;
+    }
+
+    public List<Node> getLandmarks(){
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < landmarks.getLandmarkCount(); i++)
+            nodes.add(adjacency.getNode(landmarks.getLandmark(i)));
+        return nodes;
+    }
+
+    /*
+     * Work counted during run(), all zero unless OperationCounters.ENABLED.
+     */
+    public OperationCounters getCounters(){
+        return counters;
+    }
+
+    /*
+     * Nodes settled by the last run, the destination included.
+     */
+    public int getSettledCount(){
+        return settled;
+    }
+
+    public Integer getDestinationDistance(){
+        return distances[destination];
+    }
+
+    public List<Node> getDestinationPath() {
+        List<Node> path = new ArrayList<>();
+        int current = destination;
+        path.add(graph.getNode(current));
+        while (current != source && predecessors[current] != -1){
+            current = predecessors[current];
+            path.add(graph.getNode(current));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    public String getDestinationPathAsString(){
+        StringBuilder path = new StringBuilder();
+        for (Node node : getDestinationPath()){
+            if (path.length() > 0)
+                path.append("->");
+            path.append(node);
+        }
+        return path.toString();
+    }
+}
@@ -0,0 +1,215 @@
+package algo;
+
+import models.LandmarkTable;
+import models.ReverseTopology;
+import models.Topology;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/*
+ * Selects landmarks and computes their distance tables (see LandmarkTable).
+ * - FARTHEST: each landmark is the node farthest from the ones chosen so far
+ * - AVOID (Goldberg & Werneck): grows a shortest path tree from a random root,
+ *   weighs every node by how badly the current landmarks bound its distance
+ *   from the root, and takes a leaf of the heaviest subtree without a landmark
+ * Selection needs the distances from the landmarks chosen so far, so those
+ * Dijkstra runs are sequential; the runs towards the landmarks (on the reverse
+ * topology) do not feed the selection and all run in parallel afterwards.
+ */
+public class LandmarkBuilder {
+
+    public enum Strategy { FARTHEST, AVOID }
+
+    private final Topology topology;
+    private final Topology reverse;
+    private final int n;
+
+    private Strategy strategy = Strategy.AVOID;
+    private long seed = 1;
+    private RunMonitor monitor = RunMonitor.NONE;
+
+    public LandmarkBuilder(Topology topology, Topology reverse){
+        this.topology = topology;
+        this.reverse = reverse;
+        n = topology.getNodeCount();
+    }
+
+    public LandmarkBuilder(Topology topology){
+        this(topology, new ReverseTopology(topology));
+    }
+
+    public void setStrategy(Strategy strategy){
+        this.strategy = strategy;
+    }
+
+    /*
+     * Seed of the random roots, the same seed selects the same landmarks.
+     */
+    public void setSeed(long seed){
+        this.seed = seed;
+    }
+
+    public void setMonitor(RunMonitor monitor){
+        this.monitor = monitor;
+    }
+
+    /*
+     * Tables for min(count, node count) landmarks.
+     */
+    public LandmarkTable build(int count){
+        for (int arc = 0; arc < topology.getEdgeCount(); arc++){
+            if (topology.getWeight(arc) < 0)
+                throw new IllegalStateException("Landmarks need non-negative weights");
+        }
+        int k = Math.min(count, n);
+        int[] landmarks = new int[k];
+        int[][] from = new int[k][];
+        int[][] to = new int[k][];
+        boolean[] chosen = new boolean[n];
+        Random random = new Random(seed);
+
+        for (int i = 0; i < k; i++){
+            monitor.checkCancelled();
+            monitor.progress(i, 2L * k);
+            int landmark = strategy == Strategy.AVOID
+                    ? avoid(random.nextInt(n), from, i, chosen)
+                    : farthest(random.nextInt(n), from, i, chosen);
+            landmarks[i] = landmark;
+            chosen[landmark] = true;
+            from[i] = distances(topology, landmark);
+        }
+
+        monitor.progress(k, 2L * k);
+        IntStream.range(0, k).parallel().forEach(i -> to[i] = distances(reverse, landmarks[i]));
+        monitor.checkCancelled();
+        return new LandmarkTable(landmarks, from, to);
+    }
+
+    /*
+     * The first landmark is the node farthest from a random start, each further one
+     * maximizes the distance from its nearest landmark. Nodes no landmark reaches
+     * count as infinitely far, so unreached parts of the network are covered first.
+     */
+    private int farthest(int start, int[][] from, int chosenCount, boolean[] chosen){
+        int[] fromStart = chosenCount == 0 ? distances(topology, start) : null;
+        int best = -1;
+        long bestDistance = -1;
+        for (int v = 0; v < n; v++){
+            if (chosen[v])
+                continue;
+            long nearest = Long.MAX_VALUE;
+            if (chosenCount == 0){
+                nearest = fromStart[v] == LandmarkTable.UNREACHABLE ? -1 : fromStart[v];
+            } else {
+                for (int i = 0; i < chosenCount; i++)
+                    nearest = Math.min(nearest, from[i][v]);
+            }
+            if (nearest > bestDistance){
+                bestDistance = nearest;
+                best = v;
+            }
+        }
+        return best;
+    }
+
+    /*
+     * Shortest path tree from root; weight(v) = d(root, v) minus the current lower
+     * bound, size(v) = weight summed over the subtree, 0 if the subtree holds a
+     * landmark. From the heaviest node the heaviest child is followed to a leaf.
+     */
+    private int avoid(int root, int[][] from, int chosenCount, boolean[] chosen){
+        DijkstraAlgorithm tree = new DijkstraAlgorithm(topology, root, root);
+        tree.run();
+
+        int[] childStart = new int[n + 1];
+        for (int v = 0; v < n; v++){
+            int parent = tree.getPredecessor(v);
+            if (parent >= 0 && v != root)
+                childStart[parent + 1]++;
+        }
+        for (int v = 0; v < n; v++)
+            childStart[v + 1] += childStart[v];
+        int[] children = new int[childStart[n]];
+        int[] next = Arrays.copyOf(childStart, n);
+        for (int v = 0; v < n; v++){
+            int parent = tree.getPredecessor(v);
+            if (parent >= 0 && v != root)
+                children[next[parent]++] = v;
+        }
+
+        // post-order over the tree, parents after their children
+        int[] order = new int[n];
+        int ordered = 0;
+        int[] stack = new int[n];
+        int[] cursor = Arrays.copyOf(childStart, n);
+        int depth = 0;
+        stack[depth++] = root;
+        while (depth > 0){
+            int v = stack[depth - 1];
+            if (cursor[v] < childStart[v + 1]){
+                stack[depth++] = children[cursor[v]++];
+            } else {
+                order[ordered++] = v;
+                depth--;
+            }
+        }
+
+        long[] size = new long[n];
+        boolean[] covered = new boolean[n];
+        for (int i = 0; i < ordered; i++){
+            int v = order[i];
+            long weight = tree.getDistance(v) - lowerBound(from, chosenCount, root, v);
+            long sum = Math.max(0, weight);
+            boolean landmarkBelow = chosen[v];
+            for (int c = childStart[v]; c < childStart[v + 1]; c++){
+                sum += size[children[c]];
+                landmarkBelow |= covered[children[c]];
+            }
+            covered[v] = landmarkBelow;
+            size[v] = landmarkBelow ? 0 : sum;
+        }
+
+        int heaviest = -1;
+        for (int i = 0; i < ordered; i++){
+            int v = order[i];
+            if (size[v] > 0 && (heaviest < 0 || size[v] > size[heaviest]))
+                heaviest = v;
+        }
+        if (heaviest < 0)
+            return farthest(root, from, chosenCount, chosen);
+        int leaf = heaviest;
+        while (childStart[leaf] < childStart[leaf + 1]){
+            int child = children[childStart[leaf]];
+            for (int c = childStart[leaf] + 1; c < childStart[leaf + 1]; c++){
+                if (size[children[c]] > size[child])
+                    child = children[c];
+            }
+            leaf = child;
+        }
+        return leaf;
+    }
+
+    /*
+     * Lower bound on d(u, v) from the landmarks chosen so far. Only the rows from
+     * the landmarks exist yet, the rows towards them are computed at the end.
+     */
+    private static long lowerBound(int[][] from, int chosenCount, int u, int v){
+        long bound = 0;
+        for (int i = 0; i < chosenCount; i++){
+            if (from[i][u] != LandmarkTable.UNREACHABLE && from[i][v] != LandmarkTable.UNREACHABLE)
+                bound = Math.max(bound, (long) from[i][v] - from[i][u]);
+        }
+        return bound;
+    }
+
+    private static int[] distances(Topology topology, int source){
+        DijkstraAlgorithm dijkstra = new DijkstraAlgorithm(topology, source, source);
+        dijkstra.run();
+        int[] distances = new int[topology.getNodeCount()];
+        for (int v = 0; v < distances.length; v++)
+            distances[v] = dijkstra.getDistance(v);
+        return distances;
+    }
+}
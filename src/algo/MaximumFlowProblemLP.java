@@ -5,13 +5,13 @@ import models.Edge;
 import models.Graph;
 import models.Node;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.CancellationException;
 
 public class MaximumFlowProblemLP {
 
     private boolean safe = false;
     private String message = null;
+    private RunMonitor monitor = RunMonitor.NONE;
 
     private GRBModel model;
     private int status;
@@ -35,24 +35,31 @@ public class MaximumFlowProblemLP {
             return false;
         }
 
-        for(Node node : graph.getNodes()){
-            if(!graph.isNodeReachable(node)){
-                message = "Graph contains unreachable nodes";
-                return false;
-            }
+        if(graph.hasUnreachableNodes()){
+            message = "Graph contains unreachable nodes";
+            return false;
         }
 
         return true;
     }
 
+    /*
+     * Lets another thread follow the progress of run() and cancel it,
+     * also while Gurobi is optimizing.
+     */
+    public void setMonitor(RunMonitor monitor){
+        this.monitor = monitor;
+    }
+
     public void run() throws IllegalStateException {
         if(!safe) {
             throw new IllegalStateException(message);
         }
 
+        GRBEnv env = null;
         try {
             // Create a new Gurobi environment
-            GRBEnv env = new GRBEnv();
+            env = new GRBEnv();
             env.set("OutputFlag", "0");  // Suppress Gurobi output
 
             // Create a new Gurobi model
@@ -64,7 +71,7 @@ public class MaximumFlowProblemLP {
                 for (int j = 0; j < n; j++) {
                     if (i != j) {
                         if (isValidEdge(i,j))
-                            x[i][j] = model.addVar(0.0, getEdgeWeight(i,j), 0.0, GRB.CONTINUOUS, "x_" + (i+1) + "_" + (j+1));
+                            x[i][j] = model.addVar(0.0, getEdgeWeight(i,j), 0.0, GRB.CONTINUOUS, "x_" + graph.getNode(i).getId() + "_" + graph.getNode(j).getId());
                     }
                 }
             }
@@ -81,6 +88,7 @@ public class MaximumFlowProblemLP {
 
             // Add constraints
             for (int i = 0; i < n; i++) {
+                monitor.progress(i, n);
                 GRBLinExpr exprSource = new GRBLinExpr();
                 GRBLinExpr exprFlowBalance = new GRBLinExpr();
                 GRBLinExpr exprDest = new GRBLinExpr();
@@ -113,11 +121,19 @@ public class MaximumFlowProblemLP {
                 else if (isDestinationNode(i)) {
                     model.addConstr(exprDest, GRB.EQUAL, V , "FlowBalanceConstrDest");
                 } else
-                    model.addConstr(exprFlowBalance, GRB.EQUAL, 0, "FlowBalanceConstr_"+(i+1));
+                    model.addConstr(exprFlowBalance, GRB.EQUAL, 0, "FlowBalanceConstr_"+graph.getNode(i).getId());
             }
 
-            // Optimize the model
+            // Optimize the model, Gurobi calls back regularly so a cancelled run can abort it
+            model.setCallback(new GRBCallback() {
+                @Override
+                protected void callback() {
+                    if (monitor.isCancelled())
+                        abort();
+                }
+            });
             model.optimize();
+            monitor.checkCancelled();
 
             // Check the optimization status
             status = model.get(GRB.IntAttr.Status);
@@ -161,6 +177,14 @@ public class MaximumFlowProblemLP {
             model.dispose();
             env.dispose();
 
+        } catch (CancellationException e) {
+            if (model != null)
+                model.dispose();
+            try {
+                if (env != null)
+                    env.dispose();
+            } catch (GRBException ignored) {}
+            throw e;
         } catch (GRBException e) {
             String gurobiErrorMessage = "No valid gurobi license is found!";
             //e.printStackTrace();
@@ -171,58 +195,23 @@ public class MaximumFlowProblemLP {
         graph.setSolved(true);
     }
     public int getEdgeWeight(int indexOne, int indexTwo){
-        String nodeOne = "Node " + (indexOne + 1);
-        String nodeTwo = "Node " + (indexTwo + 1);
-
-        for(Edge edge : graph.getEdges()){
-            if (edge.getNodeOne().toString().equals(nodeOne) && edge.getNodeTwo().toString().equals(nodeTwo)){
-                return edge.getWeight();
-            }
-        }
-        return 0;
+        Edge edge = graph.findEdge(graph.getNode(indexOne), graph.getNode(indexTwo));
+        return edge == null ? 0 : edge.getWeight();
     }
 
     public boolean isValidEdge(int indexOne, int indexTwo){
-        boolean flag = false;
-        String nodeOne = "Node " + (indexOne + 1);
-        String nodeTwo = "Node " + (indexTwo + 1);
-
-        for(Edge edge : graph.getEdges()){
-            if (edge.getNodeOne().toString().equals(nodeOne) && edge.getNodeTwo().toString().equals(nodeTwo)){
-                flag = true;
-                break;
-            }
-        }
-        return flag;
+        return graph.findEdge(graph.getNode(indexOne), graph.getNode(indexTwo)) != null;
     }
 
     public boolean isNodeIncludedInEdges(int indexNode){
-        boolean flag = false;
-        String node = "Node " + (indexNode + 1);
-        for(Edge edge : graph.getEdges()){
-            if (edge.getNodeOne().toString().equals(node) || edge.getNodeTwo().toString().equals(node)){
-                flag = true;
-                break;
-            }
-        }
-        return flag;
+        return graph.isNodeReachable(graph.getNode(indexNode));
     }
 
     public boolean isSourceNode(int indexOne){
-        boolean flag = false;
-        String nodeOne = "Node " + (indexOne + 1);
-
-        if(graph.getSource().toString().equals(nodeOne))
-            flag = true;
-        return flag;
+        return graph.getSource().getIndex() == indexOne;
     }
     public boolean isDestinationNode(int indexOne){
-        boolean flag = false;
-        String nodeOne = "Node " + (indexOne + 1);
-
-        if(graph.getDestination().toString().equals(nodeOne))
-            flag = true;
-        return flag;
+        return graph.getDestination().getIndex() == indexOne;
     }
     public String getOptimizationResult(){
         return resultMessage;
@@ -0,0 +1,69 @@
+package algo;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * Work done by one algorithm run, e.g. heap pops, relaxations, pushes and relabels.
+ * - Counting is switched on with -Dgraphalgorithms.counters=true
+ * - ENABLED is a compile time constant for the JIT: the engines guard every count with
+ *   "if (OperationCounters.ENABLED)", so with counting off the guarded code is dropped
+ * - Counters are indexed by small int constants of the algorithm, in the order of the names
+ * Finished runs are published to AlgorithmMetrics, which JMX clients and the GUI read.
+ */
+public class OperationCounters {
+
+    public static final boolean ENABLED = Boolean.getBoolean("graphalgorithms.counters");
+
+    private final String algorithm;
+    private final String[] names;
+    private final long[] values;
+
+    public OperationCounters(String algorithm, String... names){
+        this.algorithm = algorithm;
+        this.names = names;
+        this.values = new long[names.length];
+    }
+
+    public void increment(int counter){
+        values[counter]++;
+    }
+
+    public void add(int counter, long amount){
+        values[counter] += amount;
+    }
+
+    public long get(int counter){
+        return values[counter];
+    }
+
+    public String getAlgorithm(){
+        return algorithm;
+    }
+
+    public Map<String, Long> asMap(){
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++){
+            map.put(names[i], values[i]);
+        }
+        return map;
+    }
+
+    /*
+     * Hands the counters of a finished run to AlgorithmMetrics.
+     */
+    public void publish(){
+        AlgorithmMetrics.getInstance().record(this);
+    }
+
+    @Override
+    public String toString(){
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < names.length; i++){
+            if (builder.length() > 0)
+                builder.append(", ");
+            builder.append(names[i]).append(": ").append(values[i]);
+        }
+        return builder.toString();
+    }
+}
@@ -5,29 +5,47 @@ import java.util.*;
 import models.Edge;
 import models.Graph;
 import models.Node;
+import models.Topology;
 public class PreFlowPushAlgorithm {
 
     private boolean safe = false;
     private String message = null;
+    private RunMonitor monitor = RunMonitor.NONE;
+
+    private static final int PUSHES = 0, RELABELS = 1, DISCHARGES = 2;
+    private final OperationCounters counters = new OperationCounters("PreFlow-Push", "pushes", "relabels", "discharges");
 
-    private Map<Node, Integer> distances;
     private Graph graph;
+    private Topology topology;
+    private int source;
+    private int destination;
+    private ResidualNetwork network;
+
+    private int[] distances;
+    private int[] excess;
+    private int[] currentArcs;
+
+    private int[] activeNodes;
+    private boolean[] queued;
+    private int activeHead;
+    private int activeCount;
 
     public PreFlowPushAlgorithm(Graph graph){
         this.graph = graph;
-        this.distances = new HashMap<>();
-        for (Edge edge: graph.getEdges()){
-            edge.setResidual(edge.getWeight());
-            if(!edge.isBackward())
-                edge.setFlow(0);
-        }
-        for (Node node: graph.getNodes()){
-            node.setExcess(0);
-            distances.put(node,0);
-        }
         safe = evaluate();
     }
 
+    /*
+     * Runs on a bare CSR topology (e.g. an OffHeapGraph) without Node/Edge objects,
+     * source and destination are node indices.
+     */
+    public PreFlowPushAlgorithm(Topology topology, int source, int destination){
+        this.topology = topology;
+        this.source = source;
+        this.destination = destination;
+        safe = evaluateTopology();
+    }
+
     private boolean evaluate(){
         if(graph.getSource()==null){
             message = "Source must be present in the graph";
@@ -39,177 +57,191 @@ public class PreFlowPushAlgorithm {
             return false;
         }
 
-        for(Node node : graph.getNodes()){
-            if(!graph.isNodeReachable(node)){
-                message = "Graph contains unreachable nodes";
-                return false;
-            }
+        if(graph.hasUnreachableNodes()){
+            message = "Graph contains unreachable nodes";
+            return false;
+        }
+
+        return true;
+    }
+
+    private boolean evaluateTopology(){
+        if(source < 0 || source >= topology.getNodeCount()){
+            message = "Source must be present in the graph";
+            return false;
+        }
+
+        if(destination < 0 || destination >= topology.getNodeCount() || destination == source){
+            message = "Destination must be present in the graph";
+            return false;
         }
 
         return true;
     }
+    /*
+     * Lets another thread follow the progress of run() and cancel it.
+     */
+    public void setMonitor(RunMonitor monitor){
+        this.monitor = monitor;
+    }
+
     public void run() throws IllegalStateException {
         if(!safe) {
             throw new IllegalStateException(message);
         }
-        Node source = graph.getSource();
+        if (graph != null){
+            source = graph.getSource().getIndex();
+            destination = graph.getDestination().getIndex();
+        }
+        network = graph != null ? new ResidualNetwork(graph) : new ResidualNetwork(topology);
+        int n = network.getNodeCount();
+        distances = new int[n];
+        excess = new int[n];
+        currentArcs = new int[n];
+        activeNodes = new int[n];
+        queued = new boolean[n];
+        activeHead = 0;
+        activeCount = 0;
+        for (int u = 0; u < n; u++){
+            currentArcs[u] = network.begin(u);
+        }
+
         preprocess(source);
+        long discharges = 0;
         // While there are active nodes, push or relabel
-        Node activeNode = getActiveNode();
-        while (activeNode != null) {
-            if (!push(activeNode)) {
-                relabel(activeNode);
-            }
-            activeNode = getActiveNode();
+        while (activeCount > 0) {
+            if ((++discharges & 1023) == 0)
+                monitor.progress(excess[destination], -excess[source]);
+            int u = activeNodes[activeHead];
+            activeHead = (activeHead + 1) % activeNodes.length;
+            activeCount--;
+            queued[u] = false;
+            discharge(u);
         }
-        graph.setSolved(true);
+        if (OperationCounters.ENABLED){
+            counters.add(DISCHARGES, discharges);
+            counters.publish();
+        }
+        if (graph != null)
+            graph.setSolved(true);
     }
-    private Node getAdjacent(Edge edge, Node node) {
-        if(edge.getNodeOne()!=node)
-            return null;
 
-        return node==edge.getNodeTwo()?edge.getNodeOne():edge.getNodeTwo();
+    /*
+     * Work counted during run(), all zero unless OperationCounters.ENABLED.
+     */
+    public OperationCounters getCounters(){
+        return counters;
     }
 
-    private List<Edge> getNeighbors(Node node) {
-        List<Edge> neighbors = new ArrayList<>();
-
-        for(Edge edge : graph.getEdges()){
-            if(edge.getNodeOne()==node)
-                neighbors.add(edge);
+    /*
+     * Discharge:
+     * - Pushes the excess of an active node along admissible arcs, starting at its current arc
+     * - Relabels the node once all of its arcs have been scanned
+     */
+    private void discharge(int u){
+        while (excess[u] > 0) {
+            if (currentArcs[u] == network.end(u)) {
+                if (!relabel(u))
+                    return;
+                currentArcs[u] = network.begin(u);
+            } else if (!push(u, currentArcs[u])) {
+                currentArcs[u]++;
+            }
         }
-
-        return neighbors;
     }
 
     /*
      * Push:
-     * - Push flow from node with excess flow to those below it
+     * - Push flow from node with excess flow to the node below it
      * - Decreases excess flow of pushing node
      * - Increases excess flow of pushed node
-     * - Increases flow along the edge connecting them
-     * - Updates (or creates) reverse edge along nodes
+     * - Decreases residual capacity of the arc and increases that of its reverse arc
      */
-    private boolean push(Node n) {
-        for (Edge e : getNeighbors(n)) {
-            if ((distances.get(n).equals(distances.get(e.getNodeTwo()) + 1)) && (e.getFlow() != e.getWeight())) {
-                int flow = Math.min(e.getWeight() - e.getFlow(), n.getExcess());
-                int excessFlowOne = n.getExcess();
-                excessFlowOne -= flow;
-                n.setExcess(excessFlowOne);
-                int excessFlowTwo = e.getNodeTwo().getExcess();
-                excessFlowTwo += flow;
-                e.getNodeTwo().setExcess(excessFlowTwo);
-                int flowEdge = e.getFlow();
-                flowEdge += flow;
-                e.setFlow(flowEdge);
-                updateReverseEdge(e, flow);
-                controlEdgeIsActive(e);
-                return true;
-            }
-        }
-        return false;
+    private boolean push(int u, int arc) {
+        int v = network.getHead(arc);
+        if (network.getResidual(arc) == 0 || distances[u] != distances[v] + 1)
+            return false;
+        int flow = Math.min(network.getResidual(arc), excess[u]);
+        network.push(arc, flow);
+        excess[u] -= flow;
+        excess[v] += flow;
+        activate(v);
+        if (OperationCounters.ENABLED)
+            counters.increment(PUSHES);
+        return true;
     }
     /*
      * Relabel:
-     * - Finds adjacent node with lower height
+     * - Finds adjacent node with lower height in the residual network
      * - Sets height of node to one greater than that
      */
-    private void relabel(Node n){
+    private boolean relabel(int u){
         int minDistance = Integer.MAX_VALUE;
-        for (Edge e: getNeighbors(n)){
-            if ((e.getFlow() != e.getWeight()) && (distances.get(e.getNodeTwo()) < minDistance)) {
-                minDistance = distances.get(e.getNodeTwo());
-                distances.put(n, minDistance + 1);
+        for (int arc = network.begin(u); arc < network.end(u); arc++){
+            if (network.getResidual(arc) > 0 && distances[network.getHead(arc)] < minDistance) {
+                minDistance = distances[network.getHead(arc)];
             }
         }
-    }
-    /*
-    else if (n.getExcess() > 0 && !activeEdgeFromNode(n)){
-                n.setExcess(0);
-            }
-     */
-    /*
-     * Active Node:
-     * - A node (excluding source and sink) with excess flow
-     */
-    private Node getActiveNode() {
-        for (Node node : graph.getNodes()){
-            if ((node.getExcess() > 0) && !node.equals(graph.getDestination()) && !node.equals(graph.getSource())){
-                return node;
-            }
-        }
-        return null;
+        if (minDistance == Integer.MAX_VALUE)
+            return false;
+        distances[u] = minDistance + 1;
+        if (OperationCounters.ENABLED)
+            counters.increment(RELABELS);
+        return true;
     }
     /*
      * Active Node:
      * - A node (excluding source and sink) with excess flow
+     * - Kept in a first in first out queue, each node at most once
      */
-    public void preprocess(Node source){
-        distances.put(source,graph.getNodes().size());
-
-        for(Edge edge: getNeighbors(source)){
-            edge.setFlow(edge.getWeight());
-            Node adjacent = getAdjacent(edge,source);
-            if (adjacent != null){
-                int adjacentExcess = adjacent.getExcess();
-                adjacentExcess += edge.getFlow();
-                adjacent.setExcess(adjacentExcess);
-                //adjacent.addEdge(source,-edge.getFlow(),0);
-                graph.addEdgePreFlow(adjacent.addEdge(source,-edge.getFlow(),0));
-            }
-        }
+    private void activate(int v){
+        if (queued[v] || excess[v] == 0 || v == source || v == destination)
+            return;
+        queued[v] = true;
+        activeNodes[(activeHead + activeCount) % activeNodes.length] = v;
+        activeCount++;
     }
     /*
-     * Reverse Edge
-     * - Used by the residual graph to allocate flow
-     * - Represented here by negative flow and zero capacity
+     * Preprocess:
+     * - Source is lifted to height n
+     * - Every arc leaving the source is saturated
      */
-    private void updateReverseEdge(Edge edge, int flow){
-        for(Edge e: getNeighbors(edge.getNodeTwo())){
-            if(e.getNodeTwo().equals(edge.getNodeOne())){
-                int edgeFlow = e.getFlow();
-                edgeFlow -= flow;
-                e.setFlow(edgeFlow);
-            }
+    private void preprocess(int source){
+        distances[source] = network.getNodeCount();
+        for(int arc = network.begin(source); arc < network.end(source); arc++){
+            int flow = network.getResidual(arc);
+            if (flow == 0)
+                continue;
+            int adjacent = network.getHead(arc);
+            network.push(arc, flow);
+            excess[source] -= flow;
+            excess[adjacent] += flow;
+            activate(adjacent);
         }
-        graph.addEdgePreFlow(edge.getNodeTwo().addEdge(edge.getNodeOne(),-flow,0));
-    }
-    private void controlEdgeIsActive(Edge edge){
-        if(edge.getWeight() == edge.getFlow())
-            edge.setActive(false);
-        else if (edge.isBackward() && Math.abs(edge.getFlow()) > 0 && edge.getWeight() == 0)
-            edge.setActive(false);
     }
-    public int getMaxFlow(Node destination){ return destination.getExcess();}
+    public int getMaxFlow(Node destination){ return excess[destination.getIndex()];}
+
+    public int getMaxFlow(){ return excess[destination];}
+
+    public int getFlow(Edge edge){ return network.getFlow(edge);}
 
     public String getEdgeFlowAsString(List<Edge> edges){
         String edgeFlows = "";
-        edges.sort(Comparator.comparing(Edge::toString));
-        for(Edge edge : edges){
-            if (edge.getFlow() >= 0){
-                String flow = edge.toString() + " :  (";
-                flow += edge.getFlow() + "/" + edge.getWeight() + ")";
-                if (edge.getFlow() == edge.getWeight()){
-                    flow += "   - Full";
-                }else if (!(edge.getFlow() == edge.getWeight()) && edge.getFlow() > 0){
-                    flow += "   - Partially used";
-                } else {
-                    flow += "   - Not used";
-                }
-                edgeFlows += flow + "\n";
+        List<Edge> sorted = new ArrayList<>(edges);
+        sorted.sort(Comparator.comparing(Edge::toString));
+        for(Edge edge : sorted){
+            int edgeFlow = network.getFlow(edge);
+            String flow = edge.toString() + " :  (";
+            flow += edgeFlow + "/" + edge.getWeight() + ")";
+            if (edgeFlow == edge.getWeight()){
+                flow += "   - Full";
+            }else if (edgeFlow > 0){
+                flow += "   - Partially used";
+            } else {
+                flow += "   - Not used";
             }
+            edgeFlows += flow + "\n";
         }
         return edgeFlows;
     }
-    public boolean activeEdgeFromNode(Node n){
-        boolean flag = false;
-        for (Edge edge : getNeighbors(n)){
-            if (edge.isActive()) {
-                flag = true;
-                break;
-            }
-        }
-        return flag;
-    }
 }
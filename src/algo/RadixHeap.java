@@ -0,0 +1,110 @@
+package algo;
+
+import java.util.Arrays;
+
+/*
+ * Radix heap, a monotone priority queue for non-negative int keys: no key below
+ * the last polled one is ever inserted, as in Dijkstra with non-negative weights.
+ * - Bucket 0 holds the keys equal to the last polled key, bucket i > 0 the keys
+ *   whose highest bit differing from it is bit i-1
+ * - poll() empties bucket 0 first; otherwise it takes the lowest non-empty bucket,
+ *   makes its minimum the new last key and redistributes it into lower buckets
+ * - Every node moves down at most 32 times, O(m + n log C) for a whole run
+ * Buckets are doubly linked lists over node indices, as in DialQueue.
+ */
+public class RadixHeap implements DistanceQueue {
+
+    private static final int NONE = -1;
+    private static final int BUCKETS = 33;
+
+    private final int[] heads = new int[BUCKETS];
+    private final int[] next;
+    private final int[] previous;
+    private final int[] keys;
+    private final int[] buckets;
+    private int size;
+    private int last;
+
+    public RadixHeap(int capacity){
+        next = new int[capacity];
+        previous = new int[capacity];
+        keys = new int[capacity];
+        buckets = new int[capacity];
+        Arrays.fill(heads, NONE);
+        Arrays.fill(buckets, NONE);
+    }
+
+    @Override
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(int node){
+        return buckets[node] != NONE;
+    }
+
+    @Override
+    public void insert(int node, int key){
+        keys[node] = key;
+        link(node, bucket(key));
+        size++;
+    }
+
+    @Override
+    public void decreaseKey(int node, int key){
+        if (key >= keys[node])
+            return;
+        unlink(node);
+        keys[node] = key;
+        link(node, bucket(key));
+    }
+
+    @Override
+    public int poll(){
+        if (heads[0] == NONE){
+            int i = 1;
+            while (heads[i] == NONE)
+                i++;
+            int min = Integer.MAX_VALUE;
+            for (int node = heads[i]; node != NONE; node = next[node])
+                min = Math.min(min, keys[node]);
+            last = min;
+            int node = heads[i];
+            heads[i] = NONE;
+            while (node != NONE){
+                int following = next[node];
+                link(node, bucket(keys[node]));
+                node = following;
+            }
+        }
+        int node = heads[0];
+        unlink(node);
+        buckets[node] = NONE;
+        size--;
+        return node;
+    }
+
+    private int bucket(int key){
+        return key == last ? 0 : 32 - Integer.numberOfLeadingZeros(key ^ last);
+    }
+
+    private void link(int node, int bucket){
+        int head = heads[bucket];
+        next[node] = head;
+        previous[node] = NONE;
+        if (head != NONE)
+            previous[head] = node;
+        heads[bucket] = node;
+        buckets[node] = bucket;
+    }
+
+    private void unlink(int node){
+        if (previous[node] != NONE)
+            next[previous[node]] = next[node];
+        else
+            heads[buckets[node]] = next[node];
+        if (next[node] != NONE)
+            previous[next[node]] = previous[node];
+    }
+}
@@ -0,0 +1,151 @@
+package algo;
+
+import models.Adjacency;
+import models.Edge;
+import models.Graph;
+import models.OffHeapGraph;
+import models.Topology;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/*
+ * Residual network of a graph, created fresh for every max-flow run.
+ * - Each edge u->v becomes a forward arc (capacity = weight) and a paired reverse arc v->u (capacity 0)
+ * - Arcs are grouped per tail node in CSR layout, residual capacities live in an int buffer
+ * - The Edge/Node model objects are only read, so several runs can share one graph
+ * Built from an OffHeapGraph, the arc buffers are allocated off the heap as well.
+ */
+public class ResidualNetwork {
+
+    private final Topology topology;
+    private final int nodeCount;
+    private final IntBuffer offsets;
+    private final IntBuffer heads;
+    private final IntBuffer residuals;
+    private final IntBuffer mates;
+    private int[] forwardArcs;
+
+    public ResidualNetwork(Graph graph){
+        this(graph.getAdjacency(), false, graph.getEdges().size());
+    }
+
+    public ResidualNetwork(Topology topology){
+        this(topology, topology instanceof OffHeapGraph, -1);
+    }
+
+    private ResidualNetwork(Topology topology, boolean offHeap, int edgeSlots){
+        this.topology = topology;
+        nodeCount = topology.getNodeCount();
+        int m = topology.getEdgeCount();
+        if (m > Integer.MAX_VALUE / 2)
+            throw new IllegalArgumentException("Too many arcs for a residual network: " + m);
+
+        offsets = allocate(nodeCount + 1, offHeap);
+        for (int u = 0; u < nodeCount; u++){
+            for (int arc = topology.begin(u); arc < topology.end(u); arc++){
+                int v = topology.getTarget(arc);
+                offsets.put(u + 1, offsets.get(u + 1) + 1);
+                offsets.put(v + 1, offsets.get(v + 1) + 1);
+            }
+        }
+        for (int u = 0; u < nodeCount; u++){
+            offsets.put(u + 1, offsets.get(u + 1) + offsets.get(u));
+        }
+
+        heads = allocate(2 * m, offHeap);
+        residuals = allocate(2 * m, offHeap);
+        mates = allocate(2 * m, offHeap);
+        if (edgeSlots >= 0){
+            forwardArcs = new int[edgeSlots];
+            Arrays.fill(forwardArcs, -1);
+        }
+
+        int[] position = new int[nodeCount];
+        for (int u = 0; u < nodeCount; u++){
+            position[u] = offsets.get(u);
+        }
+        for (int u = 0; u < nodeCount; u++){
+            for (int arc = topology.begin(u); arc < topology.end(u); arc++){
+                int v = topology.getTarget(arc);
+                int forward = position[u]++;
+                int backward = position[v]++;
+
+                heads.put(forward, v);
+                residuals.put(forward, topology.getWeight(arc));
+                mates.put(forward, backward);
+
+                heads.put(backward, u);
+                mates.put(backward, forward);
+
+                if (forwardArcs != null){
+                    int edgeIndex = ((Adjacency) topology).getEdge(arc).getIndex();
+                    if (edgeIndex >= 0 && edgeIndex < forwardArcs.length)
+                        forwardArcs[edgeIndex] = forward;
+                }
+            }
+        }
+    }
+
+    private static IntBuffer allocate(int size, boolean offHeap){
+        return offHeap ? OffHeapGraph.allocate(size) : IntBuffer.allocate(size);
+    }
+
+    public int getNodeCount(){
+        return nodeCount;
+    }
+
+    public int begin(int node){
+        return offsets.get(node);
+    }
+
+    public int end(int node){
+        return offsets.get(node + 1);
+    }
+
+    public int getHead(int arc){
+        return heads.get(arc);
+    }
+
+    public int getTail(int arc){
+        return heads.get(mates.get(arc));
+    }
+
+    public int getResidual(int arc){
+        return residuals.get(arc);
+    }
+
+    public int getMate(int arc){
+        return mates.get(arc);
+    }
+
+    public int getMaxCapacity(){
+        int max = 0;
+        for (int arc = 0; arc < topology.getEdgeCount(); arc++){
+            if (topology.getWeight(arc) > max)
+                max = topology.getWeight(arc);
+        }
+        return max;
+    }
+
+    /*
+     * Sends delta units along the arc: decreases its residual capacity and
+     * increases the residual capacity of the paired arc.
+     */
+    public void push(int arc, int delta){
+        int mate = mates.get(arc);
+        residuals.put(arc, residuals.get(arc) - delta);
+        residuals.put(mate, residuals.get(mate) + delta);
+    }
+
+    public int getResidual(Edge edge){
+        if (forwardArcs != null && (edge.getIndex() < 0 || edge.getIndex() >= forwardArcs.length))
+            throw new IllegalArgumentException("Edge " + edge + " is not in the network");
+        int arc = forwardArcs == null ? -1 : forwardArcs[edge.getIndex()];
+        return arc == -1 ? edge.getWeight() : residuals.get(arc);
+    }
+
+    public int getFlow(Edge edge){
+        return edge.getWeight() - getResidual(edge);
+    }
+}
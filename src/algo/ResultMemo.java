@@ -0,0 +1,148 @@
+package algo;
+
+import models.Graph;
+import models.Node;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/*
+ * Least recently used memo of finished algorithm runs.
+ * - Keyed on (algorithm, graph, graph version, layout version, source, destination)
+ * - Bounded by the estimated size of the stored results, not by their count
+ * - Results of older versions of a graph are dropped as soon as a newer one is stored
+ * - Each result keeps the seconds its run took, reported again when it is reused
+ */
+public class ResultMemo {
+
+    private final long capacityBytes;
+    private long usedBytes;
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    public ResultMemo(long capacityBytes){
+        this.capacityBytes = capacityBytes;
+    }
+
+    public ResultMemo(){
+        this(Runtime.getRuntime().maxMemory() / 16);
+    }
+
+    public synchronized <T> T get(String algorithm, Graph graph, Class<T> type){
+        Entry entry = entries.get(new Key(algorithm, graph));
+        if (entry == null || !type.isInstance(entry.result))
+            return null;
+        return type.cast(entry.result);
+    }
+
+    /*
+     * Seconds the run of a stored result took, NaN if there is none.
+     */
+    public synchronized double getElapsedSeconds(String algorithm, Graph graph){
+        Entry entry = entries.get(new Key(algorithm, graph));
+        return entry == null ? Double.NaN : entry.elapsedSeconds;
+    }
+
+    public synchronized void put(String algorithm, Graph graph, Object result, long estimatedBytes, double elapsedSeconds){
+        if (estimatedBytes > capacityBytes)
+            return;
+
+        Key key = new Key(algorithm, graph);
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()){
+            Map.Entry<Key, Entry> stored = iterator.next();
+            Key storedKey = stored.getKey();
+            if (storedKey.equals(key) || (storedKey.graph == graph
+                    && (storedKey.version < key.version || storedKey.layoutVersion < key.layoutVersion))){
+                usedBytes -= stored.getValue().bytes;
+                iterator.remove();
+            }
+        }
+
+        entries.put(key, new Entry(result, estimatedBytes, elapsedSeconds));
+        usedBytes += estimatedBytes;
+
+        iterator = entries.entrySet().iterator();
+        while (usedBytes > capacityBytes && iterator.hasNext()){
+            usedBytes -= iterator.next().getValue().bytes;
+            iterator.remove();
+        }
+    }
+
+    public synchronized void clear(){
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    public synchronized int size(){
+        return entries.size();
+    }
+
+    public synchronized long getUsedBytes(){
+        return usedBytes;
+    }
+
+    /*
+     * Size estimates for results holding a few values per node or per edge
+     * (shortest path trees, traversals, flows) and an n x n matrix (all pairs).
+     */
+    public static long linearSize(Graph graph){
+        return 64L * graph.getNodes().size() + 16L * graph.getEdges().size() + 256;
+    }
+
+    public static long quadraticSize(Graph graph){
+        long n = graph.getNodes().size();
+        return 8L * n * n + linearSize(graph);
+    }
+
+    private static int idOf(Node node){
+        return node == null ? -1 : node.getId();
+    }
+
+    private static final class Key {
+        private final String algorithm;
+        private final Graph graph;
+        private final long version;
+        private final long layoutVersion;
+        private final int source;
+        private final int destination;
+
+        private Key(String algorithm, Graph graph){
+            this.algorithm = algorithm;
+            this.graph = graph;
+            this.version = graph.getVersion();
+            this.layoutVersion = graph.getLayoutVersion();
+            this.source = idOf(graph.getSource());
+            this.destination = idOf(graph.getDestination());
+        }
+
+        @Override
+        public boolean equals(Object other){
+            if (!(other instanceof Key))
+                return false;
+            Key key = (Key) other;
+            return graph == key.graph && version == key.version && layoutVersion == key.layoutVersion
+                    && source == key.source
+                    && destination == key.destination && algorithm.equals(key.algorithm);
+        }
+
+        @Override
+        public int hashCode(){
+            return Objects.hash(algorithm, System.identityHashCode(graph), version, layoutVersion, source, destination);
+        }
+    }
+
+    private static final class Entry {
+        private final Object result;
+        private final long bytes;
+        private final double elapsedSeconds;
+
+        private Entry(Object result, long bytes, double elapsedSeconds){
+            this.result = result;
+            this.bytes = bytes;
+            this.elapsedSeconds = elapsedSeconds;
+        }
+    }
+}
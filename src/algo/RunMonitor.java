@@ -0,0 +1,53 @@
+package algo;
+
+import java.util.concurrent.CancellationException;
+import java.util.function.IntConsumer;
+
+/*
+ * Link between a running algorithm and the thread that watches it.
+ * - cancel() asks the run to stop, the algorithm checks it in its main loop and
+ *   leaves with a CancellationException
+ * - progress(done, total) reports how far the run got, as a percentage to the listener
+ * NONE is used when nobody watches the run: it is never cancelled and reports nothing.
+ */
+public class RunMonitor {
+
+    public static final RunMonitor NONE = new RunMonitor(null);
+
+    private final IntConsumer listener;
+    private volatile boolean cancelled;
+    private int percent = -1;
+
+    public RunMonitor(IntConsumer listener){
+        this.listener = listener;
+    }
+
+    public void cancel(){
+        if (this != NONE)
+            cancelled = true;
+    }
+
+    public boolean isCancelled(){
+        return cancelled;
+    }
+
+    public void checkCancelled(){
+        if (cancelled)
+            throw new CancellationException("Run cancelled");
+    }
+
+    /*
+     * Checks for cancellation and reports done/total. The listener is only
+     * called when the percentage changes, from the thread running the algorithm.
+     */
+    public void progress(long done, long total){
+        checkCancelled();
+        if (listener == null || total <= 0)
+            return;
+        int current = (int) Math.max(0, Math.min(100, done * 100 / total));
+        if (current != percent){
+            percent = current;
+            listener.accept(current);
+        }
+    }
+}
@@ -6,13 +6,13 @@ import models.Graph;
 import models.Node;
 
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.CancellationException;
 
 public class ShortestPathProblemLP {
 
     private boolean safe = false;
     private String message = null;
+    private RunMonitor monitor = RunMonitor.NONE;
 
     private GRBModel model;
     private int status;
@@ -23,13 +23,14 @@ public class ShortestPathProblemLP {
 
     private Graph graph;
 
-    Map<Node,Node> predecessors;
+    private int[] predecessors;
     private Map<String,Double> decisionVariables;
 
     public ShortestPathProblemLP(Graph graph){
         this.graph = graph;
         decisionVariables = new HashMap<>();
-        predecessors = new HashMap<>();
+        predecessors = new int[graph.getNodes().size()];
+        Arrays.fill(predecessors, -1);
 
         safe = evaluate();
     }
@@ -45,24 +46,31 @@ public class ShortestPathProblemLP {
             return false;
         }
 
-        for(Node node : graph.getNodes()){
-            if(!graph.isNodeReachable(node)){
-                message = "Graph contains unreachable nodes";
-                return false;
-            }
+        if(graph.hasUnreachableNodes()){
+            message = "Graph contains unreachable nodes";
+            return false;
         }
 
         return true;
     }
 
+    /*
+     * Lets another thread follow the progress of run() and cancel it,
+     * also while Gurobi is optimizing.
+     */
+    public void setMonitor(RunMonitor monitor){
+        this.monitor = monitor;
+    }
+
     public void run() throws IllegalStateException {
         if(!safe) {
             throw new IllegalStateException(message);
         }
 
+        GRBEnv env = null;
         try {
             // Create a new Gurobi environment
-            GRBEnv env = new GRBEnv();
+            env = new GRBEnv();
             env.set("OutputFlag", "0");  // Suppress Gurobi output
 
             // Create a new Gurobi model
@@ -74,7 +82,7 @@ public class ShortestPathProblemLP {
                 for (int j = 0; j < n; j++) {
                     if (i != j) {
                         if (isValidEdge(i,j))
-                            x[i][j] = model.addVar(0.0, GRB.INFINITY, 0.0, GRB.CONTINUOUS, "x_" + (i+1) + "_" + (j+1));
+                            x[i][j] = model.addVar(0.0, GRB.INFINITY, 0.0, GRB.CONTINUOUS, "x_" + graph.getNode(i).getId() + "_" + graph.getNode(j).getId());
                     }
                 }
             }
@@ -96,6 +104,7 @@ public class ShortestPathProblemLP {
 
             // Add constraints
             for (int i = 0; i < n; i++) {
+                monitor.progress(i, n);
                 GRBLinExpr exprSource = new GRBLinExpr();
                 GRBLinExpr exprFlowBalance = new GRBLinExpr();
                 for (int j = 0; j < n; j++) {
@@ -117,11 +126,19 @@ public class ShortestPathProblemLP {
                 if(isSourceNode(i))
                     model.addConstr(exprSource, GRB.EQUAL, -(n-1), "FlowBalanceConstrSource");
                 else
-                    model.addConstr(exprFlowBalance, GRB.EQUAL, 1, "FlowBalanceConstr_"+(i+1));
+                    model.addConstr(exprFlowBalance, GRB.EQUAL, 1, "FlowBalanceConstr_"+graph.getNode(i).getId());
             }
 
-            // Optimize the model
+            // Optimize the model, Gurobi calls back regularly so a cancelled run can abort it
+            model.setCallback(new GRBCallback() {
+                @Override
+                protected void callback() {
+                    if (monitor.isCancelled())
+                        abort();
+                }
+            });
             model.optimize();
+            monitor.checkCancelled();
 
             // Check the optimization status
             status = model.get(GRB.IntAttr.Status);
@@ -138,8 +155,7 @@ public class ShortestPathProblemLP {
                                 if (x[i][j].get(GRB.DoubleAttr.X) > 0) {
                                     dvResult += x[i][j].get(GRB.StringAttr.VarName) + " = " + x[i][j].get(GRB.DoubleAttr.X) + "\n";
                                     decisionVariables.put(x[i][j].get(GRB.StringAttr.VarName), x[i][j].get(GRB.DoubleAttr.X));
-                                    String[] parts = x[i][j].get(GRB.StringAttr.VarName).split("_");
-                                    predecessors.put(getNode(parts[2]),getNode(parts[1]));
+                                    predecessors[j] = i;
                                 }
                             }
                         }
@@ -170,6 +186,14 @@ public class ShortestPathProblemLP {
             model.dispose();
             env.dispose();
 
+        } catch (CancellationException e) {
+            if (model != null)
+                model.dispose();
+            try {
+                if (env != null)
+                    env.dispose();
+            } catch (GRBException ignored) {}
+            throw e;
         } catch (GRBException e) {
             String gurobiErrorMessage = "No valid gurobi license is found!";
             //e.printStackTrace();
@@ -182,50 +206,20 @@ public class ShortestPathProblemLP {
     }
 
     public int getEdgeWeight(int indexOne, int indexTwo){
-        String nodeOne = "Node " + (indexOne + 1);
-        String nodeTwo = "Node " + (indexTwo + 1);
-
-        for(Edge edge : graph.getEdges()){
-            if (edge.getNodeOne().toString().equals(nodeOne) && edge.getNodeTwo().toString().equals(nodeTwo)){
-                return edge.getWeight();
-            }
-        }
-        return 0;
+        Edge edge = graph.findEdge(graph.getNode(indexOne), graph.getNode(indexTwo));
+        return edge == null ? 0 : edge.getWeight();
     }
 
     public boolean isValidEdge(int indexOne, int indexTwo){
-        boolean flag = false;
-        String nodeOne = "Node " + (indexOne + 1);
-        String nodeTwo = "Node " + (indexTwo + 1);
-
-        for(Edge edge : graph.getEdges()){
-            if (edge.getNodeOne().toString().equals(nodeOne) && edge.getNodeTwo().toString().equals(nodeTwo)){
-                flag = true;
-                break;
-            }
-        }
-        return flag;
+        return graph.findEdge(graph.getNode(indexOne), graph.getNode(indexTwo)) != null;
     }
 
     public boolean isNodeIncludedInEdges(int indexNode){
-        boolean flag = false;
-        String node = "Node " + (indexNode + 1);
-        for(Edge edge : graph.getEdges()){
-            if (edge.getNodeOne().toString().equals(node) || edge.getNodeTwo().toString().equals(node)){
-                flag = true;
-                break;
-            }
-        }
-        return flag;
+        return graph.isNodeReachable(graph.getNode(indexNode));
     }
 
     public boolean isSourceNode(int indexOne){
-        boolean flag = false;
-        String nodeOne = "Node " + (indexOne + 1);
-
-        if(graph.getSource().toString().equals(nodeOne))
-            flag = true;
-        return flag;
+        return graph.getSource().getIndex() == indexOne;
     }
 
     public String getOptimizationResult() throws GRBException {
@@ -248,11 +242,12 @@ public class ShortestPathProblemLP {
     public List<Node> getPath(Node node){
         List<Node> path = new ArrayList<>();
 
-        Node current = node;
-        path.add(current);
-        while (current!=graph.getSource()){
-            current = predecessors.get(current);
-            path.add(current);
+        int source = graph.getSource().getIndex();
+        int current = node.getIndex();
+        path.add(node);
+        while (current!=source && predecessors[current]!=-1){
+            current = predecessors[current];
+            path.add(graph.getNode(current));
         }
 
         Collections.reverse(path);
@@ -260,21 +255,8 @@ public class ShortestPathProblemLP {
         return path;
     }
 
-    public Node getNode(String index){
-        String nodeName = "Node " + index;
-        for (Node node : graph.getNodes()){
-            if(node.toString().equals(nodeName)){
-                return node;
-            }
-        }
-        return null;
-    }
     public int getEdgeWeightInPath(Node one, Node two){
-        for (Edge edge : graph.getEdges()){
-            if (edge.getNodeOne().equals(one) && edge.getNodeTwo().equals(two))
-                return edge.getWeight();
-        }
-        return 0;
+        return getEdgeWeight(one.getIndex(), two.getIndex());
     }
     public int getDestinationDistance(){
         int distance = 0;
@@ -1,5 +1,6 @@
 package algo;
 
+import models.Adjacency;
 import models.Edge;
 import models.Graph;
 import models.Node;
@@ -11,16 +12,18 @@ public class TopologicalOrderingAlgorithm {
 
     private boolean safe = false;
     private String message = null;
+    private RunMonitor monitor = RunMonitor.NONE;
 
     private Graph graph;
-    private Map<Node, Node> predecessors;
-    private Map<Node, Integer> distances;
-    private Map<Node, Node> topologicalPredecessors;
-    private Map<Node, Integer> inDegree;
+    private int[] predecessors;
+    private int[] distances;
+    private int[] inDegree;
 
     private List<Node> topologicalOrder;
 
-    private PriorityQueue<Node> barrenNodes;
+    private int[] barrenNodes;
+    private int barrenHead;
+    private int barrenTail;
 
 
     private boolean done;
@@ -28,25 +31,18 @@ public class TopologicalOrderingAlgorithm {
     public TopologicalOrderingAlgorithm(Graph graph){
 
         this.graph = graph;
-        predecessors = new HashMap<>();
-        topologicalPredecessors = new HashMap<>();
-        distances = new HashMap<>();
-        inDegree = new HashMap<>();
+        int n = graph.getNodes().size();
+        predecessors = new int[n];
+        distances = new int[n];
+        inDegree = new int[n];
         topologicalOrder = new ArrayList<>();
 
-        for(Node node : graph.getNodes()){
-            distances.put(node, Integer.MAX_VALUE);
-        }
+        Arrays.fill(predecessors, -1);
+        Arrays.fill(distances, Integer.MAX_VALUE);
 
 
         safe = evaluate();
     }
-    public class NodeComparator implements Comparator<Node>  {
-        @Override
-        public int compare(Node node1, Node node2) {
-            return distances.get(node1) - distances.get(node2);
-        }
-    };
     private boolean evaluate(){
         if(graph.getSource()==null){
             message = "Source must be present in the graph";
@@ -58,79 +54,57 @@ public class TopologicalOrderingAlgorithm {
             return false;
         }
 
-        for(Node node : graph.getNodes()){
-            if(!graph.isNodeReachable(node)){
-                message = "Graph contains unreachable nodes";
-                return false;
-            }
+        if(graph.hasUnreachableNodes()){
+            message = "Graph contains unreachable nodes";
+            return false;
         }
         return true;
     }
-    private List<Edge> getNeighbors(Node node) {
-        List<Edge> neighbors = new ArrayList<>();
-
-        for(Edge edge : graph.getEdges()){
-            if(edge.getNodeOne()==node)
-                neighbors.add(edge);
-        }
-
-        return neighbors;
-    }
     private Edge getTopologicalNeighbor(Node startNode, Node endNode){
-        Edge resultEdge = new Edge(startNode,endNode);
-        for(Edge edge : graph.getEdges()){
-            if(edge.getNodeOne()==startNode && edge.getNodeTwo() == endNode)
-                resultEdge = edge;
-        }
-        return resultEdge;
-    }
-
-    private Node getAdjacent(Edge edge, Node node) {
-        if(edge.getNodeOne()!=node && edge.getNodeTwo()!=node)
-            return null;
-
-        return node==edge.getNodeTwo()?edge.getNodeOne():edge.getNodeTwo();
+        Edge resultEdge = graph.findEdge(startNode, endNode);
+        return resultEdge != null ? resultEdge : new Edge(startNode,endNode);
     }
 
     public void initializeAlgorithm(){
-        inDegree = new HashMap<>();
-        for (Node node : graph.getNodes())
-            inDegree.put(node, 0);
-
-        for (Node node : graph.getNodes()) {
-            for (Edge neighbor : getNeighbors(node)) {
-                Node adjacent = getAdjacent(neighbor, node);
-                inDegree.put(adjacent, inDegree.get(adjacent) + 1);
-            }
+        Adjacency adjacency = graph.getAdjacency();
+        barrenNodes = new int[adjacency.getNodeCount()];
+        barrenHead = 0;
+        barrenTail = 0;
+        for (int node = 0; node < adjacency.getNodeCount(); node++) {
+            inDegree[node] = graph.getInDegree(adjacency.getNode(node));
+            if (inDegree[node] == 0)
+                barrenNodes[barrenTail++] = node;
         }
-        for (Node node : graph.getNodes())
-            if (inDegree.get(node) == 0)
-                barrenNodes.add(node);
     }
 
 
     public List<Node> getTopologicalOrder() {
-        while (!barrenNodes.isEmpty()) {
-            Node node = barrenNodes.poll();
-            topologicalOrder.add(node);
-            for (Edge neighbor : getNeighbors(node)) {
-                Node adjacent = getAdjacent(neighbor, node);
-                int degree = inDegree.get(adjacent);
-                --degree;
-                if (degree == 0)
-                    barrenNodes.add(adjacent);
-                    topologicalPredecessors.put(adjacent,node);
-                inDegree.put(adjacent, degree);
+        Adjacency adjacency = graph.getAdjacency();
+        while (barrenHead < barrenTail) {
+            int node = barrenNodes[barrenHead++];
+            if ((barrenHead & 1023) == 0)
+                monitor.progress(barrenHead, 2L * adjacency.getNodeCount());
+            topologicalOrder.add(adjacency.getNode(node));
+            for (int arc = adjacency.begin(node); arc < adjacency.end(node); arc++) {
+                int adjacent = adjacency.getTarget(arc);
+                if (--inDegree[adjacent] == 0)
+                    barrenNodes[barrenTail++] = adjacent;
             }
         }
         return  topologicalOrder;
     }
 
+    /*
+     * Lets another thread follow the progress of run() and cancel it.
+     */
+    public void setMonitor(RunMonitor monitor){
+        this.monitor = monitor;
+    }
+
     public void run() throws IllegalStateException {
         if (!safe) {
             throw new IllegalStateException(message);
         }
-        barrenNodes = new PriorityQueue<>(graph.getNodes().size(), new NodeComparator());
         initializeAlgorithm();
         List<Node> topologicalOrder = getTopologicalOrder();
         if (topologicalOrder.size() != graph.getNodes().size()){
@@ -139,22 +113,28 @@ public class TopologicalOrderingAlgorithm {
             throw new IllegalStateException(warn);
         }
 
-        Node source = graph.getSource();
-        distances.put(source,0);
-
-        for (Node node: topologicalOrder){
-            for (Edge neighbor : getNeighbors(node)) {
-                Node adjacent = getAdjacent(neighbor, node);
-                if (distances.get(adjacent) > distances.get(node) + neighbor.getWeight()){
-                    distances.put(adjacent,distances.get(node) + neighbor.getWeight());
-                    predecessors.put(adjacent,node);
+        int source = graph.getSource().getIndex();
+        distances[source] = 0;
+
+        Adjacency adjacency = graph.getAdjacency();
+        for (int i = 0; i < barrenTail; i++){
+            int node = barrenNodes[i];
+            if ((i & 1023) == 0)
+                monitor.progress(barrenTail + i, 2L * barrenTail);
+            if (distances[node] == Integer.MAX_VALUE)
+                continue;
+            for (int arc = adjacency.begin(node); arc < adjacency.end(node); arc++) {
+                int adjacent = adjacency.getTarget(arc);
+                if (distances[adjacent] > distances[node] + adjacency.getWeight(arc)){
+                    distances[adjacent] = distances[node] + adjacency.getWeight(arc);
+                    predecessors[adjacent] = node;
                 }
             }
         }
         graph.setSolved(true);
     }
     public Integer getDestinationDistance(){
-        return distances.get(graph.getDestination());
+        return distances[graph.getDestination().getIndex()];
     }
 
     public List<Node> getDestinationPath() {
@@ -181,11 +161,12 @@ public class TopologicalOrderingAlgorithm {
     public List<Node> getPath(Node node){
         List<Node> path = new ArrayList<>();
 
-        Node current = node;
-        path.add(current);
-        while (current!=graph.getSource()){
-            current = predecessors.get(current);
-            path.add(current);
+        int source = graph.getSource().getIndex();
+        int current = node.getIndex();
+        path.add(node);
+        while (current!=source && predecessors[current]!=-1){
+            current = predecessors[current];
+            path.add(graph.getNode(current));
         }
 
         Collections.reverse(path);
@@ -193,4 +174,3 @@ public class TopologicalOrderingAlgorithm {
         return path;
     }
 }
-
@@ -0,0 +1,434 @@
+package cli;
+
+import algo.*;
+import gurobi.GRBException;
+import io.NetworkFiles;
+import models.Adjacency;
+import models.Graph;
+import models.Node;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+
+/*
+ * Runs one algorithm on a network file without the GUI:
+ *
+ *   java -cp <classes> cli.HeadlessRunner --input network.xlsx --algorithm dijkstra
+ *        [--source 1] [--destination 14] [--scale 0.5] [--landmarks 16] [--output result.txt]
+ *        [--sources 1,2,3] [--targets all] [--delta 100]
+ *
+ * - Reads every format of io.NetworkFiles (.gag, DIMACS, Excel, edge lists)
+ * - Source and destination are node ids, by default those stored in the file
+ * - --scale sets the A* heuristic in distance units per pixel, derived from the arcs by default
+ * - --landmarks sets the number of ALT landmarks, by default those stored in a .gag file (or 8)
+ * - --sources and --targets are the rows and columns of distance-table, "all" or comma separated
+ *   node ids; by default the source (or every node) against every node
+ * - --delta sets the bucket width of delta-stepping, derived from the weights by default
+ * - Results and load/run times are written as "key: value" lines to stdout or the output file
+ * - With -Dgraphalgorithms.counters=true the operation counters of the run are written too
+ * No Swing class is loaded and no AWT toolkit is started (models.Node only loads
+ * the java.awt.Point value class), so it runs on machines without a display.
+ * Exit code 0 on success, 1 for a wrong command line or unreadable file, 2 if the algorithm refuses the network.
+ */
+public class HeadlessRunner {
+
+    private static final String[][] ALGORITHMS = {
+            {"dijkstra", "Dijkstra's"},
+            {"bidirectional-dijkstra", "Bidirectional-Dijkstra"},
+            {"delta-stepping", "Delta-Stepping", "delta"},
+            {"astar", "A*-Search", "a*"},
+            {"contraction-hierarchy", "Contraction-Hierarchy", "ch"},
+            {"alt", "ALT-Search", "landmarks"},
+            {"bfs", "Bread-First-Search", "breadth-first-search"},
+            {"dfs", "Depth-First-Search"},
+            {"topological-ordering", "Topological-Ordering", "topological"},
+            {"bellman-ford", "Bellman-Ford"},
+            {"floyd-warshall", "Floyd-Warshall"},
+            {"distance-table", "Distance-Table", "many-to-many"},
+            {"shortestpath-lp", "ShortestPath-LP"},
+            {"augmenting-path", "Augmenting-Path"},
+            {"capacity-scaling", "Capacity-Scaling"},
+            {"preflow-push", "PreFlow-Push"},
+            {"maximumflow-lp", "MaximumFlow-LP"}
+    };
+
+    private String input;
+    private String algorithm;
+    private Integer sourceId;
+    private Integer destinationId;
+    private double scale = AStarAlgorithm.AUTO_SCALE;
+    private int landmarks = 0;
+    private String sourceIds;
+    private String targetIds = "all";
+    private int delta = DeltaSteppingAlgorithm.AUTO_DELTA;
+    private String output;
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        HeadlessRunner runner = new HeadlessRunner();
+        try {
+            runner.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(usage());
+            System.exit(1);
+        }
+        System.exit(runner.execute());
+    }
+
+    private void parse(String[] args){
+        for (int i = 0; i < args.length; i++){
+            switch (args[i]){
+                case "--input":
+                    input = value(args, ++i);
+                    break;
+                case "--algorithm":
+                    algorithm = canonicalName(value(args, ++i));
+                    break;
+                case "--source":
+                    sourceId = Integer.parseInt(value(args, ++i));
+                    break;
+                case "--destination":
+                    destinationId = Integer.parseInt(value(args, ++i));
+                    break;
+                case "--scale":
+                    scale = Double.parseDouble(value(args, ++i));
+                    break;
+                case "--landmarks":
+                    landmarks = Integer.parseInt(value(args, ++i));
+                    break;
+                case "--sources":
+                    sourceIds = value(args, ++i);
+                    break;
+                case "--targets":
+                    targetIds = value(args, ++i);
+                    break;
+                case "--delta":
+                    delta = Integer.parseInt(value(args, ++i));
+                    break;
+                case "--output":
+                    output = value(args, ++i);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (input == null || algorithm == null)
+            throw new IllegalArgumentException("--input and --algorithm are required");
+    }
+
+    private int execute(){
+        Graph graph = new Graph();
+        long startTime = System.nanoTime();
+        try {
+            NetworkFiles.readInto(Paths.get(input), graph);
+            if (sourceId != null)
+                graph.setSource(findNode(graph, sourceId));
+            if (destinationId != null)
+                graph.setDestination(findNode(graph, destinationId));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Cannot load " + input + ": " + e.getMessage());
+            return 1;
+        }
+        long loadTime = System.nanoTime() - startTime;
+
+        PrintStream out;
+        try {
+            out = output == null ? System.out
+                    : new PrintStream(new FileOutputStream(output), false, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+            return 1;
+        }
+        try {
+            out.println("input: " + Paths.get(input).toAbsolutePath());
+            out.println("algorithm: " + algorithm);
+            out.println("nodes: " + graph.getNodes().size());
+            out.println("edges: " + graph.getEdges().size());
+            out.println("source: " + graph.getSource());
+            out.println("destination: " + graph.getDestination());
+            out.println("load time (ms): " + millis(loadTime));
+            long runStart = System.nanoTime();
+            Object result = solve(graph);
+            out.println("run time (ms): " + millis(System.nanoTime() - runStart));
+            if (OperationCounters.ENABLED)
+                out.println("operation counters: " + AlgorithmMetrics.getInstance().getLastRunCounters());
+            report(result, graph, out);
+            return 0;
+        } catch (IllegalStateException | GRBException e) {
+            out.println("error: " + e.getMessage());
+            return 2;
+        } finally {
+            if (out == System.out)
+                out.flush();
+            else
+                out.close();
+        }
+    }
+
+    private Object solve(Graph graph) throws GRBException {
+        switch (algorithm){
+            case "dijkstra": {
+                DijkstraAlgorithm alg = new DijkstraAlgorithm(graph);
+                alg.run();
+                return alg;
+            }
+            case "bidirectional-dijkstra": {
+                DijkstraAlgorithm alg = new DijkstraAlgorithm(graph);
+                alg.setBidirectional(true);
+                alg.run();
+                return alg;
+            }
+            case "delta-stepping": {
+                DeltaSteppingAlgorithm alg = new DeltaSteppingAlgorithm(graph);
+                alg.setDelta(delta);
+                alg.run();
+                return alg;
+            }
+            case "astar": {
+                AStarAlgorithm alg = new AStarAlgorithm(graph);
+                alg.setScale(scale);
+                alg.run();
+                return alg;
+            }
+            case "contraction-hierarchy": {
+                ContractionHierarchyAlgorithm alg = new ContractionHierarchyAlgorithm(graph);
+                alg.run();
+                return alg;
+            }
+            case "alt": {
+                LandmarkAStarAlgorithm alg = new LandmarkAStarAlgorithm(graph);
+                alg.setLandmarkCount(landmarks);
+                alg.run();
+                return alg;
+            }
+            case "bfs": {
+                BreadthFirstSearchAlgorithm alg = new BreadthFirstSearchAlgorithm(graph);
+                alg.run();
+                return alg;
+            }
+            case "dfs": {
+                DepthFirstSearchAlgorithm alg = new DepthFirstSearchAlgorithm(graph);
+                alg.run();
+                return alg;
+            }
+            case "topological-ordering": {
+                TopologicalOrderingAlgorithm alg = new TopologicalOrderingAlgorithm(graph);
+                alg.run();
+                return alg;
+            }
+            case "bellman-ford": {
+                BellmanFordAlgorithm alg = new BellmanFordAlgorithm(graph);
+                alg.run();
+                return alg;
+            }
+            case "floyd-warshall": {
+                FloydWarshallAlgorithm alg = new FloydWarshallAlgorithm(graph);
+                alg.run();
+                return alg;
+            }
+            case "distance-table": {
+                List<Node> sources = sourceIds != null ? DistanceTableAlgorithm.selectNodes(graph, sourceIds)
+                        : graph.getSource() != null ? List.of(graph.getSource()) : graph.getNodes();
+                DistanceTableAlgorithm alg = new DistanceTableAlgorithm(graph, sources,
+                        DistanceTableAlgorithm.selectNodes(graph, targetIds));
+                alg.run();
+                return alg;
+            }
+            case "shortestpath-lp": {
+                ShortestPathProblemLP alg = new ShortestPathProblemLP(graph);
+                alg.run();
+                return alg;
+            }
+            case "augmenting-path": {
+                AugmentingPathAlgorithm alg = new AugmentingPathAlgorithm(graph);
+                alg.run();
+                return alg;
+            }
+            case "capacity-scaling": {
+                CapacityScalingAlgorithm alg = new CapacityScalingAlgorithm(graph);
+                alg.run();
+                return alg;
+            }
+            case "preflow-push": {
+                PreFlowPushAlgorithm alg = new PreFlowPushAlgorithm(graph);
+                alg.run();
+                return alg;
+            }
+            default: {
+                MaximumFlowProblemLP alg = new MaximumFlowProblemLP(graph);
+                alg.run();
+                return alg;
+            }
+        }
+    }
+
+    private void report(Object result, Graph graph, PrintStream out) throws GRBException {
+        boolean destination = graph.getDestination() != null;
+        if (result instanceof DijkstraAlgorithm) {
+            DijkstraAlgorithm alg = (DijkstraAlgorithm) result;
+            if (destination) {
+                out.println("shortest path: " + alg.getDestinationPathAsString());
+                out.println("total distance: " + alg.getDestinationDistance());
+            }
+            out.println("settled nodes: " + alg.getSettledCount());
+        } else if (result instanceof DeltaSteppingAlgorithm) {
+            DeltaSteppingAlgorithm alg = (DeltaSteppingAlgorithm) result;
+            out.println("shortest path: " + alg.getDestinationPathAsString());
+            out.println("total distance: " + alg.getDestinationDistance());
+            out.println("settled nodes: " + alg.getSettledCount());
+            out.println("delta: " + alg.getDelta());
+        } else if (result instanceof AStarAlgorithm) {
+            AStarAlgorithm alg = (AStarAlgorithm) result;
+            out.println("shortest path: " + alg.getDestinationPathAsString());
+            out.println("total distance: " + alg.getDestinationDistance());
+            out.println("settled nodes: " + alg.getSettledCount());
+            out.println("heuristic scale: " + (alg.isHeuristicUsed() ? String.valueOf(alg.getScale()) : "not admissible, plain Dijkstra"));
+        } else if (result instanceof ContractionHierarchyAlgorithm) {
+            ContractionHierarchyAlgorithm alg = (ContractionHierarchyAlgorithm) result;
+            out.println("shortest path: " + alg.getDestinationPathAsString());
+            out.println("total distance: " + alg.getDestinationDistance());
+            out.println("settled nodes: " + alg.getSettledCount());
+            out.println("shortcuts: " + alg.getShortcutCount());
+            out.println("preprocessing time (ms): " + String.format(Locale.ROOT, "%.3f", alg.getPreprocessingTime()));
+        } else if (result instanceof LandmarkAStarAlgorithm) {
+            LandmarkAStarAlgorithm alg = (LandmarkAStarAlgorithm) result;
+            out.println("shortest path: " + alg.getDestinationPathAsString());
+            out.println("total distance: " + alg.getDestinationDistance());
+            out.println("settled nodes: " + alg.getSettledCount());
+            out.println("landmarks: " + alg.getLandmarks() + (alg.isLandmarksBuilt() ? "" : " (stored)"));
+        } else if (result instanceof BreadthFirstSearchAlgorithm) {
+            out.println("traversed path: " + ((BreadthFirstSearchAlgorithm) result).getDestinationPathAsString());
+        } else if (result instanceof DepthFirstSearchAlgorithm) {
+            out.println("traversed path: " + ((DepthFirstSearchAlgorithm) result).getDestinationPathAsString());
+        } else if (result instanceof TopologicalOrderingAlgorithm) {
+            TopologicalOrderingAlgorithm alg = (TopologicalOrderingAlgorithm) result;
+            out.println("topological order: " + alg.getTopologicalOrderAsString());
+            if (destination) {
+                out.println("shortest path: " + alg.getDestinationPathAsString());
+                out.println("total distance: " + alg.getDestinationDistance());
+            }
+        } else if (result instanceof BellmanFordAlgorithm) {
+            BellmanFordAlgorithm alg = (BellmanFordAlgorithm) result;
+            if (destination) {
+                out.println("shortest path: " + alg.getDestinationPathAsString());
+                out.println("total distance: " + alg.getDestinationDistance());
+            }
+        } else if (result instanceof FloydWarshallAlgorithm) {
+            reportDistanceMatrix((FloydWarshallAlgorithm) result, graph, out);
+        } else if (result instanceof DistanceTableAlgorithm) {
+            reportDistanceTable((DistanceTableAlgorithm) result, graph, out);
+        } else if (result instanceof ShortestPathProblemLP) {
+            ShortestPathProblemLP alg = (ShortestPathProblemLP) result;
+            out.println("optimization result: " + alg.getOptimizationResult());
+            out.println("shortest path: " + alg.getDestinationPathAsString());
+            out.println("total distance: " + alg.getDestinationDistance());
+        } else if (result instanceof AugmentingPathAlgorithm) {
+            AugmentingPathAlgorithm alg = (AugmentingPathAlgorithm) result;
+            out.println("maximum flow: " + alg.getMaxFlow());
+            out.println("residual/original capacities: " + alg.getResidualCapacitiesAsString(graph.getEdges()));
+        } else if (result instanceof CapacityScalingAlgorithm) {
+            CapacityScalingAlgorithm alg = (CapacityScalingAlgorithm) result;
+            out.println("maximum flow: " + alg.getMaxFlow());
+            out.println("scaling phases: " + alg.getScalingPhasesAsString());
+            out.println("residual/original capacities: " + alg.getResidualCapacitiesAsString(graph.getEdges()));
+        } else if (result instanceof PreFlowPushAlgorithm) {
+            PreFlowPushAlgorithm alg = (PreFlowPushAlgorithm) result;
+            out.println("maximum flow: " + alg.getMaxFlow());
+            out.println("flow/capacity: " + alg.getEdgeFlowAsString(graph.getEdges()));
+        } else if (result instanceof MaximumFlowProblemLP) {
+            out.println("optimization result: " + ((MaximumFlowProblemLP) result).getOptimizationResult());
+        }
+    }
+
+    private static void reportDistanceMatrix(FloydWarshallAlgorithm alg, Graph graph, PrintStream out){
+        if (graph.getDestination() != null) {
+            out.println("shortest path: " + pathAsString(alg.getDestinationPath()));
+            out.println("total distance: " + alg.getDestinationDistance());
+        }
+        out.println("distance matrix:");
+        List<Node> nodes = graph.getNodes();
+        StringBuilder line = new StringBuilder();
+        for (Node from : nodes) {
+            line.setLength(0);
+            line.append(from);
+            for (Node to : nodes) {
+                int distance = alg.getDistance(from, to);
+                line.append('\t').append(distance > 10000 ? "INF" : String.valueOf(distance));
+            }
+            out.println(line);
+        }
+    }
+
+    private static void reportDistanceTable(DistanceTableAlgorithm alg, Graph graph, PrintStream out){
+        out.println("settled nodes: " + alg.getSettledCount());
+        out.println("distance table:");
+        Adjacency adjacency = graph.getAdjacency();
+        StringBuilder line = new StringBuilder();
+        for (int column = 0; column < alg.getTargetCount(); column++)
+            line.append('\t').append(adjacency.getNode(alg.getTarget(column)));
+        out.println(line);
+        for (int row = 0; row < alg.getSourceCount(); row++) {
+            line.setLength(0);
+            line.append(adjacency.getNode(alg.getSource(row)));
+            for (int column = 0; column < alg.getTargetCount(); column++) {
+                int distance = alg.getDistance(row, column);
+                line.append('\t').append(distance == DistanceTableAlgorithm.UNREACHABLE ? "INF" : String.valueOf(distance));
+            }
+            out.println(line);
+        }
+    }
+
+    private static String pathAsString(List<Node> path){
+        StringBuilder builder = new StringBuilder();
+        for (Node node : path) {
+            if (builder.length() > 0)
+                builder.append("->");
+            builder.append(node);
+        }
+        return builder.toString();
+    }
+
+    private static Node findNode(Graph graph, int id){
+        for (Node node : graph.getNodes()) {
+            if (node.getId() == id)
+                return node;
+        }
+        throw new IllegalArgumentException("There is no node with id " + id);
+    }
+
+    private static String canonicalName(String name){
+        for (String[] names : ALGORITHMS) {
+            for (String alias : names) {
+                if (alias.equalsIgnoreCase(name))
+                    return names[0];
+            }
+        }
+        throw new IllegalArgumentException("Unknown algorithm: " + name);
+    }
+
+    private static String value(String[] args, int i){
+        if (i >= args.length)
+            throw new IllegalArgumentException(args[i - 1] + " needs a value");
+        return args[i];
+    }
+
+    private static String millis(long nanos){
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+
+    private static String usage(){
+        StringBuilder usage = new StringBuilder("Usage: HeadlessRunner --input <file> --algorithm <name> "
+                + "[--source <id>] [--destination <id>] [--scale <distance per pixel>] [--landmarks <count>] "
+                + "[--sources <ids|all>] [--targets <ids|all>] [--delta <width>] [--output <file>]\nAlgorithms:");
+        for (String[] names : ALGORITHMS) {
+            usage.append(' ').append(names[0]);
+        }
+        return usage.toString();
+    }
+}
@@ -0,0 +1,113 @@
+package generator;
+
+import io.GraphFileWriter;
+import models.Edge;
+import models.Graph;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Command line front end of the NetworkGenerator, runs without a display:
+ *
+ *   java -cp <classes> generator.GenerateNetwork <family> <sizes...> [--seed n] [--weights min:max] [--out file]
+ *
+ * e.g. "grid 300 300 --seed 7 --weights 1:1000 --out grid.gag". The output is a
+ * binary network file (.gag) or, for .csv/.tsv/.txt, a From/To/Weight edge list.
+ */
+public class GenerateNetwork {
+
+    public static void main(String[] args) {
+        try {
+            run(args);
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println(e.getMessage());
+            System.err.println(usage());
+            System.exit(1);
+        }
+    }
+
+    static void run(String[] args) throws IOException {
+        if (args.length == 0)
+            throw new IllegalArgumentException("No network family given");
+        NetworkGenerator.Family family = parseFamily(args[0]);
+        List<Integer> sizes = new ArrayList<>();
+        long seed = 1;
+        int minWeight = 1;
+        int maxWeight = 100;
+        Path out = Paths.get(family.name().toLowerCase() + ".gag");
+
+        for (int i = 1; i < args.length; i++){
+            switch (args[i]){
+                case "--seed":
+                    seed = Long.parseLong(value(args, ++i));
+                    break;
+                case "--weights":
+                    String[] range = value(args, ++i).split(":");
+                    if (range.length != 2)
+                        throw new IllegalArgumentException("Weight range must look like min:max");
+                    minWeight = Integer.parseInt(range[0].trim());
+                    maxWeight = Integer.parseInt(range[1].trim());
+                    break;
+                case "--out":
+                    out = Paths.get(value(args, ++i));
+                    break;
+                default:
+                    sizes.add(Integer.parseInt(args[i]));
+            }
+        }
+
+        long startTime = System.nanoTime();
+        Graph graph = new NetworkGenerator(seed)
+                .setWeightRange(minWeight, maxWeight)
+                .generate(family, sizes.stream().mapToInt(Integer::intValue).toArray());
+        String name = out.getFileName().toString().toLowerCase();
+        if (name.endsWith(".csv") || name.endsWith(".tsv") || name.endsWith(".txt"))
+            writeEdgeList(graph, out, name.endsWith(".csv") ? "," : "\t");
+        else
+            new GraphFileWriter(graph).write(out);
+
+        System.out.println(family.getTitle() + ": " + graph.getNodes().size() + " nodes, "
+                + graph.getEdges().size() + " edges, seed " + seed + ", weights " + minWeight + ".." + maxWeight
+                + " -> " + out + " (" + (System.nanoTime() - startTime) / 1000000 + " ms)");
+    }
+
+    private static NetworkGenerator.Family parseFamily(String name){
+        for (NetworkGenerator.Family family : NetworkGenerator.Family.values()){
+            if (family.name().equalsIgnoreCase(name.replace('-', '_')))
+                return family;
+        }
+        throw new IllegalArgumentException("Unknown network family: " + name);
+    }
+
+    private static String value(String[] args, int i){
+        if (i >= args.length)
+            throw new IllegalArgumentException(args[i - 1] + " needs a value");
+        return args[i];
+    }
+
+    private static void writeEdgeList(Graph graph, Path path, String separator) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("From" + separator + "To" + separator + "Weight\n");
+            for (Edge edge : graph.getEdges()){
+                writer.write(edge.getNodeOne().getId() + separator + edge.getNodeTwo().getId()
+                        + separator + edge.getWeight() + "\n");
+            }
+        }
+    }
+
+    private static String usage(){
+        StringBuilder usage = new StringBuilder("Usage: GenerateNetwork <family> <sizes...> [--seed n] [--weights min:max] [--out file.gag|.csv]\nFamilies:");
+        for (NetworkGenerator.Family family : NetworkGenerator.Family.values()){
+            usage.append("\n  ").append(family.name().toLowerCase()).append(" <")
+                    .append(String.join("> <", family.getParameters())).append(">");
+        }
+        return usage.toString();
+    }
+}
@@ -0,0 +1,341 @@
+package generator;
+
+import models.Edge;
+import models.Graph;
+import models.Node;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/*
+ * Builds synthetic networks directly as Graph objects, for stress and scaling tests.
+ * - Every family draws its weights/capacities uniformly from [minWeight, maxWeight]
+ * - The same seed, weight range and sizes always produce the same network
+ * - Node 1 is the source, the destination is set where the family has a natural sink
+ * Arcs that would duplicate an existing edge in either direction are skipped,
+ * as the editor does, so dense requests can end up with fewer arcs.
+ */
+public class NetworkGenerator {
+
+    private static final int ORIGIN_X = 4200;
+    private static final int ORIGIN_Y = 100;
+    private static final int SPACING = 150;
+
+    public enum Family {
+        RANDOM("Random G(n,m)", "nodes", "edges"),
+        GRID("2-D Grid", "rows", "columns"),
+        RMAT("R-MAT", "scale", "edge factor"),
+        LAYERED_DAG("Layered DAG", "layers", "width", "degree"),
+        WASHINGTON("Washington RLG", "levels", "width", "degree"),
+        AK("AK", "k");
+
+        private final String title;
+        private final String[] parameters;
+
+        Family(String title, String... parameters){
+            this.title = title;
+            this.parameters = parameters;
+        }
+
+        public String getTitle(){
+            return title;
+        }
+
+        public String[] getParameters(){
+            return parameters.clone();
+        }
+
+        @Override
+        public String toString(){
+            return title;
+        }
+    }
+
+    private final long seed;
+    private int minWeight = 1;
+    private int maxWeight = 100;
+
+    private Random random;
+
+    public NetworkGenerator(long seed){
+        this.seed = seed;
+    }
+
+    public long getSeed(){
+        return seed;
+    }
+
+    public NetworkGenerator setWeightRange(int minWeight, int maxWeight){
+        if (minWeight > maxWeight)
+            throw new IllegalArgumentException("Weight range " + minWeight + ".." + maxWeight + " is empty");
+        this.minWeight = minWeight;
+        this.maxWeight = maxWeight;
+        return this;
+    }
+
+    public int getMinWeight(){
+        return minWeight;
+    }
+
+    public int getMaxWeight(){
+        return maxWeight;
+    }
+
+    /*
+     * Generates a member of the family, sizes in the order of Family.getParameters().
+     */
+    public Graph generate(Family family, int... sizes){
+        if (sizes.length != family.parameters.length)
+            throw new IllegalArgumentException(family.title + " expects " + family.parameters.length
+                    + " sizes: " + String.join(", ", family.parameters));
+        switch (family){
+            case RANDOM: return random(sizes[0], sizes[1]);
+            case GRID: return grid(sizes[0], sizes[1]);
+            case RMAT: return rmat(sizes[0], sizes[1]);
+            case LAYERED_DAG: return layeredDag(sizes[0], sizes[1], sizes[2]);
+            case WASHINGTON: return washington(sizes[0], sizes[1], sizes[2]);
+            default: return ak(sizes[0]);
+        }
+    }
+
+    /*
+     * Erdos-Renyi G(n,m): m arcs between uniformly chosen distinct nodes.
+     * Nodes without any arc are possible and make most algorithms refuse the graph.
+     */
+    public Graph random(int nodeCount, int edgeCount){
+        Graph graph = start(nodeCount, 2);
+        addNodes(graph, nodeCount);
+        long target = Math.min(edgeCount, (long) nodeCount * (nodeCount - 1) / 2);
+        for (long attempts = 0; graph.getEdges().size() < target && attempts < 8 * target; attempts++){
+            int one = random.nextInt(nodeCount);
+            int two = random.nextInt(nodeCount);
+            if (one != two)
+                addEdge(graph, one, two, nextWeight());
+        }
+        graph.setDestination(graph.getNode(nodeCount - 1));
+        return graph;
+    }
+
+    /*
+     * rows x columns grid, arcs point right and down, node coordinates follow the grid.
+     * Source is the top left corner, destination the bottom right one.
+     */
+    public Graph grid(int rows, int columns){
+        checkPositive(rows, "rows");
+        checkPositive(columns, "columns");
+        Graph graph = start((long) rows * columns, 2);
+        for (int r = 0; r < rows; r++){
+            for (int c = 0; c < columns; c++){
+                addNode(graph, c, r);
+            }
+        }
+        for (int r = 0; r < rows; r++){
+            for (int c = 0; c < columns; c++){
+                int node = r * columns + c;
+                if (c + 1 < columns)
+                    addEdge(graph, node, node + 1, nextWeight());
+                if (r + 1 < rows)
+                    addEdge(graph, node, node + columns, nextWeight());
+            }
+        }
+        graph.setDestination(graph.getNode(rows * columns - 1));
+        return graph;
+    }
+
+    /*
+     * R-MAT with 2^scale nodes and edgeFactor * 2^scale arc draws, quadrant
+     * probabilities 0.57/0.19/0.19/0.05 as in Graph500. Degrees follow a power law;
+     * self loops, repeated arcs and the nodes left without any arc are dropped.
+     */
+    public Graph rmat(int scale, int edgeFactor){
+        if (scale < 1 || scale > 30)
+            throw new IllegalArgumentException("R-MAT scale must be between 1 and 30");
+        checkPositive(edgeFactor, "edge factor");
+        int nodeCount = 1 << scale;
+        Graph graph = start(nodeCount, 2);
+        addNodes(graph, nodeCount);
+        long draws = (long) edgeFactor * nodeCount;
+        for (long i = 0; i < draws; i++){
+            int one = 0;
+            int two = 0;
+            for (int bit = scale - 1; bit >= 0; bit--){
+                double p = random.nextDouble();
+                if (p >= 0.57 && p < 0.76){
+                    two |= 1 << bit;
+                } else if (p >= 0.76 && p < 0.95){
+                    one |= 1 << bit;
+                } else if (p >= 0.95){
+                    one |= 1 << bit;
+                    two |= 1 << bit;
+                }
+            }
+            if (one != two)
+                addEdge(graph, one, two, nextWeight());
+        }
+        return dropIsolatedNodes(graph);
+    }
+
+    /*
+     * Acyclic network of layers x width nodes between a source and a sink.
+     * Every node has an arc from the previous layer and degree arcs into the next one.
+     */
+    public Graph layeredDag(int layers, int width, int degree){
+        return layered(layers, width, degree, false);
+    }
+
+    /*
+     * Random level graph of the Washington generator: like the layered DAG, but the
+     * source and sink arcs get a capacity no cut through them can reach, so the
+     * minimum cut lies inside the levels.
+     */
+    public Graph washington(int levels, int width, int degree){
+        return layered(levels, width, degree, true);
+    }
+
+    private Graph layered(int layers, int width, int degree, boolean flow){
+        checkPositive(layers, "layers");
+        checkPositive(width, "width");
+        checkPositive(degree, "degree");
+        Graph graph = start((long) layers * width + 2, 2);
+        int levelNodes = layers * width;
+        int sinkCapacity = (int) Math.min(Integer.MAX_VALUE, (long) width * degree * Math.max(1, maxWeight));
+
+        addNode(graph, -1, (width - 1) / 2);
+        for (int l = 0; l < layers; l++){
+            for (int w = 0; w < width; w++){
+                addNode(graph, l, w);
+            }
+        }
+        addNode(graph, layers, (width - 1) / 2);
+        int sink = levelNodes + 1;
+
+        for (int w = 0; w < width; w++){
+            addEdge(graph, 0, 1 + w, flow ? sinkCapacity : nextWeight());
+        }
+        for (int l = 0; l + 1 < layers; l++){
+            int from = 1 + l * width;
+            int to = from + width;
+            for (int w = 0; w < width; w++){
+                addEdge(graph, from + random.nextInt(width), to + w, nextWeight());
+            }
+            for (int w = 0; w < width; w++){
+                for (int d = 0; d < Math.min(degree, width); d++){
+                    addEdge(graph, from + w, to + random.nextInt(width), nextWeight());
+                }
+            }
+        }
+        for (int w = 0; w < width; w++){
+            addEdge(graph, 1 + (layers - 1) * width + w, sink, flow ? sinkCapacity : nextWeight());
+        }
+        graph.setDestination(graph.getNode(sink));
+        return graph;
+    }
+
+    /*
+     * Max-flow family in the spirit of the AK networks of Cherkassky and Goldberg,
+     * 3k+2 nodes and 4k+1 arcs, maximum flow k+1:
+     * - a path s -> a1 -> ... -> ak -> t whose last arc has capacity 1, so a
+     *   preflow push has to return almost all of its excess along the whole path
+     * - a ladder s -> b1 -> ... -> bk with unit rungs bi -> ci and c(i) -> c(i-1) -> ... -> c1 -> t,
+     *   every shortest augmenting path is longer than the previous one
+     * Capacities are structural, maxWeight only sets the large ones.
+     */
+    public Graph ak(int k){
+        checkPositive(k, "k");
+        Graph graph = start(3L * k + 2, 3);
+        int large = Math.max(maxWeight, k + 1);
+
+        addNode(graph, -1, 1);
+        for (int i = 0; i < k; i++){
+            addNode(graph, i, 0);
+        }
+        for (int i = 0; i < k; i++){
+            addNode(graph, i, 1);
+        }
+        for (int i = 0; i < k; i++){
+            addNode(graph, i, 2);
+        }
+        addNode(graph, k, 1);
+        int a = 1;
+        int b = 1 + k;
+        int c = 1 + 2 * k;
+        int sink = 1 + 3 * k;
+
+        addEdge(graph, 0, a, large);
+        for (int i = 0; i + 1 < k; i++){
+            addEdge(graph, a + i, a + i + 1, large);
+        }
+        addEdge(graph, a + k - 1, sink, 1);
+
+        addEdge(graph, 0, b, k);
+        for (int i = 0; i < k; i++){
+            if (i + 1 < k)
+                addEdge(graph, b + i, b + i + 1, large);
+            addEdge(graph, b + i, c + i, 1);
+            if (i > 0)
+                addEdge(graph, c + i, c + i - 1, large);
+        }
+        addEdge(graph, c, sink, k);
+
+        graph.setDestination(graph.getNode(sink));
+        return graph;
+    }
+
+    /*
+     * Renumbers the nodes that have arcs 1..n' and lays them out again; the
+     * last of them becomes the destination.
+     */
+    private static Graph dropIsolatedNodes(Graph graph){
+        List<Node> nodes = new ArrayList<>();
+        for (Node node : graph.getNodes()){
+            if (graph.isNodeReachable(node))
+                nodes.add(node);
+        }
+        int columns = Math.max(1, (int) Math.ceil(Math.sqrt(nodes.size())));
+        for (int u = 0; u < nodes.size(); u++){
+            nodes.get(u).setId(u + 1);
+            nodes.get(u).setCoord(ORIGIN_X + (u % columns) * SPACING, ORIGIN_Y + (u / columns) * SPACING);
+        }
+        Graph compact = new Graph();
+        compact.restore(nodes, new ArrayList<>(graph.getEdges()), nodes.isEmpty() ? null : nodes.get(0),
+                nodes.isEmpty() ? null : nodes.get(nodes.size() - 1), nodes.size() + 1);
+        return compact;
+    }
+
+    private Graph start(long nodeCount, int minimum){
+        if (nodeCount < minimum || nodeCount > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("Network must have between " + minimum + " and "
+                    + (Integer.MAX_VALUE - 8) + " nodes, not " + nodeCount);
+        random = new Random(seed);
+        return new Graph();
+    }
+
+    private static void checkPositive(int value, String name){
+        if (value < 1)
+            throw new IllegalArgumentException(name + " must be positive");
+    }
+
+    private int nextWeight(){
+        return minWeight + (int) (random.nextDouble() * ((long) maxWeight - minWeight + 1));
+    }
+
+    private void addNodes(Graph graph, int nodeCount){
+        int columns = Math.max(1, (int) Math.ceil(Math.sqrt(nodeCount)));
+        for (int u = 0; u < nodeCount; u++){
+            addNode(graph, u % columns, u / columns);
+        }
+    }
+
+    private static void addNode(Graph graph, int column, int row){
+        Node node = new Node();
+        node.setCoord(ORIGIN_X + column * SPACING, ORIGIN_Y + row * SPACING);
+        graph.addNode(node);
+    }
+
+    private static void addEdge(Graph graph, int one, int two, int weight){
+        Edge edge = new Edge(graph.getNode(one), graph.getNode(two));
+        edge.setWeight(weight);
+        graph.addEdge(edge);
+    }
+}
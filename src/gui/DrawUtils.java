@@ -119,8 +119,7 @@ public class DrawUtils {
     public void drawEdge(Edge edge) {
         g.setColor(parseColor("#555555"));
         drawBaseEdge(edge);
-        if(!edge.isBackward())
-            drawWeight(edge);
+        drawWeight(edge);
     }
     public void drawArrow(Graphics g1, Edge edge, int x1, int y1, int x2, int y2) {
         Graphics2D g = (Graphics2D) g1.create();
@@ -132,12 +131,10 @@ public class DrawUtils {
         at.concatenate(AffineTransform.getRotateInstance(angle));
         g.transform(at);
 
-        if (!edge.isBackward()){
-            // Draw horizontal arrow starting in (0, 0)
-            g.drawLine(0, 0, len, 0);
-            g.fillPolygon(new int[] {len, len-ARR_SIZE, len-ARR_SIZE, len},
-                    new int[] {0, -ARR_SIZE, ARR_SIZE, 0}, 4);
-        }
+        // Draw horizontal arrow starting in (0, 0)
+        g.drawLine(0, 0, len, 0);
+        g.fillPolygon(new int[] {len, len-ARR_SIZE, len-ARR_SIZE, len},
+                new int[] {0, -ARR_SIZE, ARR_SIZE, 0}, 4);
     }
     private void drawBaseEdge(Edge edge){
         Point from = edge.getNodeOne().getCoord();
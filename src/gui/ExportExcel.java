@@ -1,32 +1,132 @@
 package gui;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
+import models.Adjacency;
 import models.Edge;
 import models.Graph;
 import models.Node;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import javax.swing.*;
-import java.awt.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
 public class ExportExcel {
     private Graph graph;
 
     private GraphPanel graphPanel;
 
+    /*
+     * Rows kept in memory by the streaming workbook, older rows are flushed to a temp file.
+     */
+    private static final int ROW_WINDOW = 100;
+
     public ExportExcel(Graph graph, GraphPanel graphPanel){
         this.graph = graph;
         this.graphPanel = graphPanel;
     }
     public void exportExcel(String destinationPath){
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("Network");
+        exportExcel(destinationPath, false);
+    }
+
+    /*
+     * Writes the network through SXSSF, so only a window of rows is in memory.
+     * - Matrix layout: n x n adjacency matrix as read by ExcelImport
+     * - Edge list layout: one "From, To, Weight" row per edge, for large sparse networks
+     */
+    public void exportExcel(String destinationPath, boolean edgeList){
+        SpreadsheetVersion version = SpreadsheetVersion.EXCEL2007;
+        if (edgeList ? graph.getEdges().size() >= version.getMaxRows()
+                : graph.getNodes().size() >= version.getMaxColumns()) {
+            JOptionPane.showMessageDialog(null, "Network is too large for an Excel " + (edgeList ? "edge list" : "matrix")
+                    + (edgeList ? "!" : ", export it as an edge list instead!"), "Export Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            if (edgeList)
+                writeEdgeList(workbook.createSheet("Edges"));
+            else
+                writeMatrix(workbook.createSheet("Network"));
+        } catch (RuntimeException e) {
+            workbook.dispose();
+            throw e;
+        }
+        // Write the workbook content to a file
+        try (FileOutputStream fileOut = new FileOutputStream(destinationPath)) {
+            workbook.write(fileOut);
+            JOptionPane.showMessageDialog(null, "Network " + (edgeList ? "edge list" : "matrix") + " exported successfully!", "Export Successful", JOptionPane.INFORMATION_MESSAGE);
+        } catch (IOException e) {
+            e.printStackTrace();
+            JOptionPane.showMessageDialog(null, "Error exporting network " + (edgeList ? "edge list" : "matrix") + "!", "Export Error", JOptionPane.ERROR_MESSAGE);
+        } finally {
+            workbook.dispose();
+            try {
+                workbook.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /*
+     * Writes a result table (e.g. a distance table) as shown in its dialog: the
+     * column names as header row, numbers as numeric cells, anything else as text.
+     */
+    public void exportTable(String destinationPath, String sheetName, TableModel model){
+        SpreadsheetVersion version = SpreadsheetVersion.EXCEL2007;
+        if (model.getRowCount() >= version.getMaxRows() || model.getColumnCount() > version.getMaxColumns()) {
+            JOptionPane.showMessageDialog(null, "Table is too large for an Excel sheet!", "Export Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try (FileOutputStream fileOut = new FileOutputStream(destinationPath)) {
+            writeTable(workbook.createSheet(sheetName), model);
+            workbook.write(fileOut);
+            JOptionPane.showMessageDialog(null, sheetName + " exported successfully!", "Export Successful", JOptionPane.INFORMATION_MESSAGE);
+        } catch (IOException e) {
+            e.printStackTrace();
+            JOptionPane.showMessageDialog(null, "Error exporting " + sheetName.toLowerCase() + "!", "Export Error", JOptionPane.ERROR_MESSAGE);
+        } finally {
+            workbook.dispose();
+            try {
+                workbook.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void writeTable(Sheet sheet, TableModel model){
+        Row headerRow = sheet.createRow(0);
+        for (int j = 0; j < model.getColumnCount(); j++) {
+            headerRow.createCell(j).setCellValue(model.getColumnName(j));
+        }
+
+        for (int i = 0; i < model.getRowCount(); i++) {
+            Row row = sheet.createRow(i + 1);
+            for (int j = 0; j < model.getColumnCount(); j++) {
+                Object value = model.getValueAt(i, j);
+                if (value instanceof Number) {
+                    row.createCell(j).setCellValue(((Number) value).doubleValue());
+                } else {
+                    row.createCell(j).setCellValue(String.valueOf(value));
+                }
+            }
+        }
+    }
+
+    /*
+     * Each row is filled from the node's outgoing arcs in O(n + degree),
+     * instead of looking up every (node, otherNode) pair.
+     */
+    private void writeMatrix(Sheet sheet){
+        Adjacency adjacency = graph.getAdjacency();
+        int n = adjacency.getNodeCount();
 
         // Create header row with node names
         Row headerRow = sheet.createRow(0);
@@ -37,56 +137,55 @@ public class ExportExcel {
             headerRow.createCell(colIndex++).setCellValue("Node " + node.getId());
         }
 
+        // -1 marks a missing edge (INF)
+        int[] rowValues = new int[n];
+        Arrays.fill(rowValues, -1);
+
         // Create data rows
-        int rowIndex = 1;
-        for (Node node : graph.getNodes()) {
-            Row row = sheet.createRow(rowIndex++);
-            row.createCell(0).setCellValue("Node " + node.getId());
+        for (int u = 0; u < n; u++) {
+            Row row = sheet.createRow(u + 1);
+            row.createCell(0).setCellValue("Node " + adjacency.getNode(u).getId());
+
+            rowValues[u] = 0;
+            for (int arc = adjacency.begin(u); arc < adjacency.end(u); arc++) {
+                rowValues[adjacency.getTarget(arc)] = adjacency.getWeight(arc);
+            }
 
             // Fill in the matrix values
-            colIndex = 1;
-            for (Node otherNode : graph.getNodes()) {
-                int edgeCellValue = getEdgeCellValue(node,otherNode);
-                if(edgeCellValue == 0){
-                    row.createCell(colIndex++).setCellValue(0);
-                }else if(edgeCellValue == -1){
-                    row.createCell(colIndex++).setCellValue("INF");
-                }else{
-                    row.createCell(colIndex++).setCellValue(edgeCellValue);
+            for (int v = 0; v < n; v++) {
+                if (rowValues[v] == -1) {
+                    row.createCell(v + 1).setCellValue("INF");
+                } else {
+                    row.createCell(v + 1).setCellValue(rowValues[v]);
                 }
-
             }
-        }
-        // Write the workbook content to a file
-        try (FileOutputStream fileOut = new FileOutputStream(destinationPath)) {
-            workbook.write(fileOut);
-            JOptionPane.showMessageDialog(null, "Network matrix exported successfully!", "Export Successful", JOptionPane.INFORMATION_MESSAGE);
-        } catch (IOException e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(null, "Error exporting network matrix!", "Export Error", JOptionPane.ERROR_MESSAGE);
-        } finally {
-            try {
-                workbook.close();
-            } catch (IOException e) {
-                e.printStackTrace();
+
+            rowValues[u] = -1;
+            for (int arc = adjacency.begin(u); arc < adjacency.end(u); arc++) {
+                rowValues[adjacency.getTarget(arc)] = -1;
             }
         }
     }
-    private List<Edge> getNeighbors(Node node) {
-        List<Edge> neighbors = new ArrayList<>();
 
-        for(Edge edge : graph.getEdges()){
-            if(edge.getNodeOne()==node)
-                neighbors.add(edge);
-        }
+    private void writeEdgeList(Sheet sheet){
+        Row headerRow = sheet.createRow(0);
+        headerRow.createCell(0).setCellValue("From");
+        headerRow.createCell(1).setCellValue("To");
+        headerRow.createCell(2).setCellValue("Weight");
 
-        return neighbors;
+        int rowIndex = 1;
+        for (Edge edge : graph.getEdges()) {
+            Row row = sheet.createRow(rowIndex++);
+            row.createCell(0).setCellValue("Node " + edge.getNodeOne().getId());
+            row.createCell(1).setCellValue("Node " + edge.getNodeTwo().getId());
+            row.createCell(2).setCellValue(edge.getWeight());
+        }
     }
+
     public int getEdgeCellValue(Node one, Node two){
-        for(Edge edge : getNeighbors(one)){
-            if (edge.getNodeTwo().equals(two)) {
-                return edge.getWeight();
-            }
+        Edge edge = graph.findEdge(one, two);
+        if (edge != null) {
+            return edge.getWeight();
         }
         if (one.equals(two))
             return 0;
@@ -91,6 +91,8 @@ public class GraphPanel extends JPanel implements MouseListener, MouseMotionList
 
     @Override
     public void mouseClicked(MouseEvent e) {
+        if(!isEnabled())
+            return;
 
         Node selected = null;
         for(Node node : graph.getNodes()) {
@@ -132,7 +134,7 @@ public class GraphPanel extends JPanel implements MouseListener, MouseMotionList
 
         if(hoveredEdge!=null){
             if(e.isControlDown() && e.isShiftDown()){
-                graph.getEdges().remove(hoveredEdge);
+                graph.deleteEdge(hoveredEdge);
                 hoveredEdge = null;
                 graph.setSolved(false);
                 repaint();
@@ -143,7 +145,7 @@ public class GraphPanel extends JPanel implements MouseListener, MouseMotionList
                                                         + " : ");
             try {
                 int weight = Integer.parseInt(input);
-                    hoveredEdge.setWeight(weight);
+                    graph.setEdgeWeight(hoveredEdge, weight);
                     graph.setSolved(false);
                     repaint();
             } catch (NumberFormatException nfe) {}
@@ -169,6 +171,8 @@ public class GraphPanel extends JPanel implements MouseListener, MouseMotionList
 
     @Override
     public void mouseReleased(MouseEvent e) {
+        if(!isEnabled())
+            return;
         for (Node node : graph.getNodes()) {
             if(selectedNode !=null && node!= selectedNode && DrawUtils.isWithinBounds(e, node.getCoord())){
                 Edge new_edge = new Edge(selectedNode, node);
@@ -193,6 +197,8 @@ public class GraphPanel extends JPanel implements MouseListener, MouseMotionList
 
     @Override
     public void mouseDragged(MouseEvent e) {
+        if(!isEnabled())
+            return;
         hoveredNode = null;
 
         for (Node node : graph.getNodes()) {
@@ -205,7 +211,7 @@ public class GraphPanel extends JPanel implements MouseListener, MouseMotionList
 
         if(selectedNode !=null){
             if(e.isControlDown()){
-                selectedNode.setCoord(e.getX(), e.getY());
+                graph.moveNode(selectedNode, e.getX(), e.getY());
                 cursor = null;
                 repaint();
                 return;
@@ -1,22 +1,14 @@
 package gui;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.List;
-import java.util.logging.FileHandler;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-import java.util.logging.SimpleFormatter;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.Files;
-import java.io.IOException;
-import models.Graph;
+
+import algo.OperationCounters;
+import io.RunJournal;
 import models.Edge;
 import models.Graph;
 import models.Node;
 
 import javax.swing.table.DefaultTableModel;
+import java.util.ArrayList;
+import java.util.List;
 
 public class LogActions {
 
@@ -44,8 +36,11 @@ public class LogActions {
 
     private boolean loggingEnabled;
 
-    private static final Logger LOGGER = Logger.getLogger(LogActions.class.getName());
-    private static boolean loggerConfigured = false;
+    private OperationCounters counters;
+
+    private boolean reused;
+
+    private static final int INLINE_EDGES = 1000;
 
 
     public LogActions(Graph graph, GraphPanel graphPanel, boolean loggingEnabled,
@@ -107,157 +102,119 @@ public class LogActions {
         this.optimizationResult = optimizationResult;
     }
 
-    public void log(){
-        setupLogger();
-
-        LocalDateTime currentDateTime = LocalDateTime.now();
-        // Format the date and time if needed
-        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        String formattedDateTime = currentDateTime.format(dateTimeFormatter);
-        LOGGER.info(algorithmName + "\t\t" + "Time: " + formattedDateTime + "\n");
-        LOGGER.info("# of Nodes (n): " + graph.getNodes().size());
-        LOGGER.info("# of Edges (m): " + graph.getEdges().size());
-        LOGGER.info("Maximum cost/capacity (C/U): " + getMaxEdgeWeight());
-        LOGGER.info("Node List: " + graph.getNodes().toString());
-        LOGGER.info("Edge List: " + graph.getEdges().toString());
-        if (algorithmName.equals("Dijkstra's Algorithm" ) || algorithmName.equals("Bellman Ford Algorithm") ||
-                algorithmName.equals("Topological Ordering Algorithm")){
-            LOGGER.info("Shortest Path From " + graph.getSource().toString() + " to " +
-                    graph.getDestination() + ": " + shortestPath + "              Total Distance: " + optDist);
-        }else if (algorithmName.equals("Shortest Path Problem - LP Optimization")){
-            LOGGER.info("Shortest Path Problem Optimization Results: \n" +
-                    optimizationResult);
-            LOGGER.info(   "Results from dual LP : \n" +
-                    "Shortest Path From " + graph.getSource().toString() + " to " +
-                    graph.getDestination() + ": " + shortestPath + "              Total Distance: " + optDist);
-        }
-        else if (algorithmName.equals("Floyd Warshall Algorithm")){
+    /*
+     * Adds the operation counters of the run to the record when counting is enabled.
+     */
+    public void setCounters(OperationCounters counters){
+        this.counters = counters;
+    }
 
-            String matrix = "";
-            // Get column names
-            int columnCount = defaultTableModel.getColumnCount();
-            String[] columnNames = new String[columnCount];
-            for (int i = 0; i < columnCount; i++) {
-                columnNames[i] = defaultTableModel.getColumnName(i);
-            }
+    /*
+     * Marks a result taken from the memo of earlier runs; timeElapsed is then
+     * the time of the run that computed it.
+     */
+    public void setReused(boolean reused){
+        this.reused = reused;
+    }
 
-            // Print column names
-            for (String columnName : columnNames) {
-                matrix += columnName + "\t";
-            }
-            matrix += "\n";
+    /*
+     * Queues the run in the run journal. Only a compact snapshot of the network is
+     * taken here, on the event dispatch thread; formatting and writing happen on
+     * the journal thread. Edge lists over INLINE_EDGES edges and the all pairs
+     * matrix are written as side files.
+     */
+    public void log(){
+        if (!loggingEnabled)
+            return;
+
+        RunJournal.Entry entry = RunJournal.getInstance().newEntry(algorithmName);
+        List<Edge> edges = graph.getEdges();
+        int m = edges.size();
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weights = new int[m];
+        int maxWeight = Integer.MIN_VALUE;
+        for (int i = 0; i < m; i++){
+            Edge edge = edges.get(i);
+            from[i] = edge.getNodeOne().getId();
+            to[i] = edge.getNodeTwo().getId();
+            weights[i] = edge.getWeight();
+            maxWeight = Math.max(maxWeight, weights[i]);
+        }
+        entry.put("nodes", graph.getNodes().size())
+                .put("edges", m)
+                .put("maxWeight", m == 0 ? null : maxWeight)
+                .put("source", nodeId(graph.getSource()))
+                .put("destination", nodeId(graph.getDestination()))
+                .put("elapsedSeconds", timeElapsed)
+                .put("reused", reused);
+        if (m <= INLINE_EDGES){
+            List<int[]> edgeList = new ArrayList<>(m);
+            for (int i = 0; i < m; i++)
+                edgeList.add(new int[]{from[i], to[i], weights[i]});
+            entry.put("edgeList", edgeList);
+        } else {
+            entry.attach("edgeListFile", "edges", writer -> {
+                writer.write("From\tTo\tWeight\n");
+                for (int i = 0; i < m; i++)
+                    writer.write(from[i] + "\t" + to[i] + "\t" + weights[i] + "\n");
+            });
+        }
 
-            // Print table data
-            int rowCount = defaultTableModel.getRowCount();
-            for (int i = 0; i < rowCount; i++) {
-                matrix += defaultTableModel.getColumnName(i) + "\t";
-                for (int j = 1; j < columnCount; j++) {
-                    matrix += defaultTableModel.getValueAt(i, j) + "\t";
-                }
-                matrix += "\n";
-            }
-            LOGGER.info("Shortest Path between each node (All Pairs): \n"
-                        + matrix);
-        }else if (algorithmName.equals("Breadth First Search Algorithm" ) || algorithmName.equals("Depth First Search Algorithm" )){
-            LOGGER.info("Traversed Path: " + traversedPath);
+        if (algorithmName.equals("Dijkstra's Algorithm" ) || algorithmName.equals("Bidirectional Dijkstra Algorithm") ||
+                algorithmName.equals("Delta Stepping Algorithm") ||
+                algorithmName.equals("A* Search Algorithm") || algorithmName.equals("Contraction Hierarchy Algorithm") ||
+                algorithmName.equals("ALT Search Algorithm") ||
+                algorithmName.equals("Bellman Ford Algorithm") ||
+                algorithmName.equals("Topological Ordering Algorithm")){
+            entry.put("shortestPath", shortestPath).put("totalDistance", optDist);
+        } else if (algorithmName.equals("Shortest Path Problem - LP Optimization")){
+            entry.put("optimizationResult", optimizationResult)
+                    .put("shortestPath", shortestPath).put("totalDistance", optDist);
+        } else if (algorithmName.equals("Floyd Warshall Algorithm") || algorithmName.equals("Distance Table Algorithm")){
+            attachMatrix(entry);
+        } else if (algorithmName.equals("Breadth First Search Algorithm" ) || algorithmName.equals("Depth First Search Algorithm" )){
+            entry.put("traversedPath", traversedPath);
         } else if (algorithmName.equals("Augmenting Path Algorithm") || algorithmName.equals("Capacity Scaling Algorithm") ||
                     algorithmName.equals("PreFlow Push Algorithm")){
-            LOGGER.info("Maximum flow that can be sent from "+graph.getSource().toString() +
-                    " to " + graph.getDestination().toString() + " : "
-                    + maximumFlow + "\n" +
-                    "Edge's residual/original capacities: \n" +
-                    residualCapacities);
+            entry.put("maximumFlow", maximumFlow).put("residualCapacities", residualCapacities);
         } else if (algorithmName.equals("Maximum Flow Problem - LP Optimization")) {
-            LOGGER.info("Maximum Flow Problem Optimization Results: \n" +
-                    optimizationResult);
+            entry.put("optimizationResult", optimizationResult);
         }
-        LOGGER.info("Algorithm Completed!");
-        LOGGER.info("Total elapsed time while executing " + algorithmName + "(sec) : " + timeElapsed + "\n\n");
-
-        // Close the logger
-        closeLogger();
+        if (OperationCounters.ENABLED && counters != null)
+            entry.put("counters", counters.asMap());
+        entry.submit();
     }
-    private void setupLogger() {
-        if(!loggerConfigured){
-            try {
-                // Set the log file location to the user's Documents folder
-                String os = System.getProperty("os.name").toLowerCase();
-                String userHome = System.getProperty("user.home");
-                Path logFolderPath;
-
-                if (os.contains("win")) {
-                    logFolderPath = Paths.get(userHome, "Documents", "GraphAlgorithmsOnGUILog");
-                } else if (os.contains("mac")) {
-                    logFolderPath = Paths.get(userHome, "Documents", "GraphAlgorithmsOnGUILog");
-                } else {
-                    // For other operating systems, you may need to adjust the path accordingly
-                    logFolderPath = Paths.get(userHome, "GraphAlgorithmsOnGUILog");
-                }
-
-                // Create log folder if it does not exist
-                if (!Files.exists(logFolderPath)) {
-                    Files.createDirectories(logFolderPath);
-                }
-
-                // Get the current date for the log file name
-                LocalDateTime  currentDate = LocalDateTime.now();
-                // Define the desired date format
-                DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyyMMdd");
-
-                // Format the date using the specified format
-                String formattedDate = currentDate.format(dateTimeFormatter);
-
-                // Create log file
-                Path logFilePath = logFolderPath.resolve("GraphAlgorithmsLog_" + formattedDate + ".txt");
 
-                // Check if the log file already exists
-                if (!Files.exists(logFilePath)) {
-                    Files.createFile(logFilePath);
-                }
-
-                // Remove existing handlers
-                Logger rootLogger = Logger.getLogger("");
-                for (java.util.logging.Handler handler : rootLogger.getHandlers()) {
-                    rootLogger.removeHandler(handler);
+    /*
+     * Copies the cells of the distance table, the table itself stays with the dialog.
+     */
+    private void attachMatrix(RunJournal.Entry entry){
+        int columnCount = defaultTableModel.getColumnCount();
+        int rowCount = defaultTableModel.getRowCount();
+        String[] columnNames = new String[columnCount];
+        for (int j = 0; j < columnCount; j++)
+            columnNames[j] = defaultTableModel.getColumnName(j);
+        Object[][] cells = new Object[rowCount][columnCount];
+        for (int i = 0; i < rowCount; i++){
+            for (int j = 0; j < columnCount; j++)
+                cells[i][j] = defaultTableModel.getValueAt(i, j);
+        }
+        entry.attach("distanceMatrixFile", "distances", writer -> {
+            writer.write(String.join("\t", columnNames));
+            writer.write('\n');
+            for (Object[] row : cells){
+                for (int j = 0; j < row.length; j++){
+                    if (j > 0)
+                        writer.write('\t');
+                    writer.write(String.valueOf(row[j]));
                 }
-
-                // Create a file handler that appends log entries to the log file
-                FileHandler fileHandler = new FileHandler(logFilePath.toString(), true);
-
-                // Create a simple formatter for the log entries
-                SimpleFormatter formatter = new SimpleFormatter();
-                fileHandler.setFormatter(formatter);
-
-                // Set the logging level
-                LOGGER.setLevel(Level.INFO);
-
-                // Add the file handler to the logger if logging is enabled
-                if(loggingEnabled)
-                    LOGGER.addHandler(fileHandler);
-
-                loggerConfigured = true;
-
-
-            } catch (IOException e) {
-                e.printStackTrace();
+                writer.write('\n');
             }
-        }
+        });
     }
-    private static void closeLogger() {
-        // Close the logger
-        Logger rootLogger = Logger.getLogger("");
-        for (java.util.logging.Handler handler : rootLogger.getHandlers()) {
-            rootLogger.removeHandler(handler);
-            handler.close();
-        }
-    }
-    private int getMaxEdgeWeight(){
-        int max = Integer.MIN_VALUE;
-        for(Edge edge: graph.getEdges()){
-            if (edge.getWeight() > max){
-                max = edge.getWeight();
-            }
-        }
-        return max;
+
+    private static Integer nodeId(Node node){
+        return node == null ? null : node.getId();
     }
 }
@@ -1,13 +1,19 @@
 package gui;
 
 import algo.*;
+import generator.NetworkGenerator;
 import gurobi.GRBException;
+import io.GraphFileWriter;
+import io.NetworkFiles;
+import models.Edge;
 import models.Graph;
+import models.Node;
 import org.apache.poi.ss.usermodel.*;
 
 import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.Color;
 import java.awt.Font;
@@ -17,6 +23,12 @@ import java.io.FileInputStream;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import java.io.IOException;
 import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 public class MainWindow extends JPanel {
 
@@ -27,6 +39,15 @@ public class MainWindow extends JPanel {
 
     private boolean loggingEnabled = false;
 
+    private final ResultMemo resultMemo = new ResultMemo();
+
+    private JButton cancel;
+    private JProgressBar progressBar;
+    private RunMonitor running;
+
+    private ToIntFunction<Edge> lastFlow;
+    private long lastFlowVersion = -1;
+
     public MainWindow() {
         super.setLayout(new BorderLayout());
         setGraphPanel();
@@ -79,6 +100,26 @@ public class MainWindow extends JPanel {
         final JButton exportExcel = new JButton();
         setupIcon(exportExcel, "export");
         exportExcel.setToolTipText("Export current network to the excel file");
+        JButton importBinary = new JButton();
+        setupIcon(importBinary, "binary_import");
+        importBinary.setToolTipText("Open network from a binary (.gag), DIMACS (.max, .gr), Excel or edge list (.csv, .tsv, .txt) file");
+        JButton exportBinary = new JButton();
+        setupIcon(exportBinary, "binary_export");
+        exportBinary.setToolTipText("Save current network (and last max flow) to a binary (.gag) file");
+        JButton metrics = new JButton();
+        setupIcon(metrics, "metrics");
+        metrics.setToolTipText("Operation counters of the algorithm runs (heap pops, relaxations, pushes, relabels, ...)");
+        JButton generate = new JButton();
+        setupIcon(generate, "generate");
+        generate.setToolTipText("Generate a synthetic network (random, grid, R-MAT, layered DAG, max-flow families)");
+        cancel = new JButton();
+        setupIcon(cancel, "cancel");
+        cancel.setToolTipText("Cancel the running algorithm");
+        cancel.setVisible(false);
+        progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+        progressBar.setPreferredSize(new Dimension(120, 30));
+        progressBar.setVisible(false);
         JCheckBox loggingCheckBox = new JCheckBox("Enable Logging");
         loggingCheckBox.setFont(new Font("Arial", Font.PLAIN, 14));
         loggingCheckBox.setToolTipText("Check if you want to log the results on your Documents/ folder");
@@ -87,9 +128,15 @@ public class MainWindow extends JPanel {
         buttonPanel.setBackground(DrawUtils.parseColor("#DDDDDD"));
         buttonPanel.add(reset);
         buttonPanel.add(run);
+        buttonPanel.add(cancel);
+        buttonPanel.add(progressBar);
         buttonPanel.add(info);
         buttonPanel.add(importExcel);
         buttonPanel.add(exportExcel);
+        buttonPanel.add(importBinary);
+        buttonPanel.add(exportBinary);
+        buttonPanel.add(generate);
+        buttonPanel.add(metrics);
         buttonPanel.add(algorithm, BorderLayout.BEFORE_FIRST_LINE);
         comboBox = new JComboBox<>();
         comboBox.setBackground(DrawUtils.parseColor("#DDDDDD"));
@@ -126,14 +173,14 @@ public class MainWindow extends JPanel {
         run.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                long startTime = System.nanoTime();
                 if (comboBox.getSelectedItem() == "Dijkstra's"){
-                    DijkstraAlgorithm dijkstraAlgorithm = new DijkstraAlgorithm(graph);
-                    try {
-                        dijkstraAlgorithm.run();
-                        long endTime = System.nanoTime();
-                        long elapsedTimeInNanos = endTime - startTime;
-                        double elapsedTime = elapsedTimeInNanos / 1e9;
+                    runInBackground("Dijkstra's", DijkstraAlgorithm.class, ResultMemo.linearSize(graph), monitor -> {
+                        DijkstraAlgorithm algorithm = new DijkstraAlgorithm(graph);
+                        algorithm.setMonitor(monitor);
+                        algorithm.run();
+                        return algorithm;
+                    }, (dijkstraAlgorithm, elapsedTime, reused) -> {
+                        dijkstraAlgorithm.setNodePaths();
                         graphPanel.setPath(dijkstraAlgorithm.getDestinationPath(), comboBox.getSelectedItem().toString());
                         JOptionPane.showMessageDialog(MainWindow.this,
                                 "Shortest Path: " + dijkstraAlgorithm.getDestinationPathAsString() + "\n"
@@ -142,18 +189,132 @@ public class MainWindow extends JPanel {
                             LogActions logDijkstra = new LogActions(graph,graphPanel, loggingEnabled,
                                                                     dijkstraAlgorithm.getDestinationPathAsString(),"Dijkstra's Algorithm",
                                                                     dijkstraAlgorithm.getDestinationDistance(),elapsedTime);
+                            logDijkstra.setCounters(dijkstraAlgorithm.getCounters());
+                            logDijkstra.setReused(reused);
                             logDijkstra.log();
                         }
-                    } catch (IllegalStateException ise) {
-                        JOptionPane.showMessageDialog(MainWindow.this, ise.getMessage());
-                    }
+                    });
+                } else if (comboBox.getSelectedItem() == "Bidirectional-Dijkstra"){
+                    runInBackground("Bidirectional-Dijkstra", DijkstraAlgorithm.class, ResultMemo.linearSize(graph), monitor -> {
+                        DijkstraAlgorithm algorithm = new DijkstraAlgorithm(graph);
+                        algorithm.setBidirectional(true);
+                        algorithm.setMonitor(monitor);
+                        algorithm.run();
+                        return algorithm;
+                    }, (dijkstraAlgorithm, elapsedTime, reused) -> {
+                        graphPanel.setPath(dijkstraAlgorithm.getDestinationPath(), comboBox.getSelectedItem().toString());
+                        JOptionPane.showMessageDialog(MainWindow.this,
+                                "Shortest Path: " + dijkstraAlgorithm.getDestinationPathAsString() + "\n"
+                                        + "              Total Distance: " + dijkstraAlgorithm.getDestinationDistance() + "\n"
+                                        + "              Settled Nodes: " + dijkstraAlgorithm.getSettledCount());
+                        if (loggingEnabled){
+                            LogActions logBidirectional = new LogActions(graph,graphPanel, loggingEnabled,
+                                    dijkstraAlgorithm.getDestinationPathAsString(),"Bidirectional Dijkstra Algorithm",
+                                    dijkstraAlgorithm.getDestinationDistance(),elapsedTime);
+                            logBidirectional.setCounters(dijkstraAlgorithm.getCounters());
+                            logBidirectional.setReused(reused);
+                            logBidirectional.log();
+                        }
+                    });
+                } else if (comboBox.getSelectedItem() == "Delta-Stepping"){
+                    runInBackground("Delta-Stepping", DeltaSteppingAlgorithm.class, ResultMemo.linearSize(graph), monitor -> {
+                        DeltaSteppingAlgorithm algorithm = new DeltaSteppingAlgorithm(graph);
+                        algorithm.setMonitor(monitor);
+                        algorithm.run();
+                        return algorithm;
+                    }, (deltaSteppingAlgorithm, elapsedTime, reused) -> {
+                        graphPanel.setPath(deltaSteppingAlgorithm.getDestinationPath(), comboBox.getSelectedItem().toString());
+                        JOptionPane.showMessageDialog(MainWindow.this,
+                                "Shortest Path: " + deltaSteppingAlgorithm.getDestinationPathAsString() + "\n"
+                                        + "              Total Distance: " + deltaSteppingAlgorithm.getDestinationDistance() + "\n"
+                                        + "              Bucket Width (delta): " + deltaSteppingAlgorithm.getDelta());
+                        if (loggingEnabled){
+                            LogActions logDelta = new LogActions(graph,graphPanel, loggingEnabled,
+                                    deltaSteppingAlgorithm.getDestinationPathAsString(),"Delta Stepping Algorithm",
+                                    deltaSteppingAlgorithm.getDestinationDistance(),elapsedTime);
+                            logDelta.setCounters(deltaSteppingAlgorithm.getCounters());
+                            logDelta.setReused(reused);
+                            logDelta.log();
+                        }
+                    });
+                } else if (comboBox.getSelectedItem() == "A*-Search"){
+                    runInBackground("A*-Search", AStarAlgorithm.class, ResultMemo.linearSize(graph), monitor -> {
+                        AStarAlgorithm algorithm = new AStarAlgorithm(graph);
+                        algorithm.setMonitor(monitor);
+                        algorithm.run();
+                        return algorithm;
+                    }, (aStarAlgorithm, elapsedTime, reused) -> {
+                        graphPanel.setPath(aStarAlgorithm.getDestinationPath(), comboBox.getSelectedItem().toString());
+                        JOptionPane.showMessageDialog(MainWindow.this,
+                                "Shortest Path: " + aStarAlgorithm.getDestinationPathAsString() + "\n"
+                                        + "              Total Distance: " + aStarAlgorithm.getDestinationDistance() + "\n"
+                                        + "              Settled Nodes: " + aStarAlgorithm.getSettledCount() + "\n"
+                                        + (aStarAlgorithm.isHeuristicUsed()
+                                                ? "              Heuristic: " + String.format("%.4f", aStarAlgorithm.getScale()) + " per pixel"
+                                                : "              Heuristic not admissible, plain Dijkstra was used"));
+                        if (loggingEnabled){
+                            LogActions logAStar = new LogActions(graph,graphPanel, loggingEnabled,
+                                    aStarAlgorithm.getDestinationPathAsString(),"A* Search Algorithm",
+                                    aStarAlgorithm.getDestinationDistance(),elapsedTime);
+                            logAStar.setCounters(aStarAlgorithm.getCounters());
+                            logAStar.setReused(reused);
+                            logAStar.log();
+                        }
+                    });
+                } else if (comboBox.getSelectedItem() == "Contraction-Hierarchy"){
+                    runInBackground("Contraction-Hierarchy", ContractionHierarchyAlgorithm.class, ResultMemo.linearSize(graph), monitor -> {
+                        ContractionHierarchyAlgorithm algorithm = new ContractionHierarchyAlgorithm(graph);
+                        algorithm.setMonitor(monitor);
+                        algorithm.run();
+                        return algorithm;
+                    }, (chAlgorithm, elapsedTime, reused) -> {
+                        graphPanel.setPath(chAlgorithm.getDestinationPath(), comboBox.getSelectedItem().toString());
+                        JOptionPane.showMessageDialog(MainWindow.this,
+                                "Shortest Path: " + chAlgorithm.getDestinationPathAsString() + "\n"
+                                        + "              Total Distance: " + chAlgorithm.getDestinationDistance() + "\n"
+                                        + "              Settled Nodes: " + chAlgorithm.getSettledCount() + "\n"
+                                        + (chAlgorithm.isIndexBuilt()
+                                                ? "              Index built in " + String.format("%.1f", chAlgorithm.getPreprocessingTime())
+                                                        + " ms, " + chAlgorithm.getShortcutCount() + " shortcuts"
+                                                : "              Index reused"));
+                        if (loggingEnabled){
+                            LogActions logHierarchy = new LogActions(graph,graphPanel, loggingEnabled,
+                                    chAlgorithm.getDestinationPathAsString(),"Contraction Hierarchy Algorithm",
+                                    chAlgorithm.getDestinationDistance(),elapsedTime);
+                            logHierarchy.setReused(reused);
+                            logHierarchy.log();
+                        }
+                    });
+                } else if (comboBox.getSelectedItem() == "ALT-Search"){
+                    runInBackground("ALT-Search", LandmarkAStarAlgorithm.class, ResultMemo.linearSize(graph), monitor -> {
+                        LandmarkAStarAlgorithm algorithm = new LandmarkAStarAlgorithm(graph);
+                        algorithm.setMonitor(monitor);
+                        algorithm.run();
+                        return algorithm;
+                    }, (altAlgorithm, elapsedTime, reused) -> {
+                        graphPanel.setPath(altAlgorithm.getDestinationPath(), comboBox.getSelectedItem().toString());
+                        JOptionPane.showMessageDialog(MainWindow.this,
+                                "Shortest Path: " + altAlgorithm.getDestinationPathAsString() + "\n"
+                                        + "              Total Distance: " + altAlgorithm.getDestinationDistance() + "\n"
+                                        + "              Settled Nodes: " + altAlgorithm.getSettledCount() + "\n"
+                                        + "              Landmarks: " + altAlgorithm.getLandmarks()
+                                        + (altAlgorithm.isLandmarksBuilt() ? "" : " (reused)"));
+                        if (loggingEnabled){
+                            LogActions logAlt = new LogActions(graph,graphPanel, loggingEnabled,
+                                    altAlgorithm.getDestinationPathAsString(),"ALT Search Algorithm",
+                                    altAlgorithm.getDestinationDistance(),elapsedTime);
+                            logAlt.setCounters(altAlgorithm.getCounters());
+                            logAlt.setReused(reused);
+                            logAlt.log();
+                        }
+                    });
                 } else if (comboBox.getSelectedItem() == "Bread-First-Search"){
-                    BreadthFirstSearchAlgorithm breadthFirstSearchAlgorithm = new BreadthFirstSearchAlgorithm(graph);
-                    try {
-                        breadthFirstSearchAlgorithm.run();
-                        long endTime = System.nanoTime();
-                        long elapsedTimeInNanos = endTime - startTime;
-                        double elapsedTime = elapsedTimeInNanos / 1e9;
+                    runInBackground("Bread-First-Search", BreadthFirstSearchAlgorithm.class, ResultMemo.linearSize(graph), monitor -> {
+                        BreadthFirstSearchAlgorithm algorithm = new BreadthFirstSearchAlgorithm(graph);
+                        algorithm.setMonitor(monitor);
+                        algorithm.run();
+                        return algorithm;
+                    }, (breadthFirstSearchAlgorithm, elapsedTime, reused) -> {
                         graphPanel.setPath(breadthFirstSearchAlgorithm.getDestinationPath(),comboBox.getSelectedItem().toString());
                         JOptionPane.showMessageDialog(MainWindow.this,
                                 "Traversed Path: " + breadthFirstSearchAlgorithm.getDestinationPathAsString() + "\n");
@@ -161,20 +322,17 @@ public class MainWindow extends JPanel {
                             LogActions logBFS = new LogActions(graph,graphPanel,loggingEnabled,
                                                                 breadthFirstSearchAlgorithm.getDestinationPathAsString(),
                                                                 "Breadth First Search Algorithm",elapsedTime);
+                            logBFS.setReused(reused);
                             logBFS.log();
                         }
-                    } catch (IllegalStateException ise) {
-                        JOptionPane.showMessageDialog(MainWindow.this, ise.getMessage());
-                    } catch (OutOfMemoryError ome) {
-                        JOptionPane.showMessageDialog(MainWindow.this, "Memory error, control it.");
-                    }
+                    });
                 }else if (comboBox.getSelectedItem() == "Depth-First-Search"){
-                    DepthFirstSearchAlgorithm depthFirstSearchAlgorithm = new DepthFirstSearchAlgorithm(graph);
-                    try {
-                        depthFirstSearchAlgorithm.run();
-                        long endTime = System.nanoTime();
-                        long elapsedTimeInNanos = endTime - startTime;
-                        double elapsedTime = elapsedTimeInNanos / 1e9;
+                    runInBackground("Depth-First-Search", DepthFirstSearchAlgorithm.class, ResultMemo.linearSize(graph), monitor -> {
+                        DepthFirstSearchAlgorithm algorithm = new DepthFirstSearchAlgorithm(graph);
+                        algorithm.setMonitor(monitor);
+                        algorithm.run();
+                        return algorithm;
+                    }, (depthFirstSearchAlgorithm, elapsedTime, reused) -> {
                         graphPanel.setPath(depthFirstSearchAlgorithm.getDestinationPath(),comboBox.getSelectedItem().toString());
                         JOptionPane.showMessageDialog(MainWindow.this,
                                 "Traversed Path: " + depthFirstSearchAlgorithm.getDestinationPathAsString() + "\n");
@@ -182,20 +340,17 @@ public class MainWindow extends JPanel {
                             LogActions logDFS = new LogActions(graph,graphPanel,loggingEnabled,
                                     depthFirstSearchAlgorithm.getDestinationPathAsString(),
                                     "Depth First Search Algorithm",elapsedTime);
+                            logDFS.setReused(reused);
                             logDFS.log();
                         }
-                    } catch (IllegalStateException ise) {
-                        JOptionPane.showMessageDialog(MainWindow.this, ise.getMessage());
-                    } catch (OutOfMemoryError ome) {
-                        JOptionPane.showMessageDialog(MainWindow.this, "Memory error, control it.");
-                    }
+                    });
                 } else if (comboBox.getSelectedItem() == "Bellman-Ford") {
-                    BellmanFordAlgorithm bellmanFordAlgorithm = new BellmanFordAlgorithm(graph);
-                    try {
-                        bellmanFordAlgorithm.run();
-                        long endTime = System.nanoTime();
-                        long elapsedTimeInNanos = endTime - startTime;
-                        double elapsedTime = elapsedTimeInNanos / 1e9;
+                    runInBackground("Bellman-Ford", BellmanFordAlgorithm.class, ResultMemo.linearSize(graph), monitor -> {
+                        BellmanFordAlgorithm algorithm = new BellmanFordAlgorithm(graph);
+                        algorithm.setMonitor(monitor);
+                        algorithm.run();
+                        return algorithm;
+                    }, (bellmanFordAlgorithm, elapsedTime, reused) -> {
                         graphPanel.setPath(bellmanFordAlgorithm.getDestinationPath(),comboBox.getSelectedItem().toString());
                         JOptionPane.showMessageDialog(MainWindow.this,
                                 "Shortest Path: " + bellmanFordAlgorithm.getDestinationPathAsString() + "\n"
@@ -204,22 +359,29 @@ public class MainWindow extends JPanel {
                             LogActions logBellman = new LogActions(graph,graphPanel,loggingEnabled,
                                     bellmanFordAlgorithm.getDestinationPathAsString(),"Bellman Ford Algorithm",
                                     bellmanFordAlgorithm.getDestinationDistance(),elapsedTime);
+                            logBellman.setCounters(bellmanFordAlgorithm.getCounters());
+                            logBellman.setReused(reused);
                             logBellman.log();
                         }
-
-                    } catch (IllegalStateException ise) {
-                        JOptionPane.showMessageDialog(MainWindow.this, ise.getMessage());
-                    } catch (OutOfMemoryError ome) {
-                        JOptionPane.showMessageDialog(MainWindow.this, "Memory error, control it.");
-                    }
+                    });
                 }else if (comboBox.getSelectedItem() == "Floyd-Warshall") {
-                    FloydWarshallAlgorithm floydWarshallAlgorithm = new FloydWarshallAlgorithm(graph, MainWindow.this);
-                    try {
-                        floydWarshallAlgorithm.run();
-                        long endTime = System.nanoTime();
-                        long elapsedTimeInNanos = endTime - startTime;
-                        double elapsedTime = elapsedTimeInNanos / 1e9;
-                        floydWarshallAlgorithm.getDistanceMatrix();
+                    runInBackground("Floyd-Warshall", FloydWarshallAlgorithm.class, ResultMemo.quadraticSize(graph), monitor -> {
+                        FloydWarshallAlgorithm algorithm = new FloydWarshallAlgorithm(graph);
+                        algorithm.setMonitor(monitor);
+                        algorithm.run();
+                        return algorithm;
+                    }, (floydWarshallAlgorithm, elapsedTime, reused) -> {
+                        JTable table = new JTable(floydWarshallAlgorithm.getDistanceMatrix());
+
+                        JScrollPane scrollPane = new JScrollPane(table);
+
+                        // Create a JPanel to hold the table
+                        JPanel panel = new JPanel();
+                        panel.add(scrollPane);
+
+                        // Show the matrix in a JOptionPane message dialog
+                        JOptionPane.showMessageDialog(MainWindow.this, panel,
+                                "Shortest Path Distances From Each Node", JOptionPane.PLAIN_MESSAGE);
                         if (graph.getDestination() != null){
                             graphPanel.setPath(floydWarshallAlgorithm.getDestinationPath(),comboBox.getSelectedItem().toString());
                         }else{
@@ -229,20 +391,74 @@ public class MainWindow extends JPanel {
                         if (loggingEnabled){
                             LogActions logFloyd = new LogActions(graph,graphPanel,loggingEnabled,
                                     floydWarshallAlgorithm.getLoggedTableModel(),"Floyd Warshall Algorithm",elapsedTime);
+                            logFloyd.setReused(reused);
                             logFloyd.log();
                         }
-                    } catch (IllegalStateException ise) {
-                        JOptionPane.showMessageDialog(MainWindow.this, ise.getMessage());
-                    } catch (OutOfMemoryError ome) {
-                        JOptionPane.showMessageDialog(MainWindow.this, "Memory error, control it.");
-                    }catch (NullPointerException npe){}
-                }else if (comboBox.getSelectedItem() == "ShortestPath-LP") {
-                    ShortestPathProblemLP shortestPathProblemLP = new ShortestPathProblemLP(graph);
+                    });
+                }else if (comboBox.getSelectedItem() == "Distance-Table") {
+                    JTextField sourceField = new JTextField(graph.getSource() != null
+                            ? String.valueOf(graph.getSource().getId()) : "all", 20);
+                    JTextField targetField = new JTextField("all", 20);
+                    JPanel query = new JPanel(new GridLayout(2, 2, 5, 5));
+                    query.add(new JLabel("Source ids (comma separated or all):"));
+                    query.add(sourceField);
+                    query.add(new JLabel("Target ids (comma separated or all):"));
+                    query.add(targetField);
+                    if (JOptionPane.showConfirmDialog(MainWindow.this, query, "Distance Table",
+                            JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION)
+                        return;
+                    List<Node> sources, targets;
                     try {
-                        shortestPathProblemLP.run();
-                        long endTime = System.nanoTime();
-                        long elapsedTimeInNanos = endTime - startTime;
-                        double elapsedTime = elapsedTimeInNanos / 1e9;
+                        sources = DistanceTableAlgorithm.selectNodes(graph, sourceField.getText());
+                        targets = DistanceTableAlgorithm.selectNodes(graph, targetField.getText());
+                    } catch (IllegalArgumentException ex) {
+                        JOptionPane.showMessageDialog(MainWindow.this, ex.getMessage(), "Distance Table", JOptionPane.ERROR_MESSAGE);
+                        return;
+                    }
+                    // the node sets are part of the memo key, other sets are another result
+                    String memoKey = "Distance-Table " + sources + " -> " + targets;
+                    long tableSize = 8L * sources.size() * targets.size() + ResultMemo.linearSize(graph);
+                    runInBackground(memoKey, DistanceTableAlgorithm.class, tableSize, monitor -> {
+                        DistanceTableAlgorithm algorithm = new DistanceTableAlgorithm(graph, sources, targets);
+                        algorithm.setMonitor(monitor);
+                        algorithm.run();
+                        return algorithm;
+                    }, (distanceTableAlgorithm, elapsedTime, reused) -> {
+                        DefaultTableModel tableModel = distanceTableAlgorithm.getDistanceMatrix();
+                        JTable table = new JTable(tableModel);
+
+                        JScrollPane scrollPane = new JScrollPane(table);
+                        JPanel panel = new JPanel(new BorderLayout());
+                        panel.add(scrollPane, BorderLayout.CENTER);
+                        panel.add(new JLabel("Settled Nodes: " + distanceTableAlgorithm.getSettledCount()), BorderLayout.SOUTH);
+
+                        String[] options = {"Close", "Export to Excel"};
+                        int choice = JOptionPane.showOptionDialog(MainWindow.this, panel,
+                                "Shortest Path Distances From Each Source", JOptionPane.DEFAULT_OPTION,
+                                JOptionPane.PLAIN_MESSAGE, null, options, options[0]);
+                        if (choice == 1) {
+                            JFileChooser fileChooser = new JFileChooser();
+                            fileChooser.setDialogTitle("Select Destination Path");
+                            fileChooser.setFileSelectionMode(JFileChooser.FILES_ONLY);
+                            if (fileChooser.showSaveDialog(MainWindow.this) == JFileChooser.APPROVE_OPTION) {
+                                new ExportExcel(graph, graphPanel).exportTable(
+                                        fileChooser.getSelectedFile().getAbsolutePath() + ".xlsx", "Distance Table", tableModel);
+                            }
+                        }
+                        if (loggingEnabled){
+                            LogActions logTable = new LogActions(graph,graphPanel,loggingEnabled,
+                                    tableModel,"Distance Table Algorithm",elapsedTime);
+                            logTable.setReused(reused);
+                            logTable.log();
+                        }
+                    });
+                }else if (comboBox.getSelectedItem() == "ShortestPath-LP") {
+                    runInBackground("ShortestPath-LP", ShortestPathProblemLP.class, ResultMemo.linearSize(graph), monitor -> {
+                        ShortestPathProblemLP algorithm = new ShortestPathProblemLP(graph);
+                        algorithm.setMonitor(monitor);
+                        algorithm.run();
+                        return algorithm;
+                    }, (shortestPathProblemLP, elapsedTime, reused) -> {
                         graphPanel.setPath(shortestPathProblemLP.getDestinationPath(),comboBox.getSelectedItem().toString());
                         JOptionPane.showMessageDialog(MainWindow.this,
                                         "Xij: Flow across (i,j) \n" +
@@ -254,24 +470,19 @@ public class MainWindow extends JPanel {
                             LogActions logLP = new LogActions(graph,graphPanel,loggingEnabled,
                                     shortestPathProblemLP.getDestinationPathAsString(),"Shortest Path Problem - LP Optimization",
                                     shortestPathProblemLP.getDestinationDistance(),elapsedTime, shortestPathProblemLP.getLogResultMessage());
+                            logLP.setReused(reused);
                             logLP.log();
                         }
-
-                    } catch (IllegalStateException ise) {
-                        JOptionPane.showMessageDialog(MainWindow.this, ise.getMessage());
-                    } catch (OutOfMemoryError ome) {
-                        JOptionPane.showMessageDialog(MainWindow.this, "Memory error, control it.");
-                    }catch (NullPointerException npe){} catch (GRBException ex) {
-                        throw new RuntimeException(ex);
-                    }
+                    });
                 } else if (comboBox.getSelectedItem() == "Augmenting-Path") {
-                    AugmentingPathAlgorithm augmentingPathAlgorithm = new AugmentingPathAlgorithm(graph);
-                    try {
-                        graphPanel.setPath(null,comboBox.getSelectedItem().toString());
-                        augmentingPathAlgorithm.run();
-                        long endTime = System.nanoTime();
-                        long elapsedTimeInNanos = endTime - startTime;
-                        double elapsedTime = elapsedTimeInNanos / 1e9;
+                    graphPanel.setPath(null,comboBox.getSelectedItem().toString());
+                    runInBackground("Augmenting-Path", AugmentingPathAlgorithm.class, ResultMemo.linearSize(graph), monitor -> {
+                        AugmentingPathAlgorithm algorithm = new AugmentingPathAlgorithm(graph);
+                        algorithm.setMonitor(monitor);
+                        algorithm.run();
+                        return algorithm;
+                    }, (augmentingPathAlgorithm, elapsedTime, reused) -> {
+                        rememberFlow(augmentingPathAlgorithm::getFlow);
                         JOptionPane.showMessageDialog(MainWindow.this,
                                 "Maximum flow that can be sent from "+graph.getSource().toString() +
                                         " to " + graph.getDestination().toString() + " : "
@@ -282,21 +493,20 @@ public class MainWindow extends JPanel {
                             LogActions logAugmentingPath = new LogActions(graph,graphPanel,loggingEnabled,
                                     augmentingPathAlgorithm.getMaxFlow(), augmentingPathAlgorithm.getResidualCapacitiesAsString(graph.getEdges()),
                                     "Augmenting Path Algorithm",elapsedTime);
+                            logAugmentingPath.setCounters(augmentingPathAlgorithm.getCounters());
+                            logAugmentingPath.setReused(reused);
                             logAugmentingPath.log();
                         }
-                    } catch (IllegalStateException ise) {
-                        JOptionPane.showMessageDialog(MainWindow.this, ise.getMessage());
-                    } catch (OutOfMemoryError ome) {
-                        JOptionPane.showMessageDialog(MainWindow.this, "Memory error, control it.");
-                    }catch (NullPointerException npe){}
+                    });
                 }else if (comboBox.getSelectedItem() == "Capacity-Scaling") {
-                    CapacityScalingAlgorithm capacityScalingAlgorithm = new CapacityScalingAlgorithm(graph);
-                    try {
-                        graphPanel.setPath(null,comboBox.getSelectedItem().toString());
-                        capacityScalingAlgorithm.run();
-                        long endTime = System.nanoTime();
-                        long elapsedTimeInNanos = endTime - startTime;
-                        double elapsedTime = elapsedTimeInNanos / 1e9;
+                    graphPanel.setPath(null,comboBox.getSelectedItem().toString());
+                    runInBackground("Capacity-Scaling", CapacityScalingAlgorithm.class, ResultMemo.linearSize(graph), monitor -> {
+                        CapacityScalingAlgorithm algorithm = new CapacityScalingAlgorithm(graph);
+                        algorithm.setMonitor(monitor);
+                        algorithm.run();
+                        return algorithm;
+                    }, (capacityScalingAlgorithm, elapsedTime, reused) -> {
+                        rememberFlow(capacityScalingAlgorithm::getFlow);
                         JOptionPane.showMessageDialog(MainWindow.this,
                                 "Maximum flow that can be sent from "+graph.getSource().toString() +
                                         " to " + graph.getDestination().toString() + " : "
@@ -309,21 +519,20 @@ public class MainWindow extends JPanel {
                             LogActions logCapacityScaling = new LogActions(graph,graphPanel,loggingEnabled,
                                     capacityScalingAlgorithm.getMaxFlow(), capacityScalingAlgorithm.getResidualCapacitiesAsString(graph.getEdges()),
                                     "Capacity Scaling Algorithm",elapsedTime);
+                            logCapacityScaling.setCounters(capacityScalingAlgorithm.getCounters());
+                            logCapacityScaling.setReused(reused);
                             logCapacityScaling.log();
                         }
-                    } catch (IllegalStateException ise) {
-                        JOptionPane.showMessageDialog(MainWindow.this, ise.getMessage());
-                    } catch (OutOfMemoryError ome) {
-                        JOptionPane.showMessageDialog(MainWindow.this, "Memory error, control it.");
-                    }catch (NullPointerException npe){}
+                    });
                 }else if (comboBox.getSelectedItem() == "PreFlow-Push") {
-                    PreFlowPushAlgorithm preflowPushAlgorithm = new PreFlowPushAlgorithm(graph);
-                    try {
-                        graphPanel.setPath(null,comboBox.getSelectedItem().toString());
-                        preflowPushAlgorithm.run();
-                        long endTime = System.nanoTime();
-                        long elapsedTimeInNanos = endTime - startTime;
-                        double elapsedTime = elapsedTimeInNanos / 1e9;
+                    graphPanel.setPath(null,comboBox.getSelectedItem().toString());
+                    runInBackground("PreFlow-Push", PreFlowPushAlgorithm.class, ResultMemo.linearSize(graph), monitor -> {
+                        PreFlowPushAlgorithm algorithm = new PreFlowPushAlgorithm(graph);
+                        algorithm.setMonitor(monitor);
+                        algorithm.run();
+                        return algorithm;
+                    }, (preflowPushAlgorithm, elapsedTime, reused) -> {
+                        rememberFlow(preflowPushAlgorithm::getFlow);
                         JOptionPane.showMessageDialog(MainWindow.this,
                                 "Maximum flow that can be sent from "+graph.getSource().toString() +
                                         " to " + graph.getDestination().toString() + " : "
@@ -334,41 +543,36 @@ public class MainWindow extends JPanel {
                             LogActions logPreFlow = new LogActions(graph,graphPanel,loggingEnabled,
                                     preflowPushAlgorithm.getMaxFlow(graph.getDestination()), preflowPushAlgorithm.getEdgeFlowAsString(graph.getEdges()),
                                     "PreFlow Push Algorithm",elapsedTime);
+                            logPreFlow.setCounters(preflowPushAlgorithm.getCounters());
+                            logPreFlow.setReused(reused);
                             logPreFlow.log();
                         }
-                    } catch (IllegalStateException ise) {
-                        JOptionPane.showMessageDialog(MainWindow.this, ise.getMessage());
-                    } catch (OutOfMemoryError ome) {
-                        JOptionPane.showMessageDialog(MainWindow.this, "Memory error, control it.");
-                    }catch (NullPointerException npe){}
+                    });
                 }else if (comboBox.getSelectedItem() == "MaximumFlow-LP") {
-                    MaximumFlowProblemLP maximumFlowProblemLP = new MaximumFlowProblemLP(graph);
-                    try {
-                        graphPanel.setPath(null,comboBox.getSelectedItem().toString());
-                        maximumFlowProblemLP.run();
-                        long endTime = System.nanoTime();
-                        long elapsedTimeInNanos = endTime - startTime;
-                        double elapsedTime = elapsedTimeInNanos / 1e9;
+                    graphPanel.setPath(null,comboBox.getSelectedItem().toString());
+                    runInBackground("MaximumFlow-LP", MaximumFlowProblemLP.class, ResultMemo.linearSize(graph), monitor -> {
+                        MaximumFlowProblemLP algorithm = new MaximumFlowProblemLP(graph);
+                        algorithm.setMonitor(monitor);
+                        algorithm.run();
+                        return algorithm;
+                    }, (maximumFlowProblemLP, elapsedTime, reused) -> {
                         JOptionPane.showMessageDialog(MainWindow.this,
                                 maximumFlowProblemLP.getOptimizationResult());
                         if (loggingEnabled){
                             LogActions logMaxFlowLP = new LogActions(graph,graphPanel,loggingEnabled,
                                     "Maximum Flow Problem - LP Optimization",elapsedTime,
                                     maximumFlowProblemLP.getOptimizationResult());
+                            logMaxFlowLP.setReused(reused);
                             logMaxFlowLP.log();
                         }
-                    } catch (IllegalStateException ise) {
-                        JOptionPane.showMessageDialog(MainWindow.this, ise.getMessage());
-                    } catch (OutOfMemoryError ome) {
-                        JOptionPane.showMessageDialog(MainWindow.this, "Memory error, control it.");
-                    }catch (NullPointerException npe){}
+                    });
                 } else if (comboBox.getSelectedItem() == "Topological-Ordering") {
-                    TopologicalOrderingAlgorithm topologicalOrderingAlgorithm = new TopologicalOrderingAlgorithm(graph);
-                    try {
-                        topologicalOrderingAlgorithm.run();
-                        long endTime = System.nanoTime();
-                        long elapsedTimeInNanos = endTime - startTime;
-                        double elapsedTime = elapsedTimeInNanos / 1e9;
+                    runInBackground("Topological-Ordering", TopologicalOrderingAlgorithm.class, ResultMemo.linearSize(graph), monitor -> {
+                        TopologicalOrderingAlgorithm algorithm = new TopologicalOrderingAlgorithm(graph);
+                        algorithm.setMonitor(monitor);
+                        algorithm.run();
+                        return algorithm;
+                    }, (topologicalOrderingAlgorithm, elapsedTime, reused) -> {
                         graphPanel.setPath(topologicalOrderingAlgorithm.getDestinationPath(),comboBox.getSelectedItem().toString());
                         JOptionPane.showMessageDialog(MainWindow.this,
                                 "Topological Order: " + topologicalOrderingAlgorithm.getTopologicalOrderAsString() + "\n" +
@@ -379,14 +583,10 @@ public class MainWindow extends JPanel {
                             LogActions logTopological = new LogActions(graph,graphPanel, loggingEnabled,
                                     topologicalOrderingAlgorithm.getDestinationPathAsString(),"Topological Ordering Algorithm",
                                     topologicalOrderingAlgorithm.getDestinationDistance(),elapsedTime);
+                            logTopological.setReused(reused);
                             logTopological.log();
                         }
-
-                    } catch (IllegalStateException ise) {
-                        JOptionPane.showMessageDialog(MainWindow.this, ise.getMessage());
-                    } catch (OutOfMemoryError ome) {
-                        JOptionPane.showMessageDialog(MainWindow.this, "Memory error, control it.");
-                    }
+                    });
                 } else if (comboBox.getSelectedItem() == null){
                     JOptionPane.showMessageDialog(MainWindow.this, "Please select an algorithm !" );
                 }
@@ -397,6 +597,14 @@ public class MainWindow extends JPanel {
             }
         });
 
+        cancel.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (running != null)
+                    running.cancel();
+            }
+        });
+
         personal.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
@@ -442,11 +650,135 @@ public class MainWindow extends JPanel {
 
                 if (userSelection == JFileChooser.APPROVE_OPTION) {
                     String destinationPath = fileChooser.getSelectedFile().getAbsolutePath() + ".xlsx";
-                    excel.exportExcel(destinationPath);
+                    String[] layouts = {"Matrix", "Edge list"};
+                    int layout = JOptionPane.showOptionDialog(MainWindow.this,
+                            "Export the network as an adjacency matrix or as a From/To/Weight edge list?\n" +
+                                    "The edge list is much smaller for large sparse networks.",
+                            "Export Layout", JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE,
+                            null, layouts, graph.getNodes().size() > 1000 ? layouts[1] : layouts[0]);
+                    if (layout >= 0)
+                        excel.exportExcel(destinationPath, layout == 1);
+                }
+            }
+        });
+
+        importBinary.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                JFileChooser fileChooser = new JFileChooser();
+                fileChooser.setDialogTitle("Select network file");
+                fileChooser.setFileFilter(new FileNameExtensionFilter("Network Files", NetworkFiles.EXTENSIONS));
+
+                if (fileChooser.showOpenDialog(MainWindow.this) == JFileChooser.APPROVE_OPTION) {
+                    File file = fileChooser.getSelectedFile();
+                    try {
+                        Graph loaded = new Graph();
+                        NetworkFiles.readInto(file.toPath(), loaded);
+                        showNetwork(loaded);
+                    } catch (IOException ioe) {
+                        JOptionPane.showMessageDialog(MainWindow.this, ioe.getMessage());
+                    }
+                }
+            }
+        });
+        exportBinary.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                JFileChooser fileChooser = new JFileChooser();
+                fileChooser.setDialogTitle("Select Destination Path");
+                fileChooser.setFileSelectionMode(JFileChooser.FILES_ONLY);
+
+                if (fileChooser.showSaveDialog(MainWindow.this) == JFileChooser.APPROVE_OPTION) {
+                    String destinationPath = fileChooser.getSelectedFile().getAbsolutePath();
+                    if (!destinationPath.endsWith(".gag"))
+                        destinationPath += ".gag";
+                    GraphFileWriter writer = new GraphFileWriter(graph);
+                    if (lastFlow != null && lastFlowVersion == graph.getVersion())
+                        writer.setFlow(lastFlow);
+                    try {
+                        writer.write(new File(destinationPath).toPath());
+                    } catch (IOException ioe) {
+                        JOptionPane.showMessageDialog(MainWindow.this, ioe.getMessage());
+                    }
                 }
             }
         });
 
+        generate.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                JComboBox<NetworkGenerator.Family> families = new JComboBox<>(NetworkGenerator.Family.values());
+                JTextField sizes = new JTextField("10, 10");
+                JLabel sizeLabel = new JLabel();
+                JTextField seed = new JTextField("1");
+                JTextField minWeight = new JTextField("1");
+                JTextField maxWeight = new JTextField("100");
+                families.setSelectedItem(NetworkGenerator.Family.GRID);
+                sizeLabel.setText("Sizes (rows, columns):");
+                families.addActionListener(event -> {
+                    NetworkGenerator.Family family = (NetworkGenerator.Family) families.getSelectedItem();
+                    sizeLabel.setText("Sizes (" + String.join(", ", family.getParameters()) + "):");
+                });
+
+                JPanel panel = new JPanel(new GridLayout(0, 2, 5, 5));
+                panel.add(new JLabel("Network family:"));
+                panel.add(families);
+                panel.add(sizeLabel);
+                panel.add(sizes);
+                panel.add(new JLabel("Seed:"));
+                panel.add(seed);
+                panel.add(new JLabel("Minimum weight/capacity:"));
+                panel.add(minWeight);
+                panel.add(new JLabel("Maximum weight/capacity (C/U):"));
+                panel.add(maxWeight);
+
+                if (JOptionPane.showConfirmDialog(MainWindow.this, panel, "Generate Network",
+                        JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION)
+                    return;
+                try {
+                    String[] values = sizes.getText().trim().split("[,;\\s]+");
+                    int[] parsed = new int[values.length];
+                    for (int i = 0; i < values.length; i++)
+                        parsed[i] = Integer.parseInt(values[i]);
+                    Graph generated = new NetworkGenerator(Long.parseLong(seed.getText().trim()))
+                            .setWeightRange(Integer.parseInt(minWeight.getText().trim()), Integer.parseInt(maxWeight.getText().trim()))
+                            .generate((NetworkGenerator.Family) families.getSelectedItem(), parsed);
+                    showNetwork(generated);
+                } catch (NumberFormatException nfe) {
+                    JOptionPane.showMessageDialog(MainWindow.this, "Please enter whole numbers: " + nfe.getMessage());
+                } catch (IllegalArgumentException iae) {
+                    JOptionPane.showMessageDialog(MainWindow.this, iae.getMessage());
+                } catch (OutOfMemoryError ome) {
+                    JOptionPane.showMessageDialog(MainWindow.this, "Memory error, control it.");
+                }
+            }
+        });
+
+        metrics.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (!OperationCounters.ENABLED) {
+                    JOptionPane.showMessageDialog(MainWindow.this,
+                            "Operation counting is off, start the application with\n" +
+                                    "-Dgraphalgorithms.counters=true to count the work of each run.");
+                    return;
+                }
+                AlgorithmMetrics algorithmMetrics = AlgorithmMetrics.getInstance();
+                JPanel panel = new JPanel(new GridLayout(0, 1, 5, 5));
+                panel.add(new JLabel("Last run: " + (algorithmMetrics.getLastAlgorithm() == null ? "-"
+                        : algorithmMetrics.getLastAlgorithm()) + "    Runs: " + algorithmMetrics.getRuns()));
+                panel.add(new JScrollPane(counterTable(algorithmMetrics.getLastRunCounters())));
+                panel.add(new JLabel("Totals since start:"));
+                panel.add(new JScrollPane(counterTable(algorithmMetrics.getTotalCounters())));
+                panel.setPreferredSize(new Dimension(450, 400));
+
+                String[] options = {"Close", "Reset"};
+                if (JOptionPane.showOptionDialog(MainWindow.this, panel, "Operation Counters",
+                        JOptionPane.DEFAULT_OPTION, JOptionPane.PLAIN_MESSAGE, null, options, options[0]) == 1)
+                    algorithmMetrics.reset();
+            }
+        });
+
         // Add an ActionListener to the checkbox
         loggingCheckBox.addActionListener(new ActionListener() {
             @Override
@@ -458,6 +790,111 @@ public class MainWindow extends JPanel {
         add(buttonPanel, BorderLayout.SOUTH);
     }
 
+    /*
+     * Replaces the edited network with one that was loaded or generated completely,
+     * so a failed import leaves the current network untouched.
+     */
+    private void showNetwork(Graph network) {
+        graphPanel.reset();
+        graph.restore(network.getNodes(), network.getEdges(), network.getSource(),
+                network.getDestination(), network.getNextNodeId());
+        graph.setLandmarks(network.getLandmarks());
+        graphPanel.repaint();
+    }
+
+    /*
+     * Shows the memoized result of the algorithm for the current graph version,
+     * source and destination, or runs the solver on a SwingWorker so the window stays
+     * responsive. While it runs the network and the other buttons are locked, the
+     * cancel button stops the run and the progress bar follows the monitor.
+     * The view gets the result and the elapsed seconds on the event dispatch thread;
+     * a memoized result comes with the seconds of the run that computed it and reused set.
+     */
+    private <T> void runInBackground(String algorithm, Class<T> type, long estimatedBytes,
+                                     Function<RunMonitor, T> solver, ResultView<T> view) {
+        long startTime = System.nanoTime();
+        T memo = resultMemo.get(algorithm, graph, type);
+        if (memo != null) {
+            graph.setSolved(true);
+            showResult(view, memo, resultMemo.getElapsedSeconds(algorithm, graph), true);
+            return;
+        }
+        RunMonitor monitor = new RunMonitor(percent -> SwingUtilities.invokeLater(() -> progressBar.setValue(percent)));
+        setRunning(monitor);
+        new SwingWorker<T, Void>() {
+            @Override
+            protected T doInBackground() {
+                return solver.apply(monitor);
+            }
+
+            @Override
+            protected void done() {
+                setRunning(null);
+                try {
+                    T result = get();
+                    double elapsedTime = (System.nanoTime() - startTime) / 1e9;
+                    resultMemo.put(algorithm, graph, result, estimatedBytes, elapsedTime);
+                    showResult(view, result, elapsedTime, false);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException ee) {
+                    Throwable cause = ee.getCause();
+                    if (cause instanceof IllegalStateException || cause instanceof CancellationException)
+                        JOptionPane.showMessageDialog(MainWindow.this, cause.getMessage());
+                    else if (cause instanceof OutOfMemoryError)
+                        JOptionPane.showMessageDialog(MainWindow.this, "Memory error, control it.");
+                    else if (!(cause instanceof NullPointerException))
+                        throw new RuntimeException(cause);
+                }
+            }
+        }.execute();
+    }
+
+    private <T> void showResult(ResultView<T> view, T result, double elapsedTime, boolean reused) {
+        try {
+            view.show(result, elapsedTime, reused);
+        } catch (IllegalStateException ise) {
+            JOptionPane.showMessageDialog(MainWindow.this, ise.getMessage());
+        } catch (OutOfMemoryError ome) {
+            JOptionPane.showMessageDialog(MainWindow.this, "Memory error, control it.");
+        } catch (NullPointerException npe) {
+        } catch (GRBException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /*
+     * Locks editing while a monitored run is going on, null unlocks it again.
+     */
+    private void setRunning(RunMonitor monitor) {
+        running = monitor;
+        for (Component component : cancel.getParent().getComponents())
+            component.setEnabled(monitor == null);
+        graphPanel.setEnabled(monitor == null);
+        cancel.setEnabled(monitor != null);
+        cancel.setVisible(monitor != null);
+        progressBar.setValue(0);
+        progressBar.setVisible(monitor != null);
+        revalidate();
+    }
+
+    private static JTable counterTable(Map<String, Long> counters) {
+        DefaultTableModel model = new DefaultTableModel(new Object[]{"Counter", "Value"}, 0);
+        for (Map.Entry<String, Long> counter : counters.entrySet())
+            model.addRow(new Object[]{counter.getKey(), counter.getValue()});
+        JTable table = new JTable(model);
+        table.setEnabled(false);
+        return table;
+    }
+
+    /*
+     * Remembers the edge flows of the last max-flow run, saved along with the network.
+     */
+    private void rememberFlow(ToIntFunction<Edge> flow) {
+        lastFlow = flow;
+        lastFlowVersion = graph.getVersion();
+    }
+
     private void setupIcon(JButton button, String img) {
         try {
             Image icon = ImageIO.read(getClass().getResource(
@@ -472,6 +909,10 @@ public class MainWindow extends JPanel {
         }
     }
 
+    private interface ResultView<T> {
+        void show(T result, double elapsedTime, boolean reused) throws GRBException;
+    }
+
     public class ButtonListener implements ActionListener {
 
         private boolean firstTimeSwitch = true;
@@ -479,8 +920,8 @@ public class MainWindow extends JPanel {
         @Override
         public void actionPerformed(ActionEvent event) {
             if (firstTimeSwitch) {
-                String[] selection = {"Dijkstra's", "Bread-First-Search","Depth-First-Search",
-                        "Topological-Ordering", "Bellman-Ford", "Floyd-Warshall", "ShortestPath-LP",
+                String[] selection = {"Dijkstra's", "Bidirectional-Dijkstra", "Delta-Stepping", "A*-Search", "Contraction-Hierarchy", "ALT-Search", "Bread-First-Search","Depth-First-Search",
+                        "Topological-Ordering", "Bellman-Ford", "Floyd-Warshall", "Distance-Table", "ShortestPath-LP",
                         "Augmenting-Path", "Capacity-Scaling", "PreFlow-Push","MaximumFlow-LP"};
                 for (int index = 0; index < selection.length; index++) {
                     comboBox.addItem(selection[index]);
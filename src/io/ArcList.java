@@ -0,0 +1,48 @@
+package io;
+
+import java.util.Arrays;
+
+/*
+ * Growable tail/head/weight arrays collected by one parsed chunk.
+ */
+final class ArcList {
+
+    int[] tails = new int[1024];
+    int[] heads = new int[1024];
+    int[] weights = new int[1024];
+    int size;
+
+    void add(int tail, int head, int weight){
+        if (size == tails.length){
+            int capacity = tails.length * 2;
+            tails = Arrays.copyOf(tails, capacity);
+            heads = Arrays.copyOf(heads, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+        tails[size] = tail;
+        heads[size] = head;
+        weights[size] = weight;
+        size++;
+    }
+
+    /*
+     * Concatenates the chunk lists in file order.
+     */
+    static ArcList concat(Iterable<ArcList> lists){
+        int total = 0;
+        for (ArcList list : lists){
+            total += list.size;
+        }
+        ArcList all = new ArcList();
+        all.tails = new int[total];
+        all.heads = new int[total];
+        all.weights = new int[total];
+        for (ArcList list : lists){
+            System.arraycopy(list.tails, 0, all.tails, all.size, list.size);
+            System.arraycopy(list.heads, 0, all.heads, all.size, list.size);
+            System.arraycopy(list.weights, 0, all.weights, all.size, list.size);
+            all.size += list.size;
+        }
+        return all;
+    }
+}
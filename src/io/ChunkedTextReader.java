@@ -0,0 +1,79 @@
+package io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/*
+ * Splits a text file into chunks that end on line breaks, maps every chunk
+ * with FileChannel.map and parses the chunks in parallel on the common pool.
+ * Results are returned in file order.
+ */
+final class ChunkedTextReader {
+
+    static final int CHUNK_BYTES = 1 << 22;
+
+    interface ChunkParser<T> {
+        T parse(TextCursor cursor) throws IOException;
+    }
+
+    private ChunkedTextReader(){}
+
+    static <T> List<T> parse(Path path, ChunkParser<T> parser) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            List<Long> bounds = chunkBounds(channel);
+            try {
+                return IntStream.range(0, bounds.size() - 1).parallel().mapToObj(chunk -> {
+                    long start = bounds.get(chunk);
+                    long size = bounds.get(chunk + 1) - start;
+                    try {
+                        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+                        return parser.parse(new TextCursor(buffer, start));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }).collect(Collectors.toList());
+            } catch (UncheckedIOException e) {
+                throw new IOException(path.getFileName() + ": " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+    }
+
+    private static List<Long> chunkBounds(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(256);
+        long position = CHUNK_BYTES;
+        while (position < size){
+            long lineStart = nextLineStart(channel, position, probe);
+            if (lineStart >= size)
+                break;
+            bounds.add(lineStart);
+            position = lineStart + CHUNK_BYTES;
+        }
+        bounds.add(size);
+        return bounds;
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, ByteBuffer probe) throws IOException {
+        while (true){
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0)
+                return channel.size();
+            for (int i = 0; i < read; i++){
+                if (probe.get(i) == '\n')
+                    return position + i + 1;
+            }
+            position += read;
+        }
+    }
+}
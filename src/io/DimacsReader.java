@@ -0,0 +1,129 @@
+package io;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/*
+ * Reads DIMACS network files:
+ * - max-flow:      p max n m,  n id s,  n id t,  a u v capacity
+ * - shortest path: p sp n m,   a u v weight   (.gr files of the DIMACS challenge)
+ * Node ids run from 1 to n. The file is parsed in parallel chunks (see ChunkedTextReader).
+ * Parallel arcs are merged by summing capacities (max) or keeping the cheapest (sp).
+ */
+public class DimacsReader extends ImportedNetwork {
+
+    private String problem;
+
+    public DimacsReader(Path path) throws IOException {
+        List<Chunk> chunks = ChunkedTextReader.parse(path, DimacsReader::parseChunk);
+
+        int source = -1;
+        int sink = -1;
+        for (Chunk chunk : chunks){
+            if (chunk.problem != null){
+                if (problem != null)
+                    throw new IOException(path.getFileName() + ": more than one problem line");
+                problem = chunk.problem;
+                nodeCount = chunk.nodes;
+            }
+            if (chunk.source != -1)
+                source = chunk.source;
+            if (chunk.sink != -1)
+                sink = chunk.sink;
+        }
+        if (problem == null)
+            throw new IOException(path.getFileName() + ": problem line (p) is missing");
+        if (nodeCount < 0)
+            throw new IOException(path.getFileName() + ": invalid node count " + nodeCount);
+        if (source > nodeCount || sink > nodeCount)
+            throw new IOException(path.getFileName() + ": source or sink outside of 1.." + nodeCount);
+
+        List<ArcList> lists = new ArrayList<>(chunks.size());
+        for (Chunk chunk : chunks){
+            lists.add(chunk.arcs);
+        }
+        arcs = ArcList.concat(lists);
+        int n = nodeCount;
+        int[] tails = arcs.tails;
+        int[] heads = arcs.heads;
+        boolean valid = IntStream.range(0, arcs.size).parallel().allMatch(i -> {
+            tails[i]--;
+            heads[i]--;
+            return tails[i] >= 0 && tails[i] < n && heads[i] >= 0 && heads[i] < n;
+        });
+        if (!valid)
+            throw new IOException(path.getFileName() + ": arc with a node outside of 1.." + nodeCount);
+
+        nodeIds = new int[nodeCount];
+        for (int u = 0; u < nodeCount; u++){
+            nodeIds[u] = u + 1;
+        }
+        sourceIndex = source - 1;
+        destinationIndex = sink - 1;
+        parallelArcs = "max".equals(problem) ? SUM : KEEP_MIN;
+    }
+
+    /*
+     * Problem type of the p line, e.g. "max" or "sp".
+     */
+    public String getProblem(){
+        return problem;
+    }
+
+    private static Chunk parseChunk(TextCursor cursor) throws IOException {
+        Chunk chunk = new Chunk();
+        while (cursor.nextLine()){
+            cursor.skipBlanks();
+            switch (cursor.peek()){
+                case -1:
+                case 'c':
+                    break;
+                case 'a':
+                    cursor.skip();
+                    int tail = cursor.nextInt();
+                    int head = cursor.nextInt();
+                    cursor.skipBlanks();
+                    int weight = cursor.atLineEnd() ? 1 : cursor.nextInt();
+                    chunk.arcs.add(tail, head, weight);
+                    break;
+                case 'n':
+                    cursor.skip();
+                    int id = cursor.nextInt();
+                    // -1 marks a missing designation, so ids below 1 must not get through;
+                    // the p line may sit in another chunk, the upper bound is checked again after merging
+                    if (id < 1 || (chunk.nodes >= 0 && id > chunk.nodes))
+                        throw cursor.error("node " + id + " outside of 1.." + (chunk.nodes >= 0 ? chunk.nodes : "n"));
+                    String designation = cursor.nextWord();
+                    if (designation.equals("s"))
+                        chunk.source = id;
+                    else if (designation.equals("t"))
+                        chunk.sink = id;
+                    else
+                        throw cursor.error("node designation s or t expected");
+                    break;
+                case 'p':
+                    if (chunk.problem != null)
+                        throw cursor.error("second problem line");
+                    cursor.skip();
+                    chunk.problem = cursor.nextWord();
+                    chunk.nodes = cursor.nextInt();
+                    cursor.nextInt();
+                    break;
+                default:
+                    throw cursor.error("unknown line type '" + (char) cursor.peek() + "'");
+            }
+        }
+        return chunk;
+    }
+
+    private static final class Chunk {
+        private String problem;
+        private int nodes = -1;
+        private int source = -1;
+        private int sink = -1;
+        private final ArcList arcs = new ArcList();
+    }
+}
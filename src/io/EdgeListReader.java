@@ -0,0 +1,156 @@
+package io;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/*
+ * Reads plain edge lists, one arc per line: from, to and an optional weight (default 1).
+ * - Fields are separated by commas, semicolons, tabs or blanks (CSV / TSV / text)
+ * - Node labels may be plain ids or carry a prefix ("Node 12"), the trailing number is the id;
+ *   with blank separators a prefix word is joined to the number that follows it
+ * - A non numeric first line is taken as a header, lines starting with # are comments
+ * Nodes are numbered in ascending id order. The first of several parallel arcs is kept.
+ */
+public class EdgeListReader extends ImportedNetwork {
+
+    public EdgeListReader(Path path) throws IOException {
+        List<ArcList> chunks = ChunkedTextReader.parse(path, EdgeListReader::parseChunk);
+        arcs = ArcList.concat(chunks);
+
+        int[] ids = new int[2 * arcs.size];
+        System.arraycopy(arcs.tails, 0, ids, 0, arcs.size);
+        System.arraycopy(arcs.heads, 0, ids, arcs.size, arcs.size);
+        Arrays.parallelSort(ids);
+        int distinct = 0;
+        for (int i = 0; i < ids.length; i++){
+            if (i == 0 || ids[i] != ids[i - 1])
+                ids[distinct++] = ids[i];
+        }
+        nodeIds = Arrays.copyOf(ids, distinct);
+        nodeCount = distinct;
+
+        int[] tails = arcs.tails;
+        int[] heads = arcs.heads;
+        IntStream.range(0, arcs.size).parallel().forEach(i -> {
+            tails[i] = Arrays.binarySearch(nodeIds, tails[i]);
+            heads[i] = Arrays.binarySearch(nodeIds, heads[i]);
+        });
+        parallelArcs = KEEP_FIRST;
+    }
+
+    private static ArcList parseChunk(TextCursor cursor) throws IOException {
+        ArcList arcs = new ArcList();
+        int[] fields = new int[6];
+        while (cursor.nextLine()){
+            cursor.skipBlanks();
+            if (cursor.atLineEnd() || cursor.peek() == '#')
+                continue;
+            int count = split(cursor, fields);
+            if (count < 2)
+                throw cursor.error("from and to expected");
+
+            int fromDigits = trailingNumber(cursor, fields[0], fields[1]);
+            int toDigits = trailingNumber(cursor, fields[2], fields[3]);
+            if (fromDigits < 0 || toDigits < 0){
+                if (cursor.isFirstLineOfFile())
+                    continue;
+                throw cursor.error("node id expected");
+            }
+            int from = cursor.parseInt(fromDigits, fields[1], false);
+            int to = cursor.parseInt(toDigits, fields[3], false);
+            int weight = count > 2 ? cursor.parseInt(fields[4], fields[5], true) : 1;
+            arcs.add(from, to, weight);
+        }
+        return arcs;
+    }
+
+    /*
+     * Stores start/end of the first three fields of the line, returns the number of fields.
+     */
+    private static int split(TextCursor cursor, int[] fields){
+        int start = cursor.getPosition();
+        int end = cursor.getLineEnd();
+        byte separator = ' ';
+        for (int i = start; i < end; i++){
+            byte b = cursor.byteAt(i);
+            if (b == ',' || b == ';' || b == '\t'){
+                separator = b;
+                break;
+            }
+        }
+
+        int count = 0;
+        int i = start;
+        while (i < end){
+            int fieldStart = i;
+            int fieldEnd = i;
+            while (fieldEnd < end && !isSeparator(cursor.byteAt(fieldEnd), separator)){
+                fieldEnd++;
+            }
+            if (separator == ' ' && fieldEnd > fieldStart && !isDigit(cursor.byteAt(fieldEnd - 1))){
+                // a label prefix ("Node 12"): the word joins the number after it
+                int next = fieldEnd;
+                while (next < end && isBlank(cursor.byteAt(next))){
+                    next++;
+                }
+                if (next < end && isDigit(cursor.byteAt(next))){
+                    fieldEnd = next;
+                    while (fieldEnd < end && !isBlank(cursor.byteAt(fieldEnd))){
+                        fieldEnd++;
+                    }
+                }
+            }
+            int trimmedStart = fieldStart;
+            int trimmedEnd = fieldEnd;
+            while (trimmedStart < trimmedEnd && isBlank(cursor.byteAt(trimmedStart))){
+                trimmedStart++;
+            }
+            while (trimmedEnd > trimmedStart && isBlank(cursor.byteAt(trimmedEnd - 1))){
+                trimmedEnd--;
+            }
+            if (count < 3){
+                fields[2 * count] = trimmedStart;
+                fields[2 * count + 1] = trimmedEnd;
+            }
+            if (separator != ' ' || trimmedEnd > trimmedStart)
+                count++;
+            i = fieldEnd + 1;
+            if (separator == ' '){
+                while (i < end && isBlank(cursor.byteAt(i))){
+                    i++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static boolean isSeparator(byte b, byte separator){
+        return separator == ' ' ? isBlank(b) : b == separator;
+    }
+
+    private static boolean isDigit(byte b){
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean isBlank(byte b){
+        return b == ' ' || b == '\t' || b == '"';
+    }
+
+    /*
+     * Start of the number a label ends with ("12", "-3", "Node 12"), -1 if it has none.
+     */
+    private static int trailingNumber(TextCursor cursor, int start, int end){
+        int i = end;
+        while (i > start && isDigit(cursor.byteAt(i - 1))){
+            i--;
+        }
+        if (i == end)
+            return -1;
+        if (i - 1 == start && cursor.byteAt(start) == '-')
+            return start;
+        return i;
+    }
+}
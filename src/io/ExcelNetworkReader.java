@@ -0,0 +1,493 @@
+package io;
+
+import models.Edge;
+import models.Graph;
+import models.Node;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/*
+ * Reads a network from the first sheet of an Excel workbook, without any Swing classes
+ * so it can be used by the GUI as well as headless.
+ * - Matrix layout: header row of node names, one row per node, "INF" or 0 for no edge
+ * - Edge list layout: header starting with "From", then From, To, Weight rows
+ * .xlsx files are streamed with POI's event (SAX) reader, .xls files are read as a workbook.
+ */
+public class ExcelNetworkReader {
+
+    private final Path path;
+
+    private Graph graph;
+
+    private List<String> nodeNames;
+
+    private List<Node> nodes;
+
+    public ExcelNetworkReader(Path path){
+        this.path = path;
+    }
+
+    /*
+     * Replaces the content of the graph with the network of the workbook.
+     */
+    public void readInto(Graph graph) throws IOException {
+        this.graph = graph;
+        nodeNames = new ArrayList<>();
+        nodes = new ArrayList<>();
+        try {
+            if (path.getFileName().toString().toLowerCase().endsWith(".xlsx"))
+                streamWorkbook();
+            else
+                readWorkbook();
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Cannot read " + path.getFileName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void readWorkbook() throws IOException {
+        try (InputStream input = Files.newInputStream(path);
+             Workbook workbook = WorkbookFactory.create(input)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            graph.clear();
+
+            Row headerRow = sheet.getRow(0);
+            if (headerRow == null)
+                return;
+            Cell first = headerRow.getCell(0);
+            if (first != null && first.toString().trim().equalsIgnoreCase("From")) {
+                readEdgeList(sheet);
+                return;
+            }
+            for (Cell cell : headerRow) {
+                String str = cell.toString();
+                if(!str.contains("Name")){
+                    nodeNames.add(cell.toString());
+                }
+            }
+            createNodes();
+
+            for (int i = 1; i <= sheet.getLastRowNum() && i <= nodes.size(); i++) {
+                Row row = sheet.getRow(i);
+                if (row == null)
+                    continue;
+                for (int j = 1; j < row.getLastCellNum() && j <= nodes.size(); j++) {
+                    Cell cell = row.getCell(j);
+                    String cellValue = cell != null ? cell.toString() : "";
+                    if(!cellValue.isEmpty() && !cellValue.equals("INF") && !cellValue.equals("0.0")){
+                        int weight = (int)Double.parseDouble(cellValue);
+                        graph.addEdge(createEdge(nodes.get(i-1), nodes.get(j-1), weight));
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * Edge list sheet of an .xls workbook: From, To, Weight rows below the header,
+     * a missing weight counts as 1.
+     */
+    private void readEdgeList(Sheet sheet){
+        int[] arcs = new int[48];
+        int size = 0;
+        for (int i = 1; i <= sheet.getLastRowNum(); i++) {
+            Row row = sheet.getRow(i);
+            if (row == null)
+                continue;
+            int from = getNodeId(cellText(row.getCell(0)), -1);
+            int to = getNodeId(cellText(row.getCell(1)), -1);
+            if (from < 0 || to < 0)
+                continue;
+            String weight = cellText(row.getCell(2));
+            if (size + 3 > arcs.length)
+                arcs = Arrays.copyOf(arcs, arcs.length * 2);
+            arcs[size++] = from;
+            arcs[size++] = to;
+            arcs[size++] = weight.isEmpty() ? 1 : (int) Double.parseDouble(weight);
+        }
+        createEdgeList(arcs, size);
+    }
+
+    /*
+     * Text of a cell, numbers without the ".0" POI appends to whole values.
+     */
+    private static String cellText(Cell cell){
+        if (cell == null)
+            return "";
+        if (cell.getCellType() == CellType.NUMERIC) {
+            double value = cell.getNumericCellValue();
+            return value == Math.rint(value) ? String.valueOf((long) value) : String.valueOf(value);
+        }
+        return cell.toString().trim();
+    }
+
+    /*
+     * Nodes for the ids of an edge list in ascending order, then the edges;
+     * arcs holds (from id, to id, weight) triples.
+     */
+    private void createEdgeList(int[] arcs, int size){
+        TreeSet<Integer> ids = new TreeSet<>();
+        for (int k = 0; k < size; k += 3) {
+            ids.add(arcs[k]);
+            ids.add(arcs[k + 1]);
+        }
+        Map<Integer, Integer> indexOf = new HashMap<>();
+        for (int id : ids) {
+            indexOf.put(id, nodeNames.size());
+            nodeNames.add("Node " + id);
+        }
+        createNodes();
+        for (int k = 0; k < size; k += 3) {
+            Node one = nodes.get(indexOf.get(arcs[k]));
+            Node two = nodes.get(indexOf.get(arcs[k + 1]));
+            graph.addEdge(createEdge(one, two, arcs[k + 2]));
+        }
+    }
+
+    /*
+     * Streaming import of .xlsx files:
+     * - The first sheet is read with POI's event (SAX) reader, no workbook or cell objects are built
+     * - Numeric cells are parsed straight from the XML characters
+     * - "INF" and 0 cells are skipped, other cells become edges right away
+     * Memory grows with the number of edges, not with the size of the matrix.
+     */
+    private void streamWorkbook() throws Exception {
+        try (OPCPackage pkg = OPCPackage.open(path.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            List<String> sharedStrings = readSharedStrings(reader);
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext())
+                return;
+            graph.clear();
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new MatrixSheetHandler(sharedStrings));
+                parser.parse(new InputSource(sheet));
+            }
+        }
+    }
+
+    private void createNodes(){
+        int x = 4200;
+        int y = 250;
+        int ratio = 0;
+        Set<Integer> ids = new HashSet<>();
+        for (String str : nodeNames){
+            int id = getNodeId(str, nodes.size() + 1);
+            if (!ids.add(id)){
+                id = nodes.size() + 1;
+                while (!ids.add(id))
+                    id++;
+            }
+            Node node = new Node(id);
+            node.setCoord(x,y);
+            nodes.add(node);
+            if (ratio % 2 == 0){
+                x+=150;
+                y=400;
+            }else{
+                x+=180;
+                y=100;
+            }
+            ratio++;
+        }
+
+        int nextNodeId = 1;
+        for (Node node : nodes){
+            nextNodeId = Math.max(nextNodeId, node.getId() + 1);
+        }
+        graph.restore(nodes, new ArrayList<>(), nodes.isEmpty() ? null : nodes.get(0), null, nextNodeId);
+    }
+
+    /*
+     * Plain text of the shared strings table (xl/sharedStrings.xml), read with SAX
+     * so no OOXML schema classes are needed.
+     */
+    private static List<String> readSharedStrings(XSSFReader reader) throws Exception {
+        List<String> strings = new ArrayList<>();
+        InputStream data;
+        try {
+            data = reader.getSharedStringsData();
+        } catch (Exception e) {
+            return strings;
+        }
+        if (data == null)
+            return strings;
+        try (InputStream input = data) {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new DefaultHandler() {
+                private final StringBuilder text = new StringBuilder();
+                private boolean collecting;
+                private boolean phonetic;
+
+                @Override
+                public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                    if (localName.equals("si"))
+                        text.setLength(0);
+                    else if (localName.equals("rPh"))
+                        phonetic = true;
+                    else if (localName.equals("t") && !phonetic)
+                        collecting = true;
+                }
+
+                @Override
+                public void characters(char[] ch, int start, int length) {
+                    if (collecting)
+                        text.append(ch, start, length);
+                }
+
+                @Override
+                public void endElement(String uri, String localName, String qName) {
+                    if (localName.equals("t"))
+                        collecting = false;
+                    else if (localName.equals("rPh"))
+                        phonetic = false;
+                    else if (localName.equals("si"))
+                        strings.add(text.toString());
+                }
+            });
+            parser.parse(new InputSource(input));
+        }
+        return strings;
+    }
+
+    /*
+     * SAX handler for the adjacency matrix sheet. Cell text is collected in one
+     * reusable buffer and shared "INF" cells are recognized by their index, so
+     * skipped cells do not allocate.
+     * A sheet whose header starts with "From" is read as an edge list
+     * (From, To, Weight), as written by ExportExcel for sparse networks.
+     */
+    private class MatrixSheetHandler extends DefaultHandler {
+
+        private final List<String> sharedStrings;
+        private final boolean[] skippedStrings;
+        private final StringBuilder text = new StringBuilder();
+
+        private int row = -1;
+        private int column;
+        private String type;
+        private boolean collecting;
+
+        private boolean edgeList;
+        private int[] edgeListArcs = new int[48];
+        private int edgeListSize;
+        private int from;
+        private int to;
+        private int edgeWeight;
+
+        MatrixSheetHandler(List<String> sharedStrings){
+            this.sharedStrings = sharedStrings;
+            skippedStrings = new boolean[sharedStrings.size()];
+            for (int k = 0; k < sharedStrings.size(); k++) {
+                String value = sharedStrings.get(k);
+                skippedStrings[k] = value.equals("INF") || value.equals("0.0") || value.isEmpty();
+            }
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if (localName.equals("row")) {
+                String reference = attributes.getValue("r");
+                row = reference != null ? Integer.parseInt(reference) - 1 : row + 1;
+                column = -1;
+                from = -1;
+                to = -1;
+                edgeWeight = 1;
+            } else if (localName.equals("c")) {
+                String reference = attributes.getValue("r");
+                column = reference != null ? columnOf(reference) : column + 1;
+                type = attributes.getValue("t");
+                text.setLength(0);
+            } else if (localName.equals("v") || (localName.equals("t") && "inlineStr".equals(type))) {
+                collecting = true;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collecting)
+                text.append(ch, start, length);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            if (localName.equals("v") || localName.equals("t")) {
+                collecting = false;
+            } else if (localName.equals("c")) {
+                cell();
+            } else if (localName.equals("row") && row == 0) {
+                if (!edgeList)
+                    createNodes();
+            } else if (localName.equals("row") && edgeList && from >= 0 && to >= 0) {
+                if (edgeListSize + 3 > edgeListArcs.length)
+                    edgeListArcs = Arrays.copyOf(edgeListArcs, edgeListArcs.length * 2);
+                edgeListArcs[edgeListSize++] = from;
+                edgeListArcs[edgeListSize++] = to;
+                edgeListArcs[edgeListSize++] = edgeWeight;
+            }
+        }
+
+        @Override
+        public void endDocument() {
+            if (edgeList)
+                createEdgeList(edgeListArcs, edgeListSize);
+        }
+
+        private void edgeListCell() {
+            if (text.length() == 0 || column > 2)
+                return;
+            String value = "s".equals(type) ? sharedString() : text.toString();
+            if (column == 0)
+                from = getNodeId(value, -1);
+            else if (column == 1)
+                to = getNodeId(value, -1);
+            else
+                edgeWeight = (int) Double.parseDouble(value.trim());
+        }
+
+        private void cell() {
+            boolean string = "s".equals(type) || "inlineStr".equals(type) || "str".equals(type);
+            if (row == 0) {
+                String header = "s".equals(type) ? sharedString() : text.toString();
+                if (column == 0 && header.trim().equalsIgnoreCase("From"))
+                    edgeList = true;
+                if (!edgeList && !header.contains("Name"))
+                    nodeNames.add(header);
+                return;
+            }
+            if (edgeList) {
+                edgeListCell();
+                return;
+            }
+            if (column < 1 || text.length() == 0 || "b".equals(type) || "e".equals(type))
+                return;
+            int i = row - 1;
+            int j = column - 1;
+            if (i >= nodes.size() || j >= nodes.size())
+                return;
+
+            int weight;
+            if ("s".equals(type)) {
+                int index = parseWeight();
+                if (index < 0 || index >= skippedStrings.length || skippedStrings[index])
+                    return;
+                weight = (int) Double.parseDouble(sharedStrings.get(index).trim());
+            } else if (string) {
+                if (contentEquals("INF") || contentEquals("0.0"))
+                    return;
+                weight = parseWeight();
+            } else {
+                weight = parseWeight();
+                if (weight == 0 && isZero())
+                    return;
+            }
+            graph.addEdge(createEdge(nodes.get(i), nodes.get(j), weight));
+        }
+
+        private String sharedString() {
+            int index = parseWeight();
+            return index >= 0 && index < sharedStrings.size() ? sharedStrings.get(index) : "";
+        }
+
+        private boolean contentEquals(String value) {
+            if (text.length() != value.length())
+                return false;
+            for (int k = 0; k < value.length(); k++) {
+                if (text.charAt(k) != value.charAt(k))
+                    return false;
+            }
+            return true;
+        }
+
+        private boolean isZero() {
+            for (int k = 0; k < text.length(); k++) {
+                char c = text.charAt(k);
+                if (c != '0' && c != '.' && c != '-' && c != '+')
+                    return false;
+            }
+            return true;
+        }
+
+        /*
+         * Integer part of the cell value, like (int) Double.parseDouble(...) but
+         * without creating a String for plain decimal numbers.
+         */
+        private int parseWeight() {
+            long value = 0;
+            int k = 0;
+            boolean negative = false;
+            if (text.charAt(0) == '-' || text.charAt(0) == '+') {
+                negative = text.charAt(0) == '-';
+                k++;
+            }
+            for (; k < text.length(); k++) {
+                char c = text.charAt(k);
+                if (c == '.')
+                    break;
+                if (c < '0' || c > '9' || value > Integer.MAX_VALUE)
+                    return (int) Double.parseDouble(text.toString().trim());
+                value = value * 10 + (c - '0');
+            }
+            for (k++; k < text.length(); k++) {
+                char c = text.charAt(k);
+                if (c < '0' || c > '9')
+                    return (int) Double.parseDouble(text.toString().trim());
+            }
+            return (int) (negative ? -value : value);
+        }
+    }
+
+    private static int columnOf(String reference) {
+        int column = 0;
+        for (int k = 0; k < reference.length() && Character.isLetter(reference.charAt(k)); k++) {
+            column = column * 26 + (Character.toUpperCase(reference.charAt(k)) - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    /*
+     * Id from the trailing number of a header such as "Node 12",
+     * the fallback if the header has no number.
+     */
+    private static int getNodeId(String header, int fallback){
+        int end = header.trim().length();
+        int start = end;
+        while (start > 0 && Character.isDigit(header.trim().charAt(start - 1)))
+            start--;
+        if (start == end)
+            return fallback;
+        try {
+            return Integer.parseInt(header.trim().substring(start, end));
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+    private static Edge createEdge(Node one, Node two, int weight){
+        Edge edge = new Edge(one,two);
+        edge.setWeight(weight);
+        return edge;
+    }
+}
@@ -0,0 +1,67 @@
+package io;
+
+import java.nio.ByteOrder;
+
+/*
+ * Layout of the binary network file (.gag), all values little endian ints:
+ *
+ *   header (64 bytes)  magic, format version, flags, node count n, arc count m,
+ *                      source index, destination index, next node id,
+ *                      landmark count k, reserved
+ *   node ids           n
+ *   node coordinates   2n (x, y)
+ *   offsets            n+1   CSR: outgoing arcs of node u are offsets[u] .. offsets[u+1]-1
+ *   targets            m
+ *   weights            m
+ *   edge order         m     position of the arc's edge in Graph.getEdges()
+ *   flow               m     only if FLAG_FLOW is set
+ *   landmarks          k     node indices              \
+ *   landmark distances k*n   from landmark i to node v  > only if FLAG_LANDMARKS is set
+ *   landmark distances k*n   from node v to landmark i /
+ *
+ * Every section starts at a multiple of 8 bytes so it can be mapped and
+ * viewed as an IntBuffer directly. Readers refuse files with a newer version;
+ * optional sections are appended at the end, so flags alone do not need one.
+ */
+final class GraphFileFormat {
+
+    static final int MAGIC = 0x47414746; // "GAGF"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 64;
+
+    static final int FLAG_FLOW = 1;
+    static final int FLAG_LANDMARKS = 2;
+
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final String EXTENSION = "gag";
+
+    private GraphFileFormat(){}
+
+    static long sectionBytes(long ints){
+        long bytes = ints * Integer.BYTES;
+        return (bytes + 7) & ~7L;
+    }
+
+    static long[] sectionOffsets(int n, int m, boolean flow, int landmarks){
+        long[] sizes = {n, 2L * n, n + 1L, m, m, m, flow ? m : 0, landmarks, (long) landmarks * n, (long) landmarks * n};
+        long[] offsets = new long[sizes.length + 1];
+        offsets[0] = HEADER_BYTES;
+        for (int i = 0; i < sizes.length; i++){
+            offsets[i + 1] = offsets[i] + sectionBytes(sizes[i]);
+        }
+        return offsets;
+    }
+
+    static final int IDS = 0;
+    static final int COORDINATES = 1;
+    static final int OFFSETS = 2;
+    static final int TARGETS = 3;
+    static final int WEIGHTS = 4;
+    static final int EDGE_ORDER = 5;
+    static final int FLOW = 6;
+    static final int LANDMARKS = 7;
+    static final int LANDMARKS_FROM = 8;
+    static final int LANDMARKS_TO = 9;
+    static final int END = 10;
+}
@@ -0,0 +1,188 @@
+package io;
+
+import models.Edge;
+import models.Graph;
+import models.LandmarkTable;
+import models.Node;
+import models.OffHeapGraph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Opens a binary network file (see GraphFileFormat) through FileChannel.map.
+ * - Every section is mapped read-only and viewed as an IntBuffer, nothing is copied on open
+ * - getTopology() runs the engines straight on the mapped CSR arrays
+ * - readInto(graph) builds the Node/Edge objects for the editor, and restores
+ *   the landmark table if the file has one
+ */
+public class GraphFileReader {
+
+    private final int flags;
+    private final int nodeCount;
+    private final int edgeCount;
+    private final int sourceIndex;
+    private final int destinationIndex;
+    private final int nextNodeId;
+    private final int landmarkCount;
+
+    private final IntBuffer ids;
+    private final IntBuffer coordinates;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final IntBuffer weights;
+    private final IntBuffer edgeOrder;
+    private final IntBuffer flows;
+    private final IntBuffer landmarks;
+    private final IntBuffer landmarksFrom;
+    private final IntBuffer landmarksTo;
+
+    public GraphFileReader(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < GraphFileFormat.HEADER_BYTES)
+                throw new IOException("Not a network file: " + path);
+            IntBuffer header = map(channel, 0, GraphFileFormat.HEADER_BYTES);
+            if (header.get(0) != GraphFileFormat.MAGIC)
+                throw new IOException("Not a network file: " + path);
+            if (header.get(1) > GraphFileFormat.VERSION)
+                throw new IOException("Unsupported network file version " + header.get(1) + ": " + path);
+            flags = header.get(2);
+            nodeCount = header.get(3);
+            edgeCount = header.get(4);
+            sourceIndex = header.get(5);
+            destinationIndex = header.get(6);
+            nextNodeId = header.get(7);
+            landmarkCount = (flags & GraphFileFormat.FLAG_LANDMARKS) != 0 ? header.get(8) : 0;
+            if (nodeCount < 0 || edgeCount < 0 || landmarkCount < 0 || landmarkCount > nodeCount)
+                throw new IOException("Corrupt network file header: " + path);
+
+            long[] sections = GraphFileFormat.sectionOffsets(nodeCount, edgeCount, hasFlow(), landmarkCount);
+            if (channel.size() < sections[GraphFileFormat.END])
+                throw new IOException("Truncated network file: " + path);
+
+            ids = map(channel, sections[GraphFileFormat.IDS], 4L * nodeCount);
+            coordinates = map(channel, sections[GraphFileFormat.COORDINATES], 8L * nodeCount);
+            offsets = map(channel, sections[GraphFileFormat.OFFSETS], 4L * (nodeCount + 1));
+            targets = map(channel, sections[GraphFileFormat.TARGETS], 4L * edgeCount);
+            weights = map(channel, sections[GraphFileFormat.WEIGHTS], 4L * edgeCount);
+            edgeOrder = map(channel, sections[GraphFileFormat.EDGE_ORDER], 4L * edgeCount);
+            flows = hasFlow() ? map(channel, sections[GraphFileFormat.FLOW], 4L * edgeCount) : null;
+            if (hasLandmarks()){
+                long rows = 4L * landmarkCount * nodeCount;
+                landmarks = map(channel, sections[GraphFileFormat.LANDMARKS], 4L * landmarkCount);
+                landmarksFrom = map(channel, sections[GraphFileFormat.LANDMARKS_FROM], rows);
+                landmarksTo = map(channel, sections[GraphFileFormat.LANDMARKS_TO], rows);
+            } else {
+                landmarks = landmarksFrom = landmarksTo = null;
+            }
+        }
+    }
+
+    private static IntBuffer map(FileChannel channel, long position, long bytes) throws IOException {
+        if (bytes > Integer.MAX_VALUE)
+            throw new IOException("Network file section exceeds 2 GB");
+        ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, bytes);
+        return mapped.order(GraphFileFormat.ORDER).asIntBuffer();
+    }
+
+    public int getNodeCount(){
+        return nodeCount;
+    }
+
+    public int getEdgeCount(){
+        return edgeCount;
+    }
+
+    public int getSourceIndex(){
+        return sourceIndex;
+    }
+
+    public int getDestinationIndex(){
+        return destinationIndex;
+    }
+
+    public boolean hasFlow(){
+        return (flags & GraphFileFormat.FLAG_FLOW) != 0;
+    }
+
+    public boolean hasLandmarks(){
+        return landmarkCount > 0;
+    }
+
+    /*
+     * The stored landmark table copied to the heap, null if the file has none.
+     */
+    public LandmarkTable getLandmarks() throws IOException {
+        if (!hasLandmarks())
+            return null;
+        int[] nodes = new int[landmarkCount];
+        int[][] from = new int[landmarkCount][nodeCount];
+        int[][] to = new int[landmarkCount][nodeCount];
+        for (int i = 0; i < landmarkCount; i++){
+            nodes[i] = landmarks.get(i);
+            if (nodes[i] < 0 || nodes[i] >= nodeCount)
+                throw new IOException("Corrupt network file: invalid landmark " + nodes[i]);
+            landmarksFrom.get(i * nodeCount, from[i]);
+            landmarksTo.get(i * nodeCount, to[i]);
+        }
+        return new LandmarkTable(nodes, from, to);
+    }
+
+    /*
+     * Flow of a CSR arc, as stored by GraphFileWriter.setFlow (0 if the file has no flow section).
+     */
+    public int getFlow(int arc){
+        return flows == null ? 0 : flows.get(arc);
+    }
+
+    /*
+     * Zero-copy view of the stored CSR arrays.
+     */
+    public OffHeapGraph getTopology(){
+        return OffHeapGraph.wrap(nodeCount, offsets, targets, weights);
+    }
+
+    /*
+     * Replaces the content of the graph with the stored network, keeping node
+     * ids, coordinates, edge order, source and destination.
+     */
+    public void readInto(Graph graph) throws IOException {
+        List<Node> nodes = new ArrayList<>(nodeCount);
+        for (int u = 0; u < nodeCount; u++){
+            Node node = new Node(ids.get(u));
+            node.setCoord(coordinates.get(2 * u), coordinates.get(2 * u + 1));
+            nodes.add(node);
+        }
+
+        if (offsets.get(0) != 0 || offsets.get(nodeCount) != edgeCount)
+            throw new IOException("Corrupt network file: arc count does not match offsets");
+
+        Edge[] edges = new Edge[edgeCount];
+        for (int u = 0; u < nodeCount; u++){
+            int begin = offsets.get(u);
+            int end = offsets.get(u + 1);
+            if (begin < 0 || begin > end || end > edgeCount)
+                throw new IOException("Corrupt network file: invalid offsets of node " + u);
+            for (int arc = begin; arc < end; arc++){
+                int v = targets.get(arc);
+                int position = edgeOrder.get(arc);
+                if (v < 0 || v >= nodeCount || position < 0 || position >= edgeCount || edges[position] != null)
+                    throw new IOException("Corrupt network file: invalid arc " + arc);
+                Edge edge = new Edge(nodes.get(u), nodes.get(v));
+                edge.setWeight(weights.get(arc));
+                edges[position] = edge;
+            }
+        }
+        Node source = sourceIndex >= 0 && sourceIndex < nodeCount ? nodes.get(sourceIndex) : null;
+        Node destination = destinationIndex >= 0 && destinationIndex < nodeCount ? nodes.get(destinationIndex) : null;
+        graph.restore(nodes, new ArrayList<>(Arrays.asList(edges)), source, destination, nextNodeId);
+        graph.setLandmarks(getLandmarks());
+    }
+}
@@ -0,0 +1,155 @@
+package io;
+
+import models.Adjacency;
+import models.Edge;
+import models.Graph;
+import models.LandmarkTable;
+import models.Node;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.ToIntFunction;
+
+/*
+ * Writes a graph in the binary network format (see GraphFileFormat) through
+ * a FileChannel, using one reusable direct buffer. The graph's landmark
+ * table, if it has one, is stored with it.
+ */
+public class GraphFileWriter {
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final Graph graph;
+    private ToIntFunction<Edge> flow;
+
+    private FileChannel channel;
+    private ByteBuffer buffer;
+    private long written;
+
+    public GraphFileWriter(Graph graph){
+        this.graph = graph;
+    }
+
+    /*
+     * Optional flow per edge, e.g. the result of a max-flow run, stored in the flow section.
+     */
+    public void setFlow(ToIntFunction<Edge> flow){
+        this.flow = flow;
+    }
+
+    public void write(Path path) throws IOException {
+        Adjacency adjacency = graph.getAdjacency();
+        int n = adjacency.getNodeCount();
+        int m = adjacency.getEdgeCount();
+        LandmarkTable landmarks = graph.getLandmarks();
+        int k = landmarks == null ? 0 : landmarks.getLandmarkCount();
+        long[] sections = GraphFileFormat.sectionOffsets(n, m, flow != null, k);
+
+        try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel = fileChannel;
+            buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(GraphFileFormat.ORDER);
+            written = 0;
+
+            putInt(GraphFileFormat.MAGIC);
+            putInt(GraphFileFormat.VERSION);
+            putInt((flow != null ? GraphFileFormat.FLAG_FLOW : 0) | (k > 0 ? GraphFileFormat.FLAG_LANDMARKS : 0));
+            putInt(n);
+            putInt(m);
+            putInt(indexOf(graph.getSource()));
+            putInt(indexOf(graph.getDestination()));
+            putInt(graph.getNextNodeId());
+            putInt(k);
+            pad(sections[GraphFileFormat.IDS]);
+
+            for (int u = 0; u < n; u++){
+                putInt(adjacency.getNode(u).getId());
+            }
+            pad(sections[GraphFileFormat.COORDINATES]);
+
+            for (int u = 0; u < n; u++){
+                Node node = adjacency.getNode(u);
+                putInt(node.getX());
+                putInt(node.getY());
+            }
+            pad(sections[GraphFileFormat.OFFSETS]);
+
+            for (int u = 0; u < n; u++){
+                putInt(adjacency.begin(u));
+            }
+            putInt(m);
+            pad(sections[GraphFileFormat.TARGETS]);
+
+            for (int arc = 0; arc < m; arc++){
+                putInt(adjacency.getTarget(arc));
+            }
+            pad(sections[GraphFileFormat.WEIGHTS]);
+
+            for (int arc = 0; arc < m; arc++){
+                putInt(adjacency.getWeight(arc));
+            }
+            pad(sections[GraphFileFormat.EDGE_ORDER]);
+
+            for (int arc = 0; arc < m; arc++){
+                putInt(adjacency.getEdge(arc).getIndex());
+            }
+            pad(sections[GraphFileFormat.FLOW]);
+
+            if (flow != null){
+                for (int arc = 0; arc < m; arc++){
+                    putInt(flow.applyAsInt(adjacency.getEdge(arc)));
+                }
+            }
+            pad(sections[GraphFileFormat.LANDMARKS]);
+
+            for (int i = 0; i < k; i++){
+                putInt(landmarks.getLandmark(i));
+            }
+            pad(sections[GraphFileFormat.LANDMARKS_FROM]);
+
+            for (int i = 0; i < k; i++){
+                for (int v = 0; v < n; v++)
+                    putInt(landmarks.getDistanceFrom(i, v));
+            }
+            pad(sections[GraphFileFormat.LANDMARKS_TO]);
+
+            for (int i = 0; i < k; i++){
+                for (int v = 0; v < n; v++)
+                    putInt(landmarks.getDistanceTo(i, v));
+            }
+            pad(sections[GraphFileFormat.END]);
+            flush();
+        } finally {
+            channel = null;
+            buffer = null;
+        }
+    }
+
+    private static int indexOf(Node node){
+        return node == null ? -1 : node.getIndex();
+    }
+
+    private void putInt(int value) throws IOException {
+        if (buffer.remaining() < Integer.BYTES)
+            flush();
+        buffer.putInt(value);
+        written += Integer.BYTES;
+    }
+
+    private void pad(long offset) throws IOException {
+        while (written < offset){
+            putInt(0);
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()){
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
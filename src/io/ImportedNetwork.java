@@ -0,0 +1,133 @@
+package io;
+
+import models.Edge;
+import models.Graph;
+import models.Node;
+import models.OffHeapGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Network parsed from a text format (DIMACS, edge lists), nodes numbered 0..n-1.
+ * - readInto(graph) builds the editor graph, parallel arcs are merged into one edge
+ * - getTopology() keeps every arc as it was read and stores it off the heap
+ */
+public abstract class ImportedNetwork {
+
+    static final int KEEP_FIRST = 0;
+    static final int KEEP_MIN = 1;
+    static final int SUM = 2;
+
+    private static final int ORIGIN_X = 4200;
+    private static final int ORIGIN_Y = 100;
+    private static final int SPACING = 150;
+
+    int nodeCount;
+    int[] nodeIds;
+    ArcList arcs = new ArcList();
+    int sourceIndex = -1;
+    int destinationIndex = -1;
+    int parallelArcs = KEEP_FIRST;
+
+    public int getNodeCount(){
+        return nodeCount;
+    }
+
+    public int getEdgeCount(){
+        return arcs.size;
+    }
+
+    public int getSourceIndex(){
+        return sourceIndex;
+    }
+
+    public int getDestinationIndex(){
+        return destinationIndex;
+    }
+
+    /*
+     * Replaces the content of the graph with the imported network. Nodes are
+     * laid out on a grid, self loops are dropped and parallel arcs are merged
+     * (first weight, minimum weight or summed capacity, depending on the format).
+     */
+    public void readInto(Graph graph){
+        List<Node> nodes = new ArrayList<>(nodeCount);
+        int columns = Math.max(1, (int) Math.ceil(Math.sqrt(nodeCount)));
+        int nextNodeId = 1;
+        for (int u = 0; u < nodeCount; u++){
+            Node node = new Node(nodeIds[u]);
+            node.setCoord(ORIGIN_X + (u % columns) * SPACING, ORIGIN_Y + (u / columns) * SPACING);
+            nodes.add(node);
+            nextNodeId = Math.max(nextNodeId, nodeIds[u] + 1);
+        }
+
+        int[] weights = Arrays.copyOf(arcs.weights, arcs.size);
+        int[] representative = mergeParallelArcs(weights);
+        List<Edge> edges = new ArrayList<>(arcs.size);
+        for (int i = 0; i < arcs.size; i++){
+            if (representative[i] != i)
+                continue;
+            Edge edge = new Edge(nodes.get(arcs.tails[i]), nodes.get(arcs.heads[i]));
+            edge.setWeight(weights[i]);
+            edges.add(edge);
+        }
+
+        Node source = sourceIndex >= 0 ? nodes.get(sourceIndex) : (nodeCount > 0 ? nodes.get(0) : null);
+        Node destination = destinationIndex >= 0 ? nodes.get(destinationIndex) : null;
+        graph.restore(nodes, edges, source, destination, nextNodeId);
+    }
+
+    /*
+     * For every arc the first arc with the same tail and head (itself if it is the
+     * first), -1 for self loops. Weights of parallel arcs are merged into the first one.
+     * Arcs are grouped by tail with a counting sort, so no pair map is needed.
+     */
+    private int[] mergeParallelArcs(int[] weights){
+        int[] offsets = new int[nodeCount + 1];
+        for (int i = 0; i < arcs.size; i++){
+            offsets[arcs.tails[i] + 1]++;
+        }
+        for (int u = 0; u < nodeCount; u++){
+            offsets[u + 1] += offsets[u];
+        }
+        int[] byTail = new int[arcs.size];
+        for (int i = 0; i < arcs.size; i++){
+            byTail[offsets[arcs.tails[i]]++] = i;
+        }
+
+        int[] representative = new int[arcs.size];
+        int[] seenFrom = new int[nodeCount];
+        int[] firstArc = new int[nodeCount];
+        Arrays.fill(seenFrom, -1);
+        for (int position = 0; position < arcs.size; position++){
+            int i = byTail[position];
+            int tail = arcs.tails[i];
+            int head = arcs.heads[i];
+            if (tail == head){
+                representative[i] = -1;
+            } else if (seenFrom[head] != tail){
+                seenFrom[head] = tail;
+                firstArc[head] = i;
+                representative[i] = i;
+            } else {
+                int first = firstArc[head];
+                representative[i] = first;
+                if (parallelArcs == KEEP_MIN)
+                    weights[first] = Math.min(weights[first], weights[i]);
+                else if (parallelArcs == SUM)
+                    weights[first] = (int) Math.min(Integer.MAX_VALUE, (long) weights[first] + weights[i]);
+            }
+        }
+        return representative;
+    }
+
+    public OffHeapGraph getTopology(){
+        OffHeapGraph.Builder builder = new OffHeapGraph.Builder(nodeCount, arcs.size);
+        for (int i = 0; i < arcs.size; i++){
+            builder.addEdge(arcs.tails[i], arcs.heads[i], arcs.weights[i]);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,33 @@
+package io;
+
+import models.Graph;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/*
+ * Picks the reader for a network file by its extension:
+ * - .gag                  binary network file
+ * - .max, .gr, .dimacs    DIMACS max-flow / shortest path
+ * - .xlsx, .xls           Excel matrix or edge list
+ * - anything else         plain edge list (.csv, .tsv, .txt)
+ */
+public class NetworkFiles {
+
+    public static final String[] EXTENSIONS = {"gag", "max", "gr", "dimacs", "xlsx", "xls", "csv", "tsv", "txt"};
+
+    private NetworkFiles(){}
+
+    public static void readInto(Path path, Graph graph) throws IOException {
+        String name = path.getFileName().toString().toLowerCase();
+        if (name.endsWith(".gag")) {
+            new GraphFileReader(path).readInto(graph);
+        } else if (name.endsWith(".max") || name.endsWith(".gr") || name.endsWith(".dimacs")) {
+            new DimacsReader(path).readInto(graph);
+        } else if (name.endsWith(".xlsx") || name.endsWith(".xls")) {
+            new ExcelNetworkReader(path).readInto(graph);
+        } else {
+            new EdgeListReader(path).readInto(graph);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package io;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Journal of algorithm runs, one JSON object per line (JSON Lines) in
+ * GraphAlgorithmsRuns_<yyyyMMdd>.jsonl of the log folder.
+ * - submit() only queues the entry, a background thread formats and writes it
+ * - The writer drains whatever is queued and flushes once per batch
+ * - Large payloads (distance matrices, big edge lists) go to side files
+ *   "<run id>-<name>.tsv" next to the journal, the entry records their file name
+ * Queued entries are written before the JVM exits.
+ */
+public class RunJournal {
+
+    private static final int BATCH = 64;
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter RUN_ID = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static RunJournal instance;
+
+    private final Path folder;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final Thread writerThread;
+    private final Entry closing = new Entry(this, "", null);
+
+    private BufferedWriter out;
+    private String day;
+
+    /*
+     * Writes side files of payloads. Called on the journal thread, the payload
+     * must not be changed after the entry is submitted.
+     */
+    public interface SideFile {
+        void write(Writer writer) throws IOException;
+    }
+
+    public static class Entry {
+        private final RunJournal journal;
+        private final String id;
+        private final Map<String, Object> fields = new LinkedHashMap<>();
+        private final Map<String, SideFile> sideFiles = new LinkedHashMap<>();
+
+        private Entry(RunJournal journal, String id, String algorithm){
+            this.journal = journal;
+            this.id = id;
+            fields.put("run", id);
+            fields.put("time", LocalDateTime.now().format(TIME));
+            fields.put("algorithm", algorithm);
+        }
+
+        /*
+         * Values are strings, numbers, booleans, null, int[], lists and maps of those.
+         */
+        public Entry put(String key, Object value){
+            fields.put(key, value);
+            return this;
+        }
+
+        /*
+         * Writes the payload to "<run id>-<name>.tsv", the entry gets its file name under key.
+         */
+        public Entry attach(String key, String name, SideFile sideFile){
+            String fileName = id + "-" + name + ".tsv";
+            fields.put(key, fileName);
+            sideFiles.put(fileName, sideFile);
+            return this;
+        }
+
+        public void submit(){
+            journal.queue.add(this);
+        }
+    }
+
+    public RunJournal(Path folder){
+        this.folder = folder;
+        writerThread = new Thread(this::drain, "run-journal");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /*
+     * The journal of the application, in Documents/GraphAlgorithmsOnGUILog
+     * (or ~/GraphAlgorithmsOnGUILog where there is no Documents folder convention).
+     */
+    public static synchronized RunJournal getInstance(){
+        if (instance == null){
+            String os = System.getProperty("os.name").toLowerCase();
+            String userHome = System.getProperty("user.home");
+            Path folder = os.contains("win") || os.contains("mac")
+                    ? Paths.get(userHome, "Documents", "GraphAlgorithmsOnGUILog")
+                    : Paths.get(userHome, "GraphAlgorithmsOnGUILog");
+            instance = new RunJournal(folder);
+            Runtime.getRuntime().addShutdownHook(new Thread(instance::close, "run-journal-close"));
+        }
+        return instance;
+    }
+
+    public Entry newEntry(String algorithm){
+        String id = LocalDateTime.now().format(RUN_ID) + "-" + sequence.incrementAndGet();
+        return new Entry(this, id, algorithm);
+    }
+
+    /*
+     * Writes everything queued so far and stops the writer, waits at most 5 seconds.
+     */
+    public void close(){
+        queue.add(closing);
+        try {
+            writerThread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain(){
+        List<Entry> batch = new ArrayList<>(BATCH);
+        try {
+            while (true){
+                batch.add(queue.take());
+                queue.drainTo(batch, BATCH - 1);
+                boolean done = false;
+                for (Entry entry : batch){
+                    if (entry == closing)
+                        done = true;
+                    else
+                        write(entry);
+                }
+                batch.clear();
+                flush();
+                if (done){
+                    if (out != null)
+                        out.close();
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void write(Entry entry){
+        try {
+            for (Map.Entry<String, SideFile> sideFile : entry.sideFiles.entrySet()){
+                Files.createDirectories(folder);
+                try (BufferedWriter writer = Files.newBufferedWriter(folder.resolve(sideFile.getKey()), StandardCharsets.UTF_8)) {
+                    sideFile.getValue().write(writer);
+                }
+            }
+            StringBuilder line = new StringBuilder(256);
+            appendValue(line, entry.fields);
+            line.append('\n');
+            journal().write(line.toString());
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void flush(){
+        try {
+            if (out != null)
+                out.flush();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /*
+     * The journal file of today, a new one is started after midnight.
+     */
+    private Writer journal() throws IOException {
+        String today = LocalDateTime.now().format(DAY);
+        if (out == null || !today.equals(day)){
+            if (out != null)
+                out.close();
+            Files.createDirectories(folder);
+            out = Files.newBufferedWriter(folder.resolve("GraphAlgorithmsRuns_" + today + ".jsonl"),
+                    StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            day = today;
+        }
+        return out;
+    }
+
+    private static void appendValue(StringBuilder json, Object value){
+        if (value == null){
+            json.append("null");
+        } else if (value instanceof Number || value instanceof Boolean){
+            json.append(value);
+        } else if (value instanceof int[]){
+            int[] values = (int[]) value;
+            json.append('[');
+            for (int i = 0; i < values.length; i++){
+                if (i > 0)
+                    json.append(',');
+                json.append(values[i]);
+            }
+            json.append(']');
+        } else if (value instanceof Map){
+            json.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> field : ((Map<?, ?>) value).entrySet()){
+                if (!first)
+                    json.append(',');
+                first = false;
+                appendString(json, String.valueOf(field.getKey()));
+                json.append(':');
+                appendValue(json, field.getValue());
+            }
+            json.append('}');
+        } else if (value instanceof Iterable){
+            json.append('[');
+            boolean first = true;
+            for (Object element : (Iterable<?>) value){
+                if (!first)
+                    json.append(',');
+                first = false;
+                appendValue(json, element);
+            }
+            json.append(']');
+        } else {
+            appendString(json, value.toString());
+        }
+    }
+
+    private static void appendString(StringBuilder json, String value){
+        json.append('"');
+        for (int i = 0; i < value.length(); i++){
+            char c = value.charAt(i);
+            switch (c){
+                case '"': json.append("\\\""); break;
+                case '\\': json.append("\\\\"); break;
+                case '\n': json.append("\\n"); break;
+                case '\r': json.append("\\r"); break;
+                case '\t': json.append("\\t"); break;
+                default:
+                    if (c < 0x20)
+                        json.append(String.format("\\u%04x", (int) c));
+                    else
+                        json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,145 @@
+package io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/*
+ * Line by line scanner over a mapped chunk of an ASCII text file.
+ * Numbers are parsed straight from the bytes, no Strings are created per line.
+ */
+final class TextCursor {
+
+    private final ByteBuffer buffer;
+    private final long base;
+    private final int limit;
+
+    private int lineStart;
+    private int lineEnd;
+    private int next;
+    private int position;
+
+    TextCursor(ByteBuffer buffer, long base){
+        this.buffer = buffer;
+        this.base = base;
+        this.limit = buffer.limit();
+    }
+
+    boolean nextLine(){
+        if (next >= limit)
+            return false;
+        lineStart = next;
+        int end = lineStart;
+        while (end < limit && buffer.get(end) != '\n'){
+            end++;
+        }
+        next = end + 1;
+        if (end > lineStart && buffer.get(end - 1) == '\r')
+            end--;
+        lineEnd = end;
+        position = lineStart;
+        return true;
+    }
+
+    boolean isFirstLineOfFile(){
+        return base == 0 && lineStart == 0;
+    }
+
+    void skipBlanks(){
+        while (position < lineEnd && (buffer.get(position) == ' ' || buffer.get(position) == '\t')){
+            position++;
+        }
+    }
+
+    boolean atLineEnd(){
+        return position >= lineEnd;
+    }
+
+    int peek(){
+        return position < lineEnd ? buffer.get(position) : -1;
+    }
+
+    void skip(){
+        position++;
+    }
+
+    int getPosition(){
+        return position;
+    }
+
+    void setPosition(int position){
+        this.position = position;
+    }
+
+    int getLineEnd(){
+        return lineEnd;
+    }
+
+    byte byteAt(int index){
+        return buffer.get(index);
+    }
+
+    /*
+     * Reads the next blank separated word of the line.
+     */
+    String nextWord(){
+        skipBlanks();
+        int start = position;
+        while (position < lineEnd && buffer.get(position) != ' ' && buffer.get(position) != '\t'){
+            position++;
+        }
+        byte[] word = new byte[position - start];
+        for (int i = 0; i < word.length; i++){
+            word[i] = buffer.get(start + i);
+        }
+        return new String(word, StandardCharsets.US_ASCII);
+    }
+
+    /*
+     * Reads the next blank separated integer of the line.
+     */
+    int nextInt() throws IOException {
+        skipBlanks();
+        return parseInt(position, lineEnd, true);
+    }
+
+    /*
+     * Parses an integer at start (optionally signed), leaves the cursor after it.
+     * A fraction is truncated when allowed, so "3.0" reads as 3.
+     */
+    int parseInt(int start, int end, boolean allowFraction) throws IOException {
+        position = start;
+        boolean negative = false;
+        if (position < end && (buffer.get(position) == '-' || buffer.get(position) == '+')){
+            negative = buffer.get(position) == '-';
+            position++;
+        }
+        int digitsStart = position;
+        long value = 0;
+        while (position < end){
+            int digit = buffer.get(position) - '0';
+            if (digit < 0 || digit > 9)
+                break;
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE + 1L)
+                throw error("number out of range");
+            position++;
+        }
+        if (position == digitsStart)
+            throw error("number expected");
+        if (allowFraction && position < end && buffer.get(position) == '.'){
+            position++;
+            while (position < end && buffer.get(position) >= '0' && buffer.get(position) <= '9'){
+                position++;
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE)
+            throw error("number out of range");
+        return (int) value;
+    }
+
+    IOException error(String message){
+        return new IOException(message + " in line at byte " + (base + lineStart));
+    }
+}
@@ -0,0 +1,95 @@
+package models;
+
+import java.util.List;
+
+/*
+ * Forward adjacency of a graph in compressed sparse row (CSR) layout.
+ * - Outgoing arcs of node u are stored at positions begin(u) .. end(u)-1
+ * - Nodes are addressed by their dense index (Node.getIndex())
+ * - Each arc keeps its target node index, its weight and the Edge it came from
+ * Built by Graph on demand and discarded as soon as the graph changes.
+ */
+public class Adjacency implements Topology {
+    private final Node[] nodes;
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    private final Edge[] edges;
+
+    Adjacency(List<Node> nodeList, List<Edge> edgeList){
+        int n = nodeList.size();
+        nodes = nodeList.toArray(new Node[0]);
+
+        int[] sources = new int[edgeList.size()];
+        int[] heads = new int[edgeList.size()];
+        Edge[] valid = new Edge[edgeList.size()];
+        offsets = new int[n + 1];
+        int count = 0;
+        for (Edge edge : edgeList){
+            int one = indexOf(edge.getNodeOne());
+            int two = indexOf(edge.getNodeTwo());
+            if (one < 0 || two < 0)
+                continue;
+            sources[count] = one;
+            heads[count] = two;
+            valid[count] = edge;
+            offsets[one + 1]++;
+            count++;
+        }
+        for (int i = 0; i < n; i++){
+            offsets[i + 1] += offsets[i];
+        }
+
+        targets = new int[count];
+        weights = new int[count];
+        edges = new Edge[count];
+        int[] position = new int[n];
+        System.arraycopy(offsets, 0, position, 0, n);
+        for (int i = 0; i < count; i++){
+            int arc = position[sources[i]]++;
+            targets[arc] = heads[i];
+            weights[arc] = valid[i].getWeight();
+            edges[arc] = valid[i];
+        }
+    }
+
+    public int getNodeCount(){
+        return nodes.length;
+    }
+
+    public int getEdgeCount(){
+        return targets.length;
+    }
+
+    public int indexOf(Node node){
+        int index = node.getIndex();
+        if (index < 0 || index >= nodes.length || nodes[index] != node)
+            return -1;
+        return index;
+    }
+
+    public Node getNode(int index){
+        return nodes[index];
+    }
+
+    public int begin(int node){
+        return offsets[node];
+    }
+
+    public int end(int node){
+        return offsets[node + 1];
+    }
+
+    public int getTarget(int arc){
+        return targets[arc];
+    }
+
+    public int getWeight(int arc){
+        return weights[arc];
+    }
+
+    public Edge getEdge(int arc){
+        return edges[arc];
+    }
+}
@@ -4,11 +4,8 @@ public class Edge {
     private Node one;
     private Node two;
     private int weight = 1;
-    private int residual;
-    private int flow;
-    private boolean isActive = true;
+    private int index = -1;
 
-    private boolean isBackward = false;
     public Edge(Node one, Node two){
         this.one = one;
         this.two = two;
@@ -30,47 +27,25 @@ public class Edge {
         return weight;
     }
 
-    public boolean hasNode(Node node){
-        return one==node || two==node;
-    }
-
-    public boolean equals(Edge edge) {
-        return (one ==edge.one && two ==edge.two) || (one ==edge.two && two ==edge.one) ;
-    }
-    public boolean equalsPreFlow(Edge edge) {
-        return (one ==edge.one && two ==edge.two) ;
-    }
-
-    public int getResidual() {
-        return residual;
-    }
-
-    public void setResidual(int residual) {
-        this.residual = residual;
+    /*
+     * Dense position of the edge inside its graph (0..m-1), kept in sync
+     * with Graph.getEdges() by the graph itself. -1 if the edge is not part
+     * of a graph.
+     */
+    public int getIndex(){
+        return index;
     }
 
-    public int getFlow() {
-        return flow;
+    void setIndex(int index){
+        this.index = index;
     }
 
-    public void setFlow(int flow) {
-        this.flow = flow;
-    }
-
-    public boolean isActive() {
-        return isActive;
-    }
-
-    public void setActive(boolean active) {
-        isActive = active;
-    }
-
-    public boolean isBackward() {
-        return isBackward;
+    public boolean hasNode(Node node){
+        return one==node || two==node;
     }
 
-    public void setBackward(boolean backward) {
-        isBackward = backward;
+    public boolean equals(Edge edge) {
+        return (one ==edge.one && two ==edge.two) || (one ==edge.two && two ==edge.one) ;
     }
 
     @Override
@@ -0,0 +1,101 @@
+package models;
+
+/*
+ * Hash index over the edges of a graph keyed on the packed (from, to) node id pair.
+ * - Directed lookups match only from -> to
+ * - Undirected lookups match from -> to as well as to -> from
+ * Open addressing with linear probing on primitive long keys, so indexing
+ * millions of imported edges does not box a Long per edge.
+ */
+class EdgeIndex {
+    private long[] keys = new long[16];
+    private Edge[] edges = new Edge[16];
+    private int size;
+
+    private static long key(Node from, Node to){
+        return ((long) from.getId() << 32) | (to.getId() & 0xFFFFFFFFL);
+    }
+
+    private static int hash(long key){
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int slot(long key){
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (edges[i] != null && keys[i] != key)
+            i = (i + 1) & mask;
+        return i;
+    }
+
+    Edge find(Node from, Node to){
+        return edges[slot(key(from, to))];
+    }
+
+    Edge findUndirected(Node one, Node two){
+        Edge edge = find(one, two);
+        return edge != null ? edge : find(two, one);
+    }
+
+    void add(Edge edge){
+        long key = key(edge.getNodeOne(), edge.getNodeTwo());
+        int i = slot(key);
+        if (edges[i] != null)
+            return;
+        keys[i] = key;
+        edges[i] = edge;
+        if (++size * 2 > keys.length)
+            resize(keys.length * 2);
+    }
+
+    void remove(Edge edge){
+        int i = slot(key(edge.getNodeOne(), edge.getNodeTwo()));
+        if (edges[i] != edge)
+            return;
+        edges[i] = null;
+        size--;
+
+        // shift back following entries of the probe sequence
+        int mask = keys.length - 1;
+        int j = i;
+        while (true){
+            j = (j + 1) & mask;
+            if (edges[j] == null)
+                return;
+            int home = hash(keys[j]) & mask;
+            if (((j - home) & mask) >= ((j - i) & mask)){
+                keys[i] = keys[j];
+                edges[i] = edges[j];
+                edges[j] = null;
+                i = j;
+            }
+        }
+    }
+
+    void rebuild(Iterable<Edge> all){
+        clear();
+        for (Edge edge : all)
+            add(edge);
+    }
+
+    void clear(){
+        keys = new long[16];
+        edges = new Edge[16];
+        size = 0;
+    }
+
+    private void resize(int capacity){
+        long[] oldKeys = keys;
+        Edge[] oldEdges = edges;
+        keys = new long[capacity];
+        edges = new Edge[capacity];
+        for (int i = 0; i < oldKeys.length; i++){
+            if (oldEdges[i] != null){
+                int j = slot(oldKeys[i]);
+                keys[j] = oldKeys[i];
+                edges[j] = oldEdges[i];
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package models;
 
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class Graph {
@@ -14,6 +15,16 @@ public class Graph {
 
     private boolean solved = false;
 
+    private long version = 0;
+    private long layoutVersion = 0;
+    private Adjacency adjacency;
+    private ReverseTopology reverseAdjacency;
+    private LandmarkTable landmarks;
+    private final EdgeIndex edgeIndex = new EdgeIndex();
+
+    private int[] inDegree = new int[16];
+    private int[] outDegree = new int[16];
+
     public void setSolved(boolean solved) {
         this.solved = solved;
     }
@@ -22,8 +33,21 @@ public class Graph {
         return solved;
     }
 
+    /*
+     * Modification counter: bumped by every change to the nodes, edges or
+     * edge weights, so results computed for one version can be reused
+     * until the network is edited again.
+     */
+    public long getVersion(){
+        return version;
+    }
+
     public void setNodes(List<Node> nodes){
         this.nodes = nodes;
+        reindex(0);
+        edgeIndex.rebuild(edges);
+        recountDegrees();
+        modified();
     }
 
     public List<Node> getNodes(){
@@ -32,27 +56,106 @@ public class Graph {
 
     public void setEdges(List<Edge> edges){
         this.edges = edges;
+        reindexEdges(0);
+        edgeIndex.rebuild(edges);
+        recountDegrees();
+        modified();
     }
 
     public List<Edge> getEdges(){
         return edges;
     }
 
+    /*
+     * Id the next added node will get.
+     */
+    public int getNextNodeId(){
+        return count;
+    }
+
+    /*
+     * Replaces the whole network in one step and keeps the ids of the given
+     * nodes, e.g. when a saved network is loaded back.
+     */
+    public void restore(List<Node> nodes, List<Edge> edges, Node source, Node destination, int nextNodeId){
+        clear();
+        this.nodes.addAll(nodes);
+        reindex(0);
+        this.edges.addAll(edges);
+        reindexEdges(0);
+        edgeIndex.rebuild(this.edges);
+        recountDegrees();
+        count = nextNodeId;
+        if(source != null && contains(source))
+            this.source = source;
+        if(destination != null && contains(destination))
+            this.destination = destination;
+        modified();
+    }
+
+    public synchronized Adjacency getAdjacency(){
+        if(adjacency == null)
+            adjacency = new Adjacency(nodes, edges);
+        return adjacency;
+    }
+
+    /*
+     * Incoming arcs of every node, indexed like getAdjacency().
+     */
+    public synchronized ReverseTopology getReverseAdjacency(){
+        if(reverseAdjacency == null)
+            reverseAdjacency = new ReverseTopology(getAdjacency());
+        return reverseAdjacency;
+    }
+
+    /*
+     * Landmark distances of the current version, null if none were computed
+     * or loaded since the last change.
+     */
+    public synchronized LandmarkTable getLandmarks(){
+        return landmarks;
+    }
+
+    public synchronized void setLandmarks(LandmarkTable landmarks){
+        if (landmarks != null && landmarks.getLandmarkCount() > 0 && landmarks.getNodeCount() != nodes.size())
+            throw new IllegalArgumentException("Landmark table does not match the network");
+        this.landmarks = landmarks;
+    }
+
     public boolean isNodeReachable(Node node){
-        for(Edge edge : edges)
-            if(node == edge.getNodeOne() || node == edge.getNodeTwo())
+        if(!contains(node))
+            return false;
+        return inDegree[node.getIndex()] + outDegree[node.getIndex()] > 0;
+    }
+
+    public boolean hasUnreachableNodes(){
+        for(int i = 0; i < nodes.size(); i++)
+            if(inDegree[i] + outDegree[i] == 0)
                 return true;
 
         return false;
     }
 
+    public int getInDegree(Node node){
+        return contains(node) ? inDegree[node.getIndex()] : 0;
+    }
+
+    public int getOutDegree(Node node){
+        return contains(node) ? outDegree[node.getIndex()] : 0;
+    }
+
+    public boolean contains(Node node){
+        int index = node.getIndex();
+        return index >= 0 && index < nodes.size() && nodes.get(index) == node;
+    }
+
     public void setSource(Node node){
-        if(nodes.contains(node))
+        if(contains(node))
             source = node;
     }
 
     public void setDestination(Node node){
-        if(nodes.contains(node))
+        if(contains(node))
             destination = node;
     }
 
@@ -79,56 +182,148 @@ public class Graph {
 
     public void addNode(Node node){
         node.setId(count++);
+        node.setIndex(nodes.size());
         nodes.add(node);
+        ensureDegreeCapacity(nodes.size());
+        inDegree[node.getIndex()] = 0;
+        outDegree[node.getIndex()] = 0;
+        modified();
         if(node.getId()==1)
             source = node;
     }
 
     public void addEdge(Edge new_edge){
-        boolean added = false;
-        for(Edge edge : edges){
-            if(edge.equals(new_edge)){
-                added = true;
-                break;
-            }
-        }
-        if(!added)
+        if(edgeIndex.findUndirected(new_edge.getNodeOne(), new_edge.getNodeTwo()) == null){
+            new_edge.setIndex(edges.size());
             edges.add(new_edge);
-    }
-    public void addEdgePreFlow(Edge new_edge){
-        boolean added = false;
-        for(Edge edge : edges){
-            if(edge.equalsPreFlow(new_edge)){
-                added = true;
-                break;
-            }
+            edgeIndex.add(new_edge);
+            countDegree(new_edge, 1);
+            modified();
         }
-        if(!added){
-            new_edge.setBackward(true);
-            edges.add(new_edge);
+    }
+
+    public Edge findEdge(Node from, Node to){
+        return edgeIndex.find(from, to);
+    }
+
+    public Edge findUndirectedEdge(Node one, Node two){
+        return edgeIndex.findUndirected(one, two);
+    }
+
+    public void deleteEdge(Edge edge){
+        int index = edge.getIndex();
+        if(index >= 0 && index < edges.size() && edges.get(index) == edge){
+            edges.remove(index);
+            reindexEdges(index);
+            edge.setIndex(-1);
+            edgeIndex.remove(edge);
+            countDegree(edge, -1);
+            modified();
         }
     }
 
+    public void setEdgeWeight(Edge edge, int weight){
+        edge.setWeight(weight);
+        modified();
+    }
+
     public void deleteNode(Node node){
-        List<Edge> delete = new ArrayList<>();
-        for (Edge edge : edges){
-            if(edge.hasNode(node)){
-                delete.add(edge);
-            }
-        }
-        for (Edge edge : delete){
-            edges.remove(edge);
-        }
+        edges.removeIf(edge -> {
+            if(!edge.hasNode(node))
+                return false;
+            edgeIndex.remove(edge);
+            countDegree(edge, -1);
+            edge.setIndex(-1);
+            return true;
+        });
+        reindexEdges(0);
         if (node.equals(destination)){
             destination = null;
         }
-        nodes.remove(node);
+        if(contains(node)){
+            int index = node.getIndex();
+            nodes.remove(index);
+            System.arraycopy(inDegree, index + 1, inDegree, index, nodes.size() - index);
+            System.arraycopy(outDegree, index + 1, outDegree, index, nodes.size() - index);
+            reindex(index);
+            node.setIndex(-1);
+        }
+        modified();
+    }
+
+    public Node getNode(int index){
+        return nodes.get(index);
+    }
+
+    /*
+     * Moves a node. Only results that use the positions (A* heuristic) change,
+     * so the layout version is bumped while the version and the indexes built
+     * for it stay valid.
+     */
+    public void moveNode(Node node, int x, int y){
+        node.setCoord(x, y);
+        layoutVersion++;
+    }
+
+    /*
+     * Bumped whenever a node is moved, see moveNode.
+     */
+    public long getLayoutVersion(){
+        return layoutVersion;
+    }
+
+    private void modified(){
+        version++;
+        adjacency = null;
+        reverseAdjacency = null;
+        landmarks = null;
+    }
+
+    private void reindex(int from){
+        for(int i = from; i < nodes.size(); i++)
+            nodes.get(i).setIndex(i);
+    }
+
+    private void reindexEdges(int from){
+        for(int i = from; i < edges.size(); i++)
+            edges.get(i).setIndex(i);
+    }
+
+    private void ensureDegreeCapacity(int size){
+        if(size > inDegree.length){
+            int capacity = Math.max(size, inDegree.length * 2);
+            inDegree = Arrays.copyOf(inDegree, capacity);
+            outDegree = Arrays.copyOf(outDegree, capacity);
+        }
+    }
+
+    private void countDegree(Edge edge, int delta){
+        if(contains(edge.getNodeOne()))
+            outDegree[edge.getNodeOne().getIndex()] += delta;
+        if(contains(edge.getNodeTwo()))
+            inDegree[edge.getNodeTwo().getIndex()] += delta;
+    }
+
+    private void recountDegrees(){
+        ensureDegreeCapacity(nodes.size());
+        Arrays.fill(inDegree, 0);
+        Arrays.fill(outDegree, 0);
+        for(Edge edge : edges)
+            countDegree(edge, 1);
     }
 
     public void clear(){
         count = 1;
+        for(Node node : nodes)
+            node.setIndex(-1);
         nodes.clear();
+        for(Edge edge : edges)
+            edge.setIndex(-1);
         edges.clear();
+        edgeIndex.clear();
+        Arrays.fill(inDegree, 0);
+        Arrays.fill(outDegree, 0);
+        modified();
         solved = false;
 
         source = null;
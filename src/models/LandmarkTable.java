@@ -0,0 +1,71 @@
+package models;
+
+/*
+ * Shortest distances between a few landmark nodes and every node, for the
+ * ALT lower bounds (A*, Landmarks, Triangle inequality):
+ * - getDistanceFrom(i, v) = d(L_i, v), getDistanceTo(i, v) = d(v, L_i)
+ * - Integer.MAX_VALUE where there is no path
+ * - d(v, t) >= d(L, t) - d(L, v) and d(v, t) >= d(v, L) - d(t, L) for every landmark L
+ * Nodes are numbered like Graph.getAdjacency(). A Graph keeps its table until
+ * the network is edited; .gag files store it along with the network.
+ */
+public class LandmarkTable {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final int[] landmarks;
+    private final int[][] from;
+    private final int[][] to;
+
+    public LandmarkTable(int[] landmarks, int[][] from, int[][] to){
+        if (from.length != landmarks.length || to.length != landmarks.length)
+            throw new IllegalArgumentException("One distance row per landmark and direction expected");
+        this.landmarks = landmarks;
+        this.from = from;
+        this.to = to;
+    }
+
+    public int getLandmarkCount(){
+        return landmarks.length;
+    }
+
+    public int getNodeCount(){
+        return landmarks.length == 0 ? 0 : from[0].length;
+    }
+
+    public int getLandmark(int i){
+        return landmarks[i];
+    }
+
+    public int getDistanceFrom(int i, int node){
+        return from[i][node];
+    }
+
+    public int getDistanceTo(int i, int node){
+        return to[i][node];
+    }
+
+    /*
+     * Largest lower bound on d(node, target) over the landmarks, never below 0.
+     * UNREACHABLE when a landmark proves there is no path: the node reaches a
+     * landmark (or is reached from one) that the target does not.
+     */
+    public int lowerBound(int node, int target){
+        long bound = 0;
+        for (int i = 0; i < landmarks.length; i++){
+            int fromNode = from[i][node], fromTarget = from[i][target];
+            if (fromNode != UNREACHABLE){
+                if (fromTarget == UNREACHABLE)
+                    return UNREACHABLE;
+                bound = Math.max(bound, (long) fromTarget - fromNode);
+            }
+            int toNode = to[i][node], toTarget = to[i][target];
+            if (toTarget != UNREACHABLE){
+                if (toNode == UNREACHABLE)
+                    return UNREACHABLE;
+                bound = Math.max(bound, (long) toNode - toTarget);
+            }
+        }
+        return (int) Math.min(bound, UNREACHABLE - 1);
+    }
+}
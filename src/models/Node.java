@@ -1,16 +1,13 @@
 package models;
 
 import java.awt.*;
-import java.util.*;
 import java.util.List;
 
 public class Node {
     private Point coord = new Point();
     private int id;
+    private int index = -1;
     private java.util.List<Node> path;
-    private Map<Node, Integer> distancesToAllNodes;
-    private Map<Node, Node> predecessorFW;
-    private int excess;
 
     public Node(){}
 
@@ -54,35 +51,17 @@ public class Node {
         return id;
     }
 
-    public Map<Node, Integer> getDistancesToAllNodes() {
-        return distancesToAllNodes;
+    /*
+     * Dense position of the node inside its graph (0..n-1), kept in sync
+     * with Graph.getNodes() by the graph itself. -1 if the node is not part
+     * of a graph.
+     */
+    public int getIndex(){
+        return index;
     }
 
-    public void setDistancesToAllNodes(Map<Node, Integer> distancesToAllNodes) {
-        this.distancesToAllNodes = distancesToAllNodes;
-    }
-
-    public Map<Node, Node> getPredecessorFW() {
-        return predecessorFW;
-    }
-
-    public void setPredecessorFW(Map<Node, Node> predecessorFW) {
-        this.predecessorFW = predecessorFW;
-    }
-
-    public int getExcess() {
-        return excess;
-    }
-
-    public void setExcess(int excess) {
-        this.excess = excess;
-    }
-
-    public Edge addEdge(Node two, int flow, int capacity){
-        Edge edge = new Edge(this, two);
-        edge.setFlow(flow);
-        edge.setWeight(capacity);
-        return edge;
+    void setIndex(int index){
+        this.index = index;
     }
 
     @Override
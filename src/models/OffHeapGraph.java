@@ -0,0 +1,194 @@
+package models;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/*
+ * Network stored outside the Java heap in CSR layout.
+ * - offsets (n+1 ints), targets and weights (m ints each) live in direct buffers
+ * - No Node/Edge objects are created, nodes and arcs are plain int indices
+ * - Sized for networks that do not fit as object graphs: about 8 bytes per arc
+ *   plus 4 bytes per node, none of it scanned by the garbage collector
+ * A single buffer holds at most Integer.MAX_VALUE bytes, which limits a graph
+ * to about 500 million arcs.
+ */
+public class OffHeapGraph implements Topology {
+
+    private final int nodeCount;
+    private final int edgeCount;
+
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final IntBuffer weights;
+
+    private OffHeapGraph(int nodeCount, IntBuffer offsets, IntBuffer targets, IntBuffer weights){
+        this.nodeCount = nodeCount;
+        this.edgeCount = targets.capacity();
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /*
+     * Copies the topology and weights of an object graph off the heap.
+     * Node i of the copy is the node with index i in the graph.
+     */
+    public static OffHeapGraph of(Graph graph){
+        Adjacency adjacency = graph.getAdjacency();
+        int n = adjacency.getNodeCount();
+        int m = adjacency.getEdgeCount();
+        IntBuffer offsets = allocate(n + 1);
+        IntBuffer targets = allocate(m);
+        IntBuffer weights = allocate(m);
+        for (int u = 0; u <= n; u++){
+            offsets.put(u, u < n ? adjacency.begin(u) : m);
+        }
+        for (int arc = 0; arc < m; arc++){
+            targets.put(arc, adjacency.getTarget(arc));
+            weights.put(arc, adjacency.getWeight(arc));
+        }
+        return new OffHeapGraph(n, offsets, targets, weights);
+    }
+
+    /*
+     * Wraps existing CSR buffers without copying them, e.g. sections of a
+     * memory-mapped graph file. offsets must hold nodeCount+1 entries.
+     */
+    public static OffHeapGraph wrap(int nodeCount, IntBuffer offsets, IntBuffer targets, IntBuffer weights){
+        if (offsets.capacity() != nodeCount + 1 || targets.capacity() != weights.capacity())
+            throw new IllegalArgumentException("CSR buffers do not match " + nodeCount + " nodes");
+        if (offsets.get(nodeCount) != targets.capacity())
+            throw new IllegalArgumentException("CSR offsets do not match " + targets.capacity() + " arcs");
+        return new OffHeapGraph(nodeCount, offsets, targets, weights);
+    }
+
+    /*
+     * Direct int buffer in native byte order, shared with the per-run solver
+     * state that has to live off the heap next to an OffHeapGraph.
+     */
+    public static IntBuffer allocate(int ints){
+        if (ints > Integer.MAX_VALUE / Integer.BYTES)
+            throw new IllegalArgumentException("Too many entries for one off-heap buffer: " + ints);
+        return ByteBuffer.allocateDirect(ints * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    public int getNodeCount(){
+        return nodeCount;
+    }
+
+    public int getEdgeCount(){
+        return edgeCount;
+    }
+
+    public int begin(int node){
+        return offsets.get(node);
+    }
+
+    public int end(int node){
+        return offsets.get(node + 1);
+    }
+
+    public int getTarget(int arc){
+        return targets.get(arc);
+    }
+
+    public int getWeight(int arc){
+        return weights.get(arc);
+    }
+
+    public long getMemoryBytes(){
+        return (long) Integer.BYTES * (nodeCount + 1 + 2L * edgeCount);
+    }
+
+    /*
+     * Collects arcs in off-heap buffers and sorts them into CSR layout on build().
+     * Arcs of the same tail node keep the order in which they were added.
+     */
+    public static class Builder {
+        private final int nodeCount;
+        private int edgeCount;
+
+        private IntBuffer tails;
+        private IntBuffer heads;
+        private IntBuffer weights;
+
+        public Builder(int nodeCount, int expectedEdges){
+            if (nodeCount < 0)
+                throw new IllegalArgumentException("Node count must not be negative");
+            this.nodeCount = nodeCount;
+            int capacity = Math.max(expectedEdges, 16);
+            tails = allocate(capacity);
+            heads = allocate(capacity);
+            weights = allocate(capacity);
+        }
+
+        public int getNodeCount(){
+            return nodeCount;
+        }
+
+        public int getEdgeCount(){
+            return edgeCount;
+        }
+
+        public void addEdge(int from, int to, int weight){
+            if (from < 0 || from >= nodeCount || to < 0 || to >= nodeCount)
+                throw new IllegalArgumentException("Arc " + from + "->" + to + " is outside of " + nodeCount + " nodes");
+            if (tails == null)
+                throw new IllegalStateException("Graph has already been built");
+            if (edgeCount == tails.capacity())
+                grow();
+            tails.put(edgeCount, from);
+            heads.put(edgeCount, to);
+            weights.put(edgeCount, weight);
+            edgeCount++;
+        }
+
+        private void grow(){
+            int capacity = (int) Math.min((long) tails.capacity() * 2, Integer.MAX_VALUE / Integer.BYTES);
+            if (capacity == tails.capacity())
+                throw new IllegalStateException("Too many arcs for one off-heap buffer");
+            tails = copy(tails, capacity);
+            heads = copy(heads, capacity);
+            weights = copy(weights, capacity);
+        }
+
+        private IntBuffer copy(IntBuffer buffer, int capacity){
+            IntBuffer copy = allocate(capacity);
+            buffer.position(0).limit(edgeCount);
+            copy.put(buffer);
+            copy.clear();
+            return copy;
+        }
+
+        public OffHeapGraph build(){
+            if (tails == null)
+                throw new IllegalStateException("Graph has already been built");
+            IntBuffer offsets = allocate(nodeCount + 1);
+            for (int i = 0; i < edgeCount; i++){
+                int tail = tails.get(i) + 1;
+                offsets.put(tail, offsets.get(tail) + 1);
+            }
+            for (int u = 0; u < nodeCount; u++){
+                offsets.put(u + 1, offsets.get(u + 1) + offsets.get(u));
+            }
+
+            IntBuffer sortedTargets = allocate(edgeCount);
+            IntBuffer sortedWeights = allocate(edgeCount);
+            int[] position = new int[nodeCount];
+            for (int u = 0; u < nodeCount; u++){
+                position[u] = offsets.get(u);
+            }
+            for (int i = 0; i < edgeCount; i++){
+                int arc = position[tails.get(i)]++;
+                sortedTargets.put(arc, heads.get(i));
+                sortedWeights.put(arc, weights.get(i));
+            }
+
+            tails = null;
+            heads = null;
+            weights = null;
+            return new OffHeapGraph(nodeCount, offsets, sortedTargets, sortedWeights);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package models;
+
+/*
+ * Transpose of a Topology in CSR layout: the incoming arcs of every node.
+ * - Arc a of node v stands for the forward arc getForwardArc(a) = u -> v
+ * - getTarget(a) is its tail u, getWeight(a) its weight
+ * Lets backward searches (e.g. bidirectional Dijkstra) walk from the destination
+ * over incoming arcs on heap and off-heap graphs alike.
+ */
+public class ReverseTopology implements Topology {
+
+    private final int[] offsets;
+    private final int[] tails;
+    private final int[] weights;
+    private final int[] forwardArcs;
+
+    public ReverseTopology(Topology forward){
+        int n = forward.getNodeCount();
+        offsets = new int[n + 1];
+        int count = n == 0 ? 0 : forward.end(n - 1) - forward.begin(0);
+        for (int u = 0; u < n; u++){
+            for (int arc = forward.begin(u); arc < forward.end(u); arc++)
+                offsets[forward.getTarget(arc) + 1]++;
+        }
+        for (int v = 0; v < n; v++){
+            offsets[v + 1] += offsets[v];
+        }
+
+        tails = new int[count];
+        weights = new int[count];
+        forwardArcs = new int[count];
+        int[] position = new int[n];
+        System.arraycopy(offsets, 0, position, 0, n);
+        for (int u = 0; u < n; u++){
+            for (int arc = forward.begin(u); arc < forward.end(u); arc++){
+                int reverse = position[forward.getTarget(arc)]++;
+                tails[reverse] = u;
+                weights[reverse] = forward.getWeight(arc);
+                forwardArcs[reverse] = arc;
+            }
+        }
+    }
+
+    public int getNodeCount(){
+        return offsets.length - 1;
+    }
+
+    public int getEdgeCount(){
+        return tails.length;
+    }
+
+    public int begin(int node){
+        return offsets[node];
+    }
+
+    public int end(int node){
+        return offsets[node + 1];
+    }
+
+    public int getTarget(int arc){
+        return tails[arc];
+    }
+
+    public int getWeight(int arc){
+        return weights[arc];
+    }
+
+    public int getForwardArc(int arc){
+        return forwardArcs[arc];
+    }
+}
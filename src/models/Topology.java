@@ -0,0 +1,23 @@
+package models;
+
+/*
+ * Read-only view of a directed network in compressed sparse row (CSR) layout.
+ * - Nodes are numbered 0 .. getNodeCount()-1
+ * - Outgoing arcs of node u are numbered begin(u) .. end(u)-1
+ * Implemented on the heap by Adjacency and off the heap by OffHeapGraph, so the
+ * traversal, shortest path and max-flow engines can run against either.
+ */
+public interface Topology {
+
+    int getNodeCount();
+
+    int getEdgeCount();
+
+    int begin(int node);
+
+    int end(int node);
+
+    int getTarget(int arc);
+
+    int getWeight(int arc);
+}